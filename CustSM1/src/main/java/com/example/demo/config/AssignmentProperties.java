@@ -0,0 +1,56 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * AssignmentProperties Class
+ * Binds the ticket.assignment.* settings that choose how new, reassigned and reopened tickets are
+ * distributed between the employees of a department.
+ *
+ * @author Srihari.P
+ */
+
+@Configuration
+@ConfigurationProperties(prefix = "ticket.assignment")
+@Getter
+@Setter
+public class AssignmentProperties {
+
+    /**
+     * Strategy used for ticket types without an entry in {@link #strategies}.
+     */
+    private String defaultStrategy = "dispatch-queue";
+
+    /**
+     * Strategy name per ticket type, e.g. ticket.assignment.strategies.OUTAGE=capacity-capped
+     */
+    private Map<String, String> strategies = new HashMap<>();
+
+    /**
+     * Maximum number of OPEN and PENDING tickets per employee for the capacity-capped strategy.
+     */
+    private int capacity = 20;
+
+    /**
+     * Weight per employee ID for the weighted-round-robin strategy. Employees without an entry have weight 1.
+     */
+    private Map<Integer, Integer> weights = new HashMap<>();
+
+    /**
+     * Number of locks that departments are spread over while an assignment is decided and saved.
+     */
+    private int lockStripes = 64;
+
+    /**
+     * How often the workload index is rebuilt from the database, picking up staff changed outside this instance.
+     */
+    private Duration reloadInterval = Duration.ofMinutes(15);
+}
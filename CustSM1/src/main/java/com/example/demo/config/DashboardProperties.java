@@ -0,0 +1,28 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DashboardProperties Class
+ * Binds the dashboard.* settings of the admin dashboard summary.
+ *
+ * @author Srihari.P
+ */
+
+@Configuration
+@ConfigurationProperties(prefix = "dashboard")
+@Getter
+@Setter
+public class DashboardProperties {
+
+    /**
+     * How long a computed summary is served before the counts are read again. Zero computes it every time.
+     */
+    private Duration summaryTtl = Duration.ofSeconds(30);
+}
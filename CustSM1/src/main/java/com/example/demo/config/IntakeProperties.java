@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * IntakeProperties Class
+ * Binds the ticket.intake.* settings that size the worker pool behind asynchronous ticket intake.
+ *
+ * @author Srihari.P
+ */
+
+@Configuration
+@ConfigurationProperties(prefix = "ticket.intake")
+@Getter
+@Setter
+public class IntakeProperties {
+
+    /**
+     * Number of worker threads that assign accepted tickets and send the customer email.
+     */
+    private int workers = 4;
+
+    /**
+     * Accepted tickets that may wait for a worker. Submissions beyond this are refused with 429.
+     */
+    private int queueCapacity = 200;
+
+    /**
+     * Seconds a refused client is asked to wait before retrying, sent as the Retry-After header.
+     */
+    private int retryAfterSeconds = 5;
+}
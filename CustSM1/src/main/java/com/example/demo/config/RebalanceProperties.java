@@ -0,0 +1,50 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * RebalanceProperties Class
+ * Binds the ticket.rebalance.* settings of the background rebalancer that moves PENDING tickets away from
+ * overloaded employees.
+ *
+ * @author Srihari.P
+ */
+
+@Configuration
+@ConfigurationProperties(prefix = "ticket.rebalance")
+@Getter
+@Setter
+public class RebalanceProperties {
+
+    /**
+     * Whether the scheduled run is active. A run can still be started through the API when disabled.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time between the end of one scheduled run and the start of the next.
+     */
+    private Duration interval = Duration.ofMinutes(5);
+
+    /**
+     * Employees with more OPEN and PENDING tickets than this are overloaded; tickets are only moved to
+     * employees that stay within it.
+     */
+    private int overloadThreshold = 10;
+
+    /**
+     * Upper bound on tickets moved by one run.
+     */
+    private int maxMovesPerRun = 500;
+
+    /**
+     * Number of recent run reports kept in memory.
+     */
+    private int reportHistory = 20;
+}
@@ -0,0 +1,42 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * TextIndexProperties Class
+ * Binds the ticket.text-index.* settings of the local full-text index over ticket descriptions, employee
+ * comments and customer feedback.
+ *
+ * @author Srihari.P
+ */
+
+@Configuration
+@ConfigurationProperties(prefix = "ticket.text-index")
+@Getter
+@Setter
+public class TextIndexProperties {
+
+    /**
+     * Directory of the index on local disk. Each instance keeps its own copy.
+     */
+    private String directory = "data/ticket-index";
+
+    /**
+     * Rebuild the index from the database at startup when it is empty.
+     */
+    private boolean rebuildIfEmpty = true;
+
+    /**
+     * Largest number of hits a text search returns.
+     */
+    private int maxResults = 100;
+
+    /**
+     * Approximate length in characters of each highlighted fragment.
+     */
+    private int fragmentSize = 120;
+}
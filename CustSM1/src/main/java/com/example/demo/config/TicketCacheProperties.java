@@ -0,0 +1,34 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * TicketCacheProperties Class
+ * Binds the ticket.cache.* settings of the in-process cache behind single-ticket lookups.
+ *
+ * @author Srihari.P
+ */
+
+@Configuration
+@ConfigurationProperties(prefix = "ticket.cache")
+@Getter
+@Setter
+public class TicketCacheProperties {
+
+    /**
+     * Tickets kept in the cache. The least recently and least frequently used are evicted beyond this.
+     */
+    private long maximumSize = 10000;
+
+    /**
+     * Age after which a cached ticket is reloaded. Writes through this instance invalidate immediately; this
+     * bounds how long a write made through another instance can go unseen.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+}
@@ -0,0 +1,33 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * TicketCounterProperties Class
+ * Binds the ticket.counters.* settings of the in-memory ticket counts by status.
+ *
+ * @author Srihari.P
+ */
+
+@Configuration
+@ConfigurationProperties(prefix = "ticket.counters")
+@Getter
+@Setter
+public class TicketCounterProperties {
+
+    /**
+     * Time between reconciliations of the counts against the database.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(10);
+
+    /**
+     * Attempts to read the database counts while no ticket change is committed in between.
+     */
+    private int reconcileAttempts = 3;
+}
@@ -0,0 +1,49 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * TicketEventProperties Class
+ * Binds the ticket.events.* settings of the Server-Sent Events streams of ticket changes.
+ *
+ * @author Srihari.P
+ */
+
+@Configuration
+@ConfigurationProperties(prefix = "ticket.events")
+@Getter
+@Setter
+public class TicketEventProperties {
+
+    /**
+     * Open streams allowed at once. Further subscriptions are refused with 503.
+     */
+    private int maxSubscribers = 1000;
+
+    /**
+     * Events buffered per stream while it is being written to. A stream that falls further behind loses its
+     * buffered events and is sent a resync event instead.
+     */
+    private int bufferSize = 256;
+
+    /**
+     * Threads writing events to the streams.
+     */
+    private int senderThreads = 4;
+
+    /**
+     * Interval of the heartbeat comments that keep idle streams open through proxies and detect closed clients.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Lifetime of a stream, after which the client reconnects.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,28 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * TicketLatencyProperties Class
+ * Binds the ticket.latency.* settings of the response and resolution time histograms.
+ *
+ * @author Srihari.P
+ */
+
+@Configuration
+@ConfigurationProperties(prefix = "ticket.latency")
+@Getter
+@Setter
+public class TicketLatencyProperties {
+
+    /**
+     * How far back, by raise date, the histograms are loaded from the database at startup.
+     */
+    private Duration history = Duration.ofDays(90);
+}
@@ -0,0 +1,31 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * TicketPageProperties Class
+ * Binds the ticket.page.* settings that size the pages returned when browsing tickets.
+ *
+ * @author Srihari.P
+ */
+
+@Configuration
+@ConfigurationProperties(prefix = "ticket.page")
+@Getter
+@Setter
+public class TicketPageProperties {
+
+    /**
+     * Page size used when the client does not ask for one.
+     */
+    private int defaultSize = 50;
+
+    /**
+     * Largest page a client can ask for. /ticket/showTicket returns at most this many tickets.
+     */
+    private int maxSize = 200;
+}
@@ -0,0 +1,26 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * TicketStatsProperties Class
+ * Binds the ticket.stats.* settings of the TICKET_STATS_DAILY rollup.
+ *
+ * @author Srihari.P
+ */
+
+@Configuration
+@ConfigurationProperties(prefix = "ticket.stats")
+@Getter
+@Setter
+public class TicketStatsProperties {
+
+    /**
+     * Backfill the whole rollup from TICKET at startup when it is empty.
+     */
+    private boolean backfillIfEmpty = true;
+}
@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * TicketTrendProperties Class
+ * Binds the ticket.trends.* settings: how many minutes, hours and days of ticket counts are kept in memory.
+ *
+ * @author Srihari.P
+ */
+
+@Configuration
+@ConfigurationProperties(prefix = "ticket.trends")
+@Getter
+@Setter
+public class TicketTrendProperties {
+
+    /**
+     * Number of one-minute buckets kept.
+     */
+    private int minutes = 180;
+
+    /**
+     * Number of one-hour buckets kept.
+     */
+    private int hours = 72;
+
+    /**
+     * Number of one-day buckets kept.
+     */
+    private int days = 90;
+}
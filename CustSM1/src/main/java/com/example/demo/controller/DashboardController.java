@@ -0,0 +1,34 @@
+package com.example.demo.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.config.DashboardProperties;
+import com.example.demo.model.DashboardSummary;
+import com.example.demo.service.DashboardService;
+
+@RestController
+@RequestMapping(value="/dashboard")
+@CrossOrigin(origins = "http://localhost:3000")
+public class DashboardController {
+    
+    private final DashboardService dashboardService;
+    private final DashboardProperties dashboardProperties;
+    
+    public DashboardController(DashboardService dashboardService, DashboardProperties dashboardProperties) {
+    	this.dashboardService = dashboardService;
+    	this.dashboardProperties = dashboardProperties;
+    }
+    
+    // Replaces the separate ticket, customer, employee, manager and admin count requests of the admin dashboard
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummary> getSummary() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(dashboardProperties.getSummaryTtl()).cachePrivate())
+                .body(dashboardService.getSummary());
+    }
+}
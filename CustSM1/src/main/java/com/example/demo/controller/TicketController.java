@@ -1,9 +1,15 @@
 package com.example.demo.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,14 +18,46 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.demo.exceptions.DuplicateTicketException;
+import com.example.demo.exceptions.EventStreamLimitException;
+import com.example.demo.exceptions.IntakeQueueFullException;
+import com.example.demo.exceptions.IntakeUnavailableException;
 import com.example.demo.exceptions.InvalidTicketStatusException;
+import com.example.demo.exceptions.TextIndexUnavailableException;
 import com.example.demo.exceptions.TicketNotFoundException;
+import com.example.demo.model.BulkTicketResult;
+import com.example.demo.model.DispatchQueueEntry;
+import com.example.demo.model.RebalanceReport;
+import com.example.demo.model.ReopenStats;
+import com.example.demo.model.LatencyPercentiles;
 import com.example.demo.model.Ticket;
+import com.example.demo.model.TicketBulkUpdate;
+import com.example.demo.model.TicketChainEntry;
+import com.example.demo.model.TicketFilter;
+import com.example.demo.model.TicketPage;
+import com.example.demo.model.TicketSearchCriteria;
+import com.example.demo.model.TicketSummary;
+import com.example.demo.model.TrendBucket;
+import com.example.demo.service.TicketDailyStats;
+import com.example.demo.service.TicketETags;
+import com.example.demo.service.TicketEventStreams;
+import com.example.demo.service.TicketExportService;
+import com.example.demo.service.TicketLatencyHistograms;
+import com.example.demo.service.TicketIntakeService;
+import com.example.demo.service.TicketReadCache;
+import com.example.demo.service.TicketRebalancer;
 import com.example.demo.service.TicketService;
+import com.example.demo.service.TicketStatusCounters;
+import com.example.demo.service.TicketTextIndex;
+import com.example.demo.service.TicketTrends;
 
 
 import jakarta.validation.Valid;
@@ -30,9 +68,36 @@ import jakarta.validation.Valid;
 public class TicketController {
    
     private final TicketService ticketService;
+    private final TicketIntakeService ticketIntakeService;
+    private final TicketRebalancer ticketRebalancer;
+    private final TicketExportService ticketExportService;
+    private final TicketTextIndex ticketTextIndex;
+    private final TicketReadCache ticketReadCache;
+    private final TicketEventStreams ticketEventStreams;
+    private final TicketStatusCounters statusCounters;
+    private final TicketDailyStats ticketDailyStats;
+    private final TicketLatencyHistograms latencyHistograms;
+    private final TicketTrends ticketTrends;
 
-    public TicketController(TicketService ticketService) {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public TicketController(TicketService ticketService, TicketIntakeService ticketIntakeService,
+    		TicketRebalancer ticketRebalancer, TicketExportService ticketExportService,
+    		TicketTextIndex ticketTextIndex, TicketReadCache ticketReadCache,
+    		TicketEventStreams ticketEventStreams, TicketStatusCounters statusCounters,
+    		TicketDailyStats ticketDailyStats, TicketLatencyHistograms latencyHistograms,
+    		TicketTrends ticketTrends) {
     	this.ticketService = ticketService;
+    	this.ticketIntakeService = ticketIntakeService;
+    	this.ticketRebalancer = ticketRebalancer;
+    	this.ticketExportService = ticketExportService;
+    	this.ticketTextIndex = ticketTextIndex;
+    	this.ticketReadCache = ticketReadCache;
+    	this.ticketEventStreams = ticketEventStreams;
+    	this.statusCounters = statusCounters;
+    	this.ticketDailyStats = ticketDailyStats;
+    	this.latencyHistograms = latencyHistograms;
+    	this.ticketTrends = ticketTrends;
     }
     
     @PostMapping(value = "/addTicket")
@@ -49,6 +114,45 @@ public class TicketController {
         }
     }
     
+    @PostMapping(value = "/addTicketAsync")
+    public ResponseEntity<Object> createTicketAsync(@Valid @RequestBody Ticket ticket) {
+        try {
+            Ticket acceptedTicket = ticketIntakeService.submit(ticket);
+            return new ResponseEntity<>(acceptedTicket, HttpStatus.ACCEPTED);
+        } catch (DuplicateTicketException e) {
+            return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(e.getMessage()));
+        } catch (IntakeQueueFullException e) {
+            return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ticketIntakeService.getRetryAfterSeconds()))
+                .body(new ErrorResponse(e.getMessage()));
+        } catch (IntakeUnavailableException e) {
+            return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    @GetMapping("/intake/metrics")
+    public Map<String, Object> getIntakeMetrics() {
+        return ticketIntakeService.getMetrics();
+    }
+    
+    @PostMapping(value = "/addTickets")
+    public ResponseEntity<List<BulkTicketResult>> createTickets(@RequestBody List<Ticket> tickets) {
+        try {
+            return ResponseEntity.ok(ticketService.addTickets(tickets));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (DuplicateTicketException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+    }
+    
     public class ErrorResponse {
         private String message;
 
@@ -65,16 +169,162 @@ public class TicketController {
         }
     }
     
+    // Capped at the maximum page size; X-Next-Cursor continues through /showTicketPage
     @GetMapping(value = "/showTicket")
-    public List<Ticket> showTicket() {
-        return ticketService.showTicket();
+    public ResponseEntity<List<Ticket>> showTicket() {
+        TicketPage page = ticketService.showTicket();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor())
+                    .header(HttpHeaders.LINK, "</ticket/showTicketPage?cursor=" + page.nextCursor() + ">; rel=\"next\"");
+        }
+        return response.body(page.tickets());
+    }
+    
+    @GetMapping(value = "/showTicketPage")
+    public ResponseEntity<Object> showTicketPage(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size, @RequestParam(required = false) String ticketStatus,
+            @RequestParam(required = false) String ticketType, @RequestParam(required = false) Integer employeeId,
+            @RequestParam(required = false) Integer customerId) {
+        try {
+            TicketFilter filter = new TicketFilter(ticketStatus, ticketType, employeeId, customerId);
+            return ResponseEntity.ok(ticketService.showTicketPage(filter, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping(value = "/search")
+    public ResponseEntity<Object> searchTickets(@RequestParam(required = false) String ticketStatus,
+            @RequestParam(required = false) String ticketType, @RequestParam(required = false) String ticketPriority,
+            @RequestParam(required = false) Integer employeeId, @RequestParam(required = false) String customerCity,
+            @RequestParam(required = false) String customerState,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime raisedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime raisedTo,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            TicketSearchCriteria criteria = new TicketSearchCriteria(ticketStatus, ticketType, ticketPriority,
+                    employeeId, customerCity, customerState, raisedFrom, raisedTo);
+            return ResponseEntity.ok(ticketService.searchTickets(criteria, cursor, size, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    // Ranked full-text search over descriptions, employee comments and customer feedback, served from the local index
+    @GetMapping(value = "/textSearch")
+    public ResponseEntity<Object> textSearch(@RequestParam String q,
+            @RequestParam(required = false) String ticketType, @RequestParam(required = false) String ticketStatus,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(ticketTextIndex.search(q, ticketType, ticketStatus, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
+        } catch (TextIndexUnavailableException e) {
+            return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @PostMapping(value = "/textSearch/rebuild")
+    public ResponseEntity<Object> rebuildTextIndex() {
+        try {
+            if (!ticketTextIndex.rebuild()) {
+                return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("A rebuild of the text index is already running"));
+            }
+            return ResponseEntity.accepted().body(ticketTextIndex.getStatus());
+        } catch (TextIndexUnavailableException e) {
+            return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping(value = "/textSearch/status")
+    public Map<String, Object> getTextIndexStatus() {
+        return ticketTextIndex.getStatus();
+    }
+    
+    @GetMapping(value = "/cache/metrics")
+    public Map<String, Object> getCacheMetrics() {
+        return ticketReadCache.getMetrics();
+    }
+    
+    // Pushes the customer's ticket changes as they are committed, instead of polling searchTicketByCustomerId
+    @GetMapping(value = "/events/customer/{customerId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCustomerEvents(@PathVariable int customerId) {
+        try {
+            return ResponseEntity.ok(ticketEventStreams.streamForCustomer(customerId));
+        } catch (EventStreamLimitException e) {
+            return eventStreamRefused();
+        }
+    }
+    
+    // Pushes changes of the tickets assigned to the employee, or moved away from them
+    @GetMapping(value = "/events/employee/{employeeId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEmployeeEvents(@PathVariable int employeeId) {
+        try {
+            return ResponseEntity.ok(ticketEventStreams.streamForEmployee(employeeId));
+        } catch (EventStreamLimitException e) {
+            return eventStreamRefused();
+        }
+    }
+    
+    // An event stream client expects text/event-stream, so the refusal carries no JSON body
+    private static ResponseEntity<SseEmitter> eventStreamRefused() {
+        return ResponseEntity
+            .status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "30")
+            .build();
+    }
+    
+    @GetMapping(value = "/events/metrics")
+    public Map<String, Object> getEventStreamMetrics() {
+        return ticketEventStreams.getMetrics();
+    }
+    
+    // Streams every ticket as NDJSON (default) or CSV while it is read from the database
+    @GetMapping(value = "/export")
+    public ResponseEntity<Object> exportTickets(@RequestParam(required = false) String format) {
+        TicketExportService.Format exportFormat;
+        try {
+            exportFormat = TicketExportService.Format.of(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
+        }
+        StreamingResponseBody body = output -> ticketExportService.export(exportFormat, output);
+        MediaType contentType = exportFormat == TicketExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tickets." + exportFormat.name().toLowerCase() + "\"")
+                .body(body);
     }
     
     @GetMapping(value="/searchTicketByTicketId/{id}")
-    public ResponseEntity<Ticket> get(@PathVariable int id) {
+    public ResponseEntity<TicketSummary> get(@PathVariable int id, WebRequest request) {
     	 try {
-             Ticket ticket = ticketService.searchTicketByTicketId(id);
-             return new ResponseEntity<>(ticket, HttpStatus.OK);
+    		 // A revalidation is answered from the ticket's version, before the ticket is loaded or serialized
+    		 if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+    				 && request.checkNotModified(ticketService.getTicketETag(id))) {
+    			 return null;
+    		 }
+             TicketSummary ticket = ticketService.searchTicketByTicketId(id);
+             return ResponseEntity.ok().eTag(TicketETags.of(ticket)).body(ticket);
              
          } catch (TicketNotFoundException e) {
              return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -82,29 +332,59 @@ public class TicketController {
     }
  
     @GetMapping(value="/searchTicketByCustomerId/{customerId}")
-    public ResponseEntity<List<Ticket>> searchTicketByCustomerId(@PathVariable int customerId) {
-        List<Ticket> ticketList = ticketService.searchTicketByCustomerId(customerId);
+    public ResponseEntity<List<TicketSummary>> searchTicketByCustomerId(@PathVariable int customerId, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String eTag = ticketService.getCustomerTicketsETag(customerId);
+            if (eTag != null && request.checkNotModified(eTag)) {
+                return null;
+            }
+        }
+        List<TicketSummary> ticketList = ticketService.searchTicketByCustomerId(customerId);
         if(ticketList.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
-        return new ResponseEntity<>(ticketList, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(TicketETags.ofSummaries(ticketList)).body(ticketList);
     }
     
     @GetMapping(value="/searchTicketByEmployeeId/{employeeId}")
-    public ResponseEntity<List<Ticket>> searchTicketByEmpId(@PathVariable int employeeId) {
-        List<Ticket> ticketList = ticketService.searchTicketByEmployeeId(employeeId);
+    public ResponseEntity<List<TicketSummary>> searchTicketByEmpId(@PathVariable int employeeId, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String eTag = ticketService.getEmployeeTicketsETag(employeeId);
+            if (eTag != null && request.checkNotModified(eTag)) {
+                return null;
+            }
+        }
+        List<TicketSummary> ticketList = ticketService.searchTicketByEmployeeId(employeeId);
         if(ticketList.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
-        return new ResponseEntity<>(ticketList, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(TicketETags.ofSummaries(ticketList)).body(ticketList);
     }
     
     @PutMapping("updateTicket/{ticketId}")
-    public ResponseEntity<Ticket> updateTicketDetails(
+    public ResponseEntity<Object> updateTicketDetails(
             @PathVariable int ticketId,
-            @RequestBody Ticket updatedTicket) {
-        Ticket ticket = ticketService.updateTicketDetails(ticketId, updatedTicket);
-        return ResponseEntity.ok(ticket);
+            @RequestBody Ticket updatedTicket,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Ticket ticket = ticketService.updateTicketDetails(ticketId, updatedTicket, ifMatch);
+            return ResponseEntity.ok().eTag(TicketETags.of(ticket)).body(ticket);
+        } catch (DuplicateTicketException e) {
+            return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    // One status, priority or comment change for up to 500 tickets; the result lists what happened to each ID
+    @PutMapping("/bulkUpdate")
+    public ResponseEntity<Object> bulkUpdateTickets(@RequestBody TicketBulkUpdate update) {
+        try {
+            return ResponseEntity.ok(ticketService.bulkUpdateTickets(update));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
+        }
     }
     
     @PutMapping("/closeTicketByCustomer/{ticketId}")
@@ -129,7 +409,7 @@ public class TicketController {
     
 
     @PostMapping("/reopenTicket/{ticketId}")
-    public ResponseEntity<Ticket> reopenTicket(@PathVariable int ticketId) {
+    public ResponseEntity<Object> reopenTicket(@PathVariable int ticketId) {
         try {
             Ticket ticket = ticketService.reopenTicket(ticketId);
             return ResponseEntity.ok(ticket);
@@ -139,12 +419,29 @@ public class TicketController {
         } catch (InvalidTicketStatusException ex) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(null); 
+        } catch (DuplicateTicketException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse(ex.getMessage()));
         } catch (Exception ex) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(null);
         }
     }
  
+    @GetMapping("/{ticketId}/chain")
+    public ResponseEntity<List<TicketChainEntry>> getTicketChain(@PathVariable int ticketId) {
+        try {
+            return ResponseEntity.ok(ticketService.getTicketChain(ticketId));
+        } catch (TicketNotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+    
+    @GetMapping("/reopen/stats")
+    public ResponseEntity<List<ReopenStats>> getReopenStats() {
+        return ResponseEntity.ok(ticketService.getReopenStats());
+    }
+ 
     @GetMapping("/city-ticket-count")
     public ResponseEntity<List<Map<String, Object>>> getTicketCountByCity() {
         List<Map<String, Object>> ticketCounts = ticketService.getTicketCountByCity();
@@ -156,6 +453,19 @@ public class TicketController {
         return ResponseEntity.ok(ticketService.getTicketCountByLocation());
     }
     
+    // Rebuilds the TICKET_STATS_DAILY rollup behind the count endpoints, for a range of raise dates or all of them
+    @PostMapping("/stats/backfill")
+    public ResponseEntity<Object> backfillTicketStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(Map.of("groups", ticketDailyStats.backfill(from, to)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
     @GetMapping("/countByDept")
     public List<Map<String, Object>> getTicketCountByDept() {
         return ticketService.getTicketCountByDept();
@@ -176,6 +486,11 @@ public class TicketController {
         return ticketService.getPendingTicketCount();
     }
   
+    @GetMapping("/status/counters")
+    public Map<String, Object> getStatusCounters() {
+        return statusCounters.getMetrics();
+    }
+    
     @GetMapping("/avgresponsetime/{managerId}")
     public List<Map<String, Object>> getAvgResponseTimeByManager(@PathVariable int managerId) {
         return ticketService.getAvgResponseTimeByManager(managerId);
@@ -208,6 +523,60 @@ public class TicketController {
         return ticketService.getAvgResolutionTimeByEmployeeForMonth(employeeId);
     }
     
+    // p50/p90/p99 response and resolution times in seconds, from the in-memory latency histograms
+    @GetMapping("/latency/employee/{employeeId}")
+    public Map<String, LatencyPercentiles> getEmployeeLatency(@PathVariable int employeeId) {
+        return latencyHistograms.getEmployeePercentiles(employeeId);
+    }
+    
+    @GetMapping("/latency/department/{department}")
+    public Map<String, LatencyPercentiles> getDepartmentLatency(@PathVariable String department) {
+        return latencyHistograms.getDepartmentPercentiles(department);
+    }
+    
+    @GetMapping("/latency/manager/{managerId}")
+    public Map<String, Object> getManagerLatency(@PathVariable int managerId) {
+        return latencyHistograms.getManagerPercentiles(managerId);
+    }
+    
+    // Tickets raised, responded to and closed per minute, hour or day, served from memory for wallboards
+    @GetMapping("/trends")
+    public ResponseEntity<Object> getTicketTrends(@RequestParam(defaultValue = "hour") String granularity,
+            @RequestParam(required = false) Integer periods) {
+        try {
+            List<TrendBucket> buckets = ticketTrends.getTrends(granularity, periods);
+            return ResponseEntity.ok(buckets);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/workload/verify")
+    public List<Map<String, Object>> verifyWorkloadIndex() {
+        return ticketService.verifyWorkloadIndex();
+    }
+    
+    @PostMapping("/workload/reload")
+    public List<String> reloadWorkloadIndex() {
+        return ticketService.reloadWorkloadIndex();
+    }
+    
+    @PostMapping("/rebalance")
+    public RebalanceReport rebalanceTickets() {
+        return ticketRebalancer.rebalance();
+    }
+    
+    @GetMapping("/rebalance/reports")
+    public List<RebalanceReport> getRebalanceReports() {
+        return ticketRebalancer.getReports();
+    }
+    
+    @GetMapping("/dispatchQueue/{ticketType}")
+    public List<DispatchQueueEntry> getDispatchQueue(@PathVariable String ticketType) {
+        return ticketService.getDispatchQueue(ticketType);
+    }
+    
     @DeleteMapping(value="/deleteTicketById/{ticketId}")
     public ResponseEntity<Void> deleteTicket(@PathVariable int ticketId) {
         try {
@@ -2,6 +2,7 @@ package com.example.demo.exceptions;
 
 import java.util.Date;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -47,6 +48,19 @@ public class ControllerExceptionHandler {
 
 	  
 
+	    @ExceptionHandler(TicketVersionConflictException.class)
+	    @ResponseStatus(value = HttpStatus.PRECONDITION_FAILED)
+	    public ErrorMessage ticketVersionConflictException(TicketVersionConflictException ex, WebRequest request) {
+	        return new ErrorMessage(HttpStatus.PRECONDITION_FAILED.value(), new Date(), ex.getMessage(), request.getDescription(false));
+	    }
+	    
+	    // A concurrent update committed between reading the entity and writing it
+	    @ExceptionHandler(OptimisticLockingFailureException.class)
+	    @ResponseStatus(value = HttpStatus.CONFLICT)
+	    public ErrorMessage optimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
+	        return new ErrorMessage(HttpStatus.CONFLICT.value(), new Date(), "The record was modified concurrently; reload it and retry", request.getDescription(false));
+	    }
+	    
 	    @ExceptionHandler(TicketNotFoundException.class)
 	    @ResponseStatus(value = HttpStatus.NOT_FOUND)
 	    public ErrorMessage ticketNotFoundException(TicketNotFoundException ex, WebRequest request) {
@@ -0,0 +1,8 @@
+package com.example.demo.exceptions;
+ 
+ 
+public class EventStreamLimitException extends RuntimeException {
+    public EventStreamLimitException(String message) {
+        super(message);
+    }
+}
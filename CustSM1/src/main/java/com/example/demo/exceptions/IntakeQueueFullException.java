@@ -0,0 +1,8 @@
+package com.example.demo.exceptions;
+ 
+ 
+public class IntakeQueueFullException extends RuntimeException {
+    public IntakeQueueFullException(String message) {
+        super(message);
+    }
+}
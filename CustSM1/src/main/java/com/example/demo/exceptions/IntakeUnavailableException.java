@@ -0,0 +1,8 @@
+package com.example.demo.exceptions;
+ 
+ 
+public class IntakeUnavailableException extends RuntimeException {
+    public IntakeUnavailableException(String message) {
+        super(message);
+    }
+}
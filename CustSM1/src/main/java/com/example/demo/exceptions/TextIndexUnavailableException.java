@@ -0,0 +1,8 @@
+package com.example.demo.exceptions;
+ 
+ 
+public class TextIndexUnavailableException extends RuntimeException {
+    public TextIndexUnavailableException(String message) {
+        super(message);
+    }
+}
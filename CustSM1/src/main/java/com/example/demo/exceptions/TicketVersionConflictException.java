@@ -0,0 +1,8 @@
+package com.example.demo.exceptions;
+ 
+ 
+public class TicketVersionConflictException extends RuntimeException {
+    public TicketVersionConflictException(String message) {
+        super(message);
+    }
+}
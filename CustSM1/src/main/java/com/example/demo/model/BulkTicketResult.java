@@ -0,0 +1,42 @@
+package com.example.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * BulkTicketResult Class
+ * Outcome of one item of a bulk ticket submission. The index refers to the item's position in the request,
+ * so callers can match results to their input even when some items were rejected.
+ *
+ * @author Srihari.P
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTicketResult {
+
+    public enum Status {
+        CREATED, DUPLICATE, REJECTED
+    }
+
+    private int index;
+    private Status status;
+    private Integer ticketId;
+    private Integer employeeId;
+    private String message;
+
+    public static BulkTicketResult created(int index, Ticket ticket) {
+        return new BulkTicketResult(index, Status.CREATED, ticket.getTicketId(), ticket.getEmployeeId(), null);
+    }
+
+    public static BulkTicketResult duplicate(int index, String message) {
+        return new BulkTicketResult(index, Status.DUPLICATE, null, null, message);
+    }
+
+    public static BulkTicketResult rejected(int index, String message) {
+        return new BulkTicketResult(index, Status.REJECTED, null, null, message);
+    }
+}
@@ -20,4 +20,7 @@ public final class Constants {
     public static final String OPEN = "OPEN";
     public static final String PENDING = "PENDING";
     public static final String CLOSED = "CLOSED";
+
+    // Employee ID of a ticket accepted by asynchronous intake that has not been assigned yet
+    public static final int UNASSIGNED_EMPLOYEE_ID = 0;
 }
@@ -0,0 +1,14 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * DashboardSummary Record
+ * Everything the admin dashboard shows on load: tickets by status, customers, and staff by designation.
+ * generatedAt tells the client how old the cached counts are.
+ *
+ * @author Srihari.P
+ */
+public record DashboardSummary(long openTickets, long pendingTickets, long closedTickets, long totalTickets,
+        long customers, long employees, long managers, long admins, LocalDateTime generatedAt) {
+}
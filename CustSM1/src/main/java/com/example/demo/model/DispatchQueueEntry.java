@@ -0,0 +1,15 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * DispatchQueueEntry Record
+ * One employee's place in a department dispatch queue: position 1 receives the next ticket.
+ * activeTickets counts OPEN and PENDING tickets; lastAssignedAt is null until the employee is assigned a
+ * ticket after the queue was built.
+ *
+ * @author Srihari.P
+ */
+public record DispatchQueueEntry(int position, int employeeId, int activeTickets, int openTickets,
+        int pendingTickets, int totalTickets, int lowPriorityTickets, LocalDateTime lastAssignedAt) {
+}
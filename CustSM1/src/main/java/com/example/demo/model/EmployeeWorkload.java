@@ -0,0 +1,32 @@
+package com.example.demo.model;
+
+/**
+ * EmployeeWorkload Record
+ * Ticket counts held for one assignable employee: total, OPEN, PENDING and per-priority counts.
+ * Instances are immutable; the workload index replaces them as tickets move between employees.
+ *
+ * @author Srihari.P
+ */
+public record EmployeeWorkload(int employeeId, String employeeDept, int totalTickets, int openTickets,
+        int pendingTickets, int lowPriorityTickets, int mediumPriorityTickets, int highPriorityTickets) {
+
+    /**
+     * Returns an empty workload for the given employee.
+     */
+    public static EmployeeWorkload empty(int employeeId, String employeeDept) {
+        return new EmployeeWorkload(employeeId, employeeDept, 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Returns a copy with the given ticket added (delta = 1) or removed (delta = -1).
+     */
+    public EmployeeWorkload withTicket(TicketState ticket, int delta) {
+        return new EmployeeWorkload(employeeId, employeeDept,
+                totalTickets + delta,
+                openTickets + (Constants.OPEN.equalsIgnoreCase(ticket.ticketStatus()) ? delta : 0),
+                pendingTickets + (Constants.PENDING.equalsIgnoreCase(ticket.ticketStatus()) ? delta : 0),
+                lowPriorityTickets + ("LOW".equalsIgnoreCase(ticket.ticketPriority()) ? delta : 0),
+                mediumPriorityTickets + ("MEDIUM".equalsIgnoreCase(ticket.ticketPriority()) ? delta : 0),
+                highPriorityTickets + ("HIGH".equalsIgnoreCase(ticket.ticketPriority()) ? delta : 0));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.model;
+
+/**
+ * LatencyPercentiles Record
+ * Percentiles of a set of ticket latencies in seconds, accurate to about 1%. All values are 0 when count is 0.
+ *
+ * @author Srihari.P
+ */
+public record LatencyPercentiles(long count, long p50Seconds, long p90Seconds, long p99Seconds, long maxSeconds) {
+}
@@ -0,0 +1,22 @@
+package com.example.demo.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * LatencySample Record
+ * One measured ticket latency: the seconds from a ticket being raised to its first response or to its
+ * resolution, credited to the employee the ticket is assigned to.
+ *
+ * @author Srihari.P
+ */
+public record LatencySample(int employeeId, Kind kind, long seconds) {
+
+    public enum Kind {
+        RESPONSE, RESOLUTION
+    }
+
+    public static LatencySample between(int employeeId, Kind kind, LocalDateTime raiseDate, LocalDateTime until) {
+        return new LatencySample(employeeId, kind, Duration.between(raiseDate, until).toSeconds());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * RebalanceReport Record
+ * Outcome of one rebalancer run: the tickets moved, moves skipped because the ticket changed meanwhile,
+ * time spent per phase and the spread of active (OPEN and PENDING) tickets per department before and after.
+ *
+ * @author Srihari.P
+ */
+public record RebalanceReport(LocalDateTime startedAt, long durationMillis, long planningMillis, long updateMillis,
+        long notificationMillis, int ticketsMoved, int movesSkipped, List<DepartmentSpread> departments,
+        List<TicketMove> moves) {
+
+    /**
+     * Fewest and most active tickets held by one employee of the department, before and after the run.
+     */
+    public record DepartmentSpread(String department, int employees, int ticketsMoved, int minActiveBefore,
+            int maxActiveBefore, int minActiveAfter, int maxActiveAfter) {
+    }
+}
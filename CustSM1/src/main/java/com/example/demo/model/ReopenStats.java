@@ -0,0 +1,11 @@
+package com.example.demo.model;
+
+/**
+ * ReopenStats Record
+ * Reopen counts for one ticket type: reopens is the number of reopened tickets, reopenedTickets the number of
+ * distinct closed tickets they reopen, and longestChain the most reopens of a single original ticket.
+ *
+ * @author Srihari.P
+ */
+public record ReopenStats(String ticketType, long reopens, long reopenedTickets, int longestChain) {
+}
@@ -12,7 +12,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -28,7 +28,6 @@ import lombok.Setter;
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 @Table(name="TICKET")
 public class Ticket {
     
@@ -122,4 +121,49 @@ public class Ticket {
     @ManyToOne
     @JoinColumn(name = "CUSTOMER_ID", referencedColumnName = "CUSTOMER_ID", nullable=false)
     private Customer customer;
+    
+    /**
+     * ID of the closed ticket this ticket reopens, or null for an original ticket.
+     */
+    @Column(name="PARENT_TICKET_ID")
+    private Integer parentTicketId;
+    
+    /**
+     * Number of reopens in the chain up to this ticket: 0 for an original ticket, one more than its parent's
+     * for a reopened ticket.
+     */
+    @Column(name="REOPEN_COUNT", nullable=false)
+    private int reopenCount;
+    
+    /**
+     * Row version, incremented on every update of the ticket.
+     * Rejects updates made from a stale copy of the ticket and is the source of the ticket's ETag.
+     */
+    @Version
+    @Column(name="VERSION", nullable=false)
+    private long version;
+    
+    /**
+     * Creates an original ticket with every field except the version, which is managed by the persistence
+     * provider.
+     */
+    public Ticket(int ticketId, int employeeId, String ticketType, String ticketDescription,
+            LocalDateTime ticketRaiseDate, String ticketStatus, String ticketPriority, LocalDateTime responseTime,
+            LocalDateTime resolveTime, String employeeComment, String turnAroundTime, Integer customerRating,
+            String customerFeedback, Customer customer) {
+        this.ticketId = ticketId;
+        this.employeeId = employeeId;
+        this.ticketType = ticketType;
+        this.ticketDescription = ticketDescription;
+        this.ticketRaiseDate = ticketRaiseDate;
+        this.ticketStatus = ticketStatus;
+        this.ticketPriority = ticketPriority;
+        this.responseTime = responseTime;
+        this.resolveTime = resolveTime;
+        this.employeeComment = employeeComment;
+        this.turnAroundTime = turnAroundTime;
+        this.customerRating = customerRating;
+        this.customerFeedback = customerFeedback;
+        this.customer = customer;
+    }
 }
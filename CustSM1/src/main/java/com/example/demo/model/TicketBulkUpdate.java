@@ -0,0 +1,14 @@
+package com.example.demo.model;
+
+import java.util.List;
+
+/**
+ * TicketBulkUpdate Record
+ * One change applied to many tickets at once. Null fields are left unchanged; at least one of ticketStatus,
+ * ticketPriority and employeeComment must be given.
+ *
+ * @author Srihari.P
+ */
+public record TicketBulkUpdate(List<Integer> ticketIds, String ticketStatus, String ticketPriority,
+        String employeeComment) {
+}
@@ -0,0 +1,15 @@
+package com.example.demo.model;
+
+import java.util.List;
+
+/**
+ * TicketBulkUpdateResult Record
+ * Outcome of a bulk ticket update by ticket ID: updated tickets, tickets that already had the requested
+ * values, tickets that do not exist, and closed tickets that cannot be made active again in bulk (they are
+ * reopened one at a time through reopenTicket).
+ *
+ * @author Srihari.P
+ */
+public record TicketBulkUpdateResult(List<Integer> updated, List<Integer> unchanged, List<Integer> notFound,
+        List<Integer> rejected) {
+}
@@ -0,0 +1,33 @@
+package com.example.demo.model;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * TicketChainEntry Record
+ * One ticket of a reopen chain. depth is 0 for the original ticket and grows by one with each reopen;
+ * parentTicketId is the closed ticket it reopens.
+ *
+ * @author Srihari.P
+ */
+public record TicketChainEntry(int ticketId, Integer parentTicketId, int depth, String ticketType,
+        String ticketStatus, String ticketPriority, int employeeId, LocalDateTime ticketRaiseDate,
+        LocalDateTime resolveTime) {
+
+    /**
+     * Maps a row of TicketRepository.findTicketChain.
+     */
+    public static TicketChainEntry of(Object[] row) {
+        return new TicketChainEntry(((Number) row[0]).intValue(), row[1] == null ? null : ((Number) row[1]).intValue(),
+                ((Number) row[2]).intValue(), (String) row[3], (String) row[4], (String) row[5],
+                ((Number) row[6]).intValue(), toLocalDateTime(row[7]), toLocalDateTime(row[8]));
+    }
+
+    // Native queries return DATETIME columns as Timestamp or LocalDateTime depending on the driver settings
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * TicketEvent Record
+ * A committed ticket change as pushed to event stream subscribers. change is CREATED, UPDATED or DELETED; the
+ * ticket fields are its state after the change (before it, for a deleted ticket), and previousStatus and
+ * previousEmployeeId are set when an update changed them. sequence increases with every event of this
+ * application instance.
+ *
+ * @author Srihari.P
+ */
+public record TicketEvent(long sequence, String change, int ticketId, int customerId, int employeeId,
+        String ticketType, String ticketStatus, String ticketPriority, String previousStatus,
+        Integer previousEmployeeId, LocalDateTime occurredAt) {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    public static TicketEvent of(long sequence, TicketState before, TicketState after) {
+        if (before == null) {
+            return of(sequence, CREATED, after, null, null);
+        }
+        if (after == null) {
+            return of(sequence, DELETED, before, null, null);
+        }
+        String previousStatus = after.ticketStatus() != null && after.ticketStatus().equals(before.ticketStatus())
+                ? null : before.ticketStatus();
+        Integer previousEmployeeId = after.employeeId() == before.employeeId() ? null : before.employeeId();
+        return of(sequence, UPDATED, after, previousStatus, previousEmployeeId);
+    }
+
+    private static TicketEvent of(long sequence, String change, TicketState state, String previousStatus,
+            Integer previousEmployeeId) {
+        return new TicketEvent(sequence, change, state.ticketId(), state.customerId(), state.employeeId(),
+                state.ticketType(), state.ticketStatus(), state.ticketPriority(), previousStatus, previousEmployeeId,
+                LocalDateTime.now());
+    }
+
+    /**
+     * Returns whether the employee is concerned: the ticket is assigned to them or was just moved away from them.
+     */
+    public boolean concernsEmployee(int employeeId) {
+        return this.employeeId == employeeId || (previousEmployeeId != null && previousEmployeeId == employeeId);
+    }
+}
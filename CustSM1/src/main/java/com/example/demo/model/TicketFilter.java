@@ -0,0 +1,12 @@
+package com.example.demo.model;
+
+/**
+ * TicketFilter Record
+ * Optional filters for browsing tickets. A null field does not filter; ticketStatus is matched ignoring case.
+ *
+ * @author Srihari.P
+ */
+public record TicketFilter(String ticketStatus, String ticketType, Integer employeeId, Integer customerId) {
+
+    public static final TicketFilter NONE = new TicketFilter(null, null, null, null);
+}
@@ -0,0 +1,18 @@
+package com.example.demo.model;
+
+/**
+ * TicketMove Record
+ * A PENDING ticket moved by the rebalancer from the employee in ticket to toEmployeeId.
+ *
+ * @author Srihari.P
+ */
+public record TicketMove(TicketState ticket, int toEmployeeId) {
+
+    /**
+     * Returns the ticket as it is after the move.
+     */
+    public TicketState after() {
+        return new TicketState(ticket.ticketId(), toEmployeeId, ticket.customerId(), ticket.ticketType(),
+                ticket.ticketStatus(), ticket.ticketPriority());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.model;
+
+import java.util.List;
+
+/**
+ * TicketPage Record
+ * One page of tickets in ascending ticket ID order. nextCursor is passed back to fetch the following page and
+ * is null on the last page.
+ *
+ * @author Srihari.P
+ */
+public record TicketPage(List<Ticket> tickets, int size, String nextCursor) {
+}
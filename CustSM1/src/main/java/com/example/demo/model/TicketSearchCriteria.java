@@ -0,0 +1,14 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * TicketSearchCriteria Record
+ * Filters of /ticket/search. A null field does not filter. raisedFrom is inclusive and raisedTo exclusive.
+ *
+ * @author Srihari.P
+ */
+public record TicketSearchCriteria(String ticketStatus, String ticketType, String ticketPriority,
+        Integer employeeId, String customerCity, String customerState, LocalDateTime raisedFrom,
+        LocalDateTime raisedTo) {
+}
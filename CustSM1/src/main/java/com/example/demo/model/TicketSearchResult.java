@@ -0,0 +1,13 @@
+package com.example.demo.model;
+
+import java.util.List;
+
+/**
+ * TicketSearchResult Record
+ * One page of /ticket/search in ascending ticket ID order. nextCursor is null on the last page, and total is
+ * only counted when the caller asks for it.
+ *
+ * @author Srihari.P
+ */
+public record TicketSearchResult(List<TicketSummary> tickets, int size, String nextCursor, Long total) {
+}
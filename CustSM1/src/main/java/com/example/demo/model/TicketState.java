@@ -0,0 +1,28 @@
+package com.example.demo.model;
+
+/**
+ * TicketState Record
+ * Immutable copy of the ticket fields that drive workload and status bookkeeping. TicketService captures one
+ * before and one after each write so that in-memory indexes can be updated without re-reading the database.
+ *
+ * @author Srihari.P
+ */
+public record TicketState(int ticketId, int employeeId, int customerId, String ticketType,
+        String ticketStatus, String ticketPriority) {
+
+    /**
+     * Captures the current state of the given ticket. A missing customer is recorded as customer ID 0.
+     */
+    public static TicketState of(Ticket ticket) {
+        int customerId = ticket.getCustomer() != null ? ticket.getCustomer().getCustomerId() : 0;
+        return new TicketState(ticket.getTicketId(), ticket.getEmployeeId(), customerId, ticket.getTicketType(),
+                ticket.getTicketStatus(), ticket.getTicketPriority());
+    }
+
+    /**
+     * A ticket is active while it is OPEN or PENDING, regardless of the case it was stored in.
+     */
+    public boolean isActive() {
+        return Constants.OPEN.equalsIgnoreCase(ticketStatus) || Constants.PENDING.equalsIgnoreCase(ticketStatus);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.model;
+
+import java.time.LocalDate;
+
+/**
+ * TicketStatsKey Record
+ * One group of the TICKET_STATS_DAILY rollup. Missing values are empty strings, as stored in the table, and
+ * priority and status are in upper case.
+ *
+ * @author Srihari.P
+ */
+public record TicketStatsKey(LocalDate statDate, String customerState, String customerCity, String employeeDept,
+        String ticketType, String ticketPriority, String ticketStatus) {
+
+    public static TicketStatsKey of(LocalDate statDate, String customerState, String customerCity,
+            String employeeDept, String ticketType, String ticketPriority, String ticketStatus) {
+        return new TicketStatsKey(statDate, orEmpty(customerState), orEmpty(customerCity), orEmpty(employeeDept),
+                orEmpty(ticketType), orEmpty(ticketPriority).toUpperCase(), orEmpty(ticketStatus).toUpperCase());
+    }
+
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
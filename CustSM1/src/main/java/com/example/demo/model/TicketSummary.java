@@ -0,0 +1,42 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * TicketSummary Record
+ * Read projection of a ticket for the customer and employee ticket lists. It keeps the ticket's own fields and
+ * only the customer's ID and name under customer, so credentials and contact details are never loaded or
+ * serialized. Built directly by the JPQL queries in TicketRepository.
+ *
+ * @author Srihari.P
+ */
+public record TicketSummary(int ticketId, int employeeId, String ticketType, String ticketDescription,
+        LocalDateTime ticketRaiseDate, String ticketStatus, String ticketPriority, LocalDateTime responseTime,
+        LocalDateTime resolveTime, String employeeComment, String turnAroundTime, Integer customerRating,
+        String customerFeedback, long version, CustomerSummary customer) {
+
+    public record CustomerSummary(int customerId, String customerFirstname, String customerLastname) {
+    }
+
+    // Flat form used by the JPQL constructor expressions
+    public TicketSummary(int ticketId, int employeeId, String ticketType, String ticketDescription,
+            LocalDateTime ticketRaiseDate, String ticketStatus, String ticketPriority, LocalDateTime responseTime,
+            LocalDateTime resolveTime, String employeeComment, String turnAroundTime, Integer customerRating,
+            String customerFeedback, long version, int customerId, String customerFirstname,
+            String customerLastname) {
+        this(ticketId, employeeId, ticketType, ticketDescription, ticketRaiseDate, ticketStatus, ticketPriority,
+                responseTime, resolveTime, employeeComment, turnAroundTime, customerRating, customerFeedback, version,
+                new CustomerSummary(customerId, customerFirstname, customerLastname));
+    }
+
+    public static TicketSummary of(Ticket ticket) {
+        Customer customer = ticket.getCustomer();
+        return new TicketSummary(ticket.getTicketId(), ticket.getEmployeeId(), ticket.getTicketType(),
+                ticket.getTicketDescription(), ticket.getTicketRaiseDate(), ticket.getTicketStatus(),
+                ticket.getTicketPriority(), ticket.getResponseTime(), ticket.getResolveTime(),
+                ticket.getEmployeeComment(), ticket.getTurnAroundTime(), ticket.getCustomerRating(),
+                ticket.getCustomerFeedback(), ticket.getVersion(), customer == null ? null
+                        : new CustomerSummary(customer.getCustomerId(), customer.getCustomerFirstname(),
+                                customer.getCustomerLastname()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.model;
+
+import java.util.Map;
+
+/**
+ * TicketTextHit Record
+ * One ticket matched by a text search, most relevant first. highlights maps each matching text field
+ * (ticketDescription, employeeComment, customerFeedback) to a fragment with the matched terms wrapped in
+ * &lt;em&gt; tags.
+ *
+ * @author Srihari.P
+ */
+public record TicketTextHit(int ticketId, float score, int customerId, int employeeId, String ticketType,
+        String ticketStatus, Map<String, String> highlights) {
+}
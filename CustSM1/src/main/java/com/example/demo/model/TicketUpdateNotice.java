@@ -0,0 +1,16 @@
+package com.example.demo.model;
+
+/**
+ * TicketUpdateNotice Record
+ * What a customer is told about one ticket changed by a bulk update. The previous values are null when the
+ * field did not change.
+ *
+ * @author Srihari.P
+ */
+public record TicketUpdateNotice(String customerEmail, int ticketId, String previousStatus, String ticketStatus,
+        String previousPriority, String ticketPriority, String employeeComment) {
+
+    public boolean isClosed() {
+        return previousStatus != null && Constants.CLOSED.equalsIgnoreCase(ticketStatus);
+    }
+}
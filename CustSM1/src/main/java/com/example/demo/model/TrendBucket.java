@@ -0,0 +1,12 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * TrendBucket Record
+ * The number of tickets raised, first responded to and closed in one minute, hour or day starting at start.
+ *
+ * @author Srihari.P
+ */
+public record TrendBucket(LocalDateTime start, long raised, long responded, long closed) {
+}
@@ -54,6 +54,10 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer>{
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.employeeDesignation = 'Admin'")
     long countAdmins();
     
+    // Employee count per designation in lower case, for the dashboard summary
+    @Query("SELECT LOWER(e.employeeDesignation), COUNT(e) FROM Employee e GROUP BY LOWER(e.employeeDesignation)")
+    List<Object[]> countByDesignation();
+    
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.employeeManagerId = :managerId")
     long countEmployeesUnderManager(@Param("managerId") Integer managerId);
  
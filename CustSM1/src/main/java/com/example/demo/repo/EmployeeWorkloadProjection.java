@@ -0,0 +1,27 @@
+package com.example.demo.repo;
+
+/**
+ * EmployeeWorkloadProjection Interface
+ * Read projection for the grouped workload queries in TicketRepository. Each row holds the ticket counts
+ * of one 'Employee' designation employee; employees without tickets are returned with zero counts.
+ *
+ * @author Srihari.P
+ */
+public interface EmployeeWorkloadProjection {
+
+    Integer getEmployeeId();
+
+    String getEmployeeDept();
+
+    Long getTotalTickets();
+
+    Long getOpenTickets();
+
+    Long getPendingTickets();
+
+    Long getLowPriorityTickets();
+
+    Long getMediumPriorityTickets();
+
+    Long getHighPriorityTickets();
+}
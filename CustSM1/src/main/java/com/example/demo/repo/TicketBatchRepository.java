@@ -0,0 +1,184 @@
+package com.example.demo.repo;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.model.Constants;
+import com.example.demo.model.Ticket;
+import com.example.demo.model.TicketBulkUpdate;
+import com.example.demo.model.TicketMove;
+import com.example.demo.model.TicketState;
+
+/**
+ * TicketBatchRepository Class
+ * Writes many tickets with JDBC batching. Ticket IDs use IDENTITY generation, which stops Hibernate from
+ * batching inserts, so bulk intake goes through this class instead of TicketRepository.saveAll. The
+ * rebalancer's reassignments and bulk status updates are batched here as well.
+ * Runs on the connection of the current transaction.
+ *
+ * @author Srihari.P
+ */
+
+@Repository
+public class TicketBatchRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String INSERT_TICKET = "INSERT INTO TICKET (EMPLOYEE_ID, CUSTOMER_ID, TICKET_TYPE, "
+            + "TICKET_DESCRIPTION, TICKET_RAISEDATE, TICKET_STATUS, TICKET_PRIORITY) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // Only moves a ticket that is still PENDING with the employee the move was planned from. Bumps VERSION as
+    // Hibernate would, so ETags change and concurrent entity updates of the ticket fail instead of overwriting it
+    private static final String REASSIGN_TICKET = "UPDATE TICKET SET EMPLOYEE_ID = ?, VERSION = VERSION + 1 "
+            + "WHERE TICKET_ID = ? AND EMPLOYEE_ID = ? AND UPPER(TICKET_STATUS) = 'PENDING'";
+
+    // Locks the tickets of a bulk update and reads what the in-memory indexes and the notifications need
+    private static final String LOCK_TICKETS = "SELECT t.TICKET_ID, t.EMPLOYEE_ID, t.CUSTOMER_ID, t.TICKET_TYPE, "
+            + "t.TICKET_STATUS, t.TICKET_PRIORITY, t.EMPLOYEE_COMMENT, c.CUSTOMER_EMAIL, t.TICKET_RAISEDATE, "
+            + "t.RESPONSE_TIME IS NOT NULL "
+            + "FROM TICKET t JOIN CUSTOMER c ON c.CUSTOMER_ID = t.CUSTOMER_ID "
+            + "WHERE t.TICKET_ID IN (:ticketIds) FOR UPDATE OF t";
+
+    private static final String SECONDS_OPEN = "TIMESTAMPDIFF(SECOND, TICKET_RAISEDATE, :now)";
+
+    // Same rules as TicketService.updateTicketDetails, evaluated per row. MySQL assigns left to right and later
+    // expressions see earlier assignments, so TICKET_STATUS is assigned last and the CASEs see the old status.
+    // TURN_AROUND_TIME follows TicketService.calculateTurnAroundTime
+    private static final String BULK_UPDATE = "UPDATE TICKET SET "
+            + "RESPONSE_TIME = CASE WHEN :ticketStatus IS NOT NULL AND TICKET_STATUS <> :ticketStatus "
+            + "AND RESPONSE_TIME IS NULL THEN :now ELSE RESPONSE_TIME END, "
+            + "RESOLVE_TIME = CASE WHEN :closing = 1 AND TICKET_STATUS <> '" + Constants.CLOSED + "' "
+            + "THEN :now ELSE RESOLVE_TIME END, "
+            + "TURN_AROUND_TIME = CASE WHEN :closing = 1 AND TICKET_STATUS <> '" + Constants.CLOSED + "' THEN CONCAT("
+            + "FLOOR(" + SECONDS_OPEN + " / 86400), ' days ', "
+            + "FLOOR(MOD(" + SECONDS_OPEN + ", 86400) / 3600), ' hours ', "
+            + "FLOOR(MOD(" + SECONDS_OPEN + ", 3600) / 60), ' min ', "
+            + "MOD(" + SECONDS_OPEN + ", 60), ' sec') ELSE TURN_AROUND_TIME END, "
+            + "EMPLOYEE_COMMENT = COALESCE(:employeeComment, EMPLOYEE_COMMENT), "
+            + "TICKET_PRIORITY = COALESCE(:ticketPriority, TICKET_PRIORITY), "
+            + "TICKET_STATUS = COALESCE(:ticketStatus, TICKET_STATUS), "
+            + "VERSION = VERSION + 1 "
+            + "WHERE TICKET_ID IN (:ticketIds)";
+
+    /**
+     * A ticket locked for a bulk update: its bookkeeping state, current comment, the customer's email, its
+     * raise date and whether it has been responded to.
+     */
+
+    public record LockedTicket(TicketState state, String employeeComment, String customerEmail,
+            LocalDateTime raiseDate, boolean responded) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public TicketBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Locks the given tickets until the current transaction ends and returns those that exist.
+     */
+
+    public List<LockedTicket> lockTickets(Collection<Integer> ticketIds) {
+        return namedJdbcTemplate.query(LOCK_TICKETS, new MapSqlParameterSource("ticketIds", ticketIds),
+                (resultSet, row) -> new LockedTicket(
+                        new TicketState(resultSet.getInt(1), resultSet.getInt(2), resultSet.getInt(3),
+                                resultSet.getString(4), resultSet.getString(5), resultSet.getString(6)),
+                        resultSet.getString(7), resultSet.getString(8),
+                        resultSet.getObject(9, LocalDateTime.class), resultSet.getBoolean(10)));
+    }
+
+    /**
+     * Applies the update to the given tickets with one UPDATE statement, computing response, resolve and
+     * turnaround times in the database, and returns the number of tickets updated.
+     */
+
+    public int bulkUpdate(Collection<Integer> ticketIds, TicketBulkUpdate update, LocalDateTime now) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ticketIds", ticketIds)
+                .addValue("ticketStatus", update.ticketStatus(), Types.VARCHAR)
+                .addValue("ticketPriority", update.ticketPriority(), Types.VARCHAR)
+                .addValue("employeeComment", update.employeeComment(), Types.VARCHAR)
+                .addValue("closing", Constants.CLOSED.equalsIgnoreCase(update.ticketStatus()) ? 1 : 0)
+                .addValue("now", Timestamp.valueOf(now));
+        return namedJdbcTemplate.update(BULK_UPDATE, parameters);
+    }
+
+    /**
+     * Inserts the tickets in batches of {@value #BATCH_SIZE} and sets the generated ticket IDs on them.
+     */
+
+    public void insertAll(List<Ticket> tickets) {
+        for (int from = 0; from < tickets.size(); from += BATCH_SIZE) {
+            insertBatch(tickets.subList(from, Math.min(from + BATCH_SIZE, tickets.size())));
+        }
+    }
+
+    /**
+     * Applies the moves with batched UPDATE statements in one transaction and returns the moves that were
+     * applied. A move is skipped if its ticket was closed or reassigned after the move was planned.
+     */
+
+    @Transactional
+    public List<TicketMove> reassignAll(List<TicketMove> moves) {
+        int[][] counts = jdbcTemplate.batchUpdate(REASSIGN_TICKET, moves, BATCH_SIZE, (statement, move) -> {
+            statement.setInt(1, move.toEmployeeId());
+            statement.setInt(2, move.ticket().ticketId());
+            statement.setInt(3, move.ticket().employeeId());
+        });
+
+        List<TicketMove> applied = new ArrayList<>();
+        int position = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO is reported by drivers that do not return per-row counts
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    applied.add(moves.get(position));
+                }
+                position++;
+            }
+        }
+        return applied;
+    }
+
+    private void insertBatch(List<Ticket> batch) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TICKET, Statement.RETURN_GENERATED_KEYS)) {
+                for (Ticket ticket : batch) {
+                    statement.setInt(1, ticket.getEmployeeId());
+                    statement.setInt(2, ticket.getCustomer().getCustomerId());
+                    statement.setString(3, ticket.getTicketType());
+                    statement.setString(4, ticket.getTicketDescription());
+                    statement.setTimestamp(5, Timestamp.valueOf(ticket.getTicketRaiseDate()));
+                    statement.setString(6, ticket.getTicketStatus());
+                    statement.setString(7, ticket.getTicketPriority());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    int position = 0;
+                    while (keys.next() && position < batch.size()) {
+                        batch.get(position++).setTicketId(keys.getInt(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
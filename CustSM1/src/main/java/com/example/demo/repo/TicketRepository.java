@@ -1,13 +1,23 @@
 package com.example.demo.repo;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.demo.model.Ticket;
+import com.example.demo.model.TicketSummary;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * TicketRepository Interface
@@ -18,7 +28,38 @@ import com.example.demo.model.Ticket;
  */
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Integer> {
+public interface TicketRepository extends JpaRepository<Ticket, Integer>, JpaSpecificationExecutor<Ticket> {
+	
+	// Shared select for the workload projections. LEFT JOIN keeps employees that have no tickets yet
+	String EMPLOYEE_WORKLOAD_SELECT = "SELECT e.employeeId AS employeeId, e.employeeDept AS employeeDept, " +
+	       "COUNT(t.ticketId) AS totalTickets, " +
+	       "SUM(CASE WHEN UPPER(t.ticketStatus) = 'OPEN' THEN 1 ELSE 0 END) AS openTickets, " +
+	       "SUM(CASE WHEN UPPER(t.ticketStatus) = 'PENDING' THEN 1 ELSE 0 END) AS pendingTickets, " +
+	       "SUM(CASE WHEN UPPER(t.ticketPriority) = 'LOW' THEN 1 ELSE 0 END) AS lowPriorityTickets, " +
+	       "SUM(CASE WHEN UPPER(t.ticketPriority) = 'MEDIUM' THEN 1 ELSE 0 END) AS mediumPriorityTickets, " +
+	       "SUM(CASE WHEN UPPER(t.ticketPriority) = 'HIGH' THEN 1 ELSE 0 END) AS highPriorityTickets " +
+	       "FROM Employee e LEFT JOIN Ticket t ON t.employeeId = e.employeeId " +
+	       "WHERE e.employeeDesignation = 'Employee' ";
+	
+	// Shared select for the TicketSummary projections: ticket columns plus the customer's ID and name in one query
+	String TICKET_SUMMARY_SELECT = "SELECT new com.example.demo.model.TicketSummary(t.ticketId, t.employeeId, " +
+	       "t.ticketType, t.ticketDescription, t.ticketRaiseDate, t.ticketStatus, t.ticketPriority, t.responseTime, " +
+	       "t.resolveTime, t.employeeComment, t.turnAroundTime, t.customerRating, t.customerFeedback, t.version, " +
+	       "c.customerId, c.customerFirstname, c.customerLastname) " +
+	       "FROM Ticket t JOIN t.customer c ";
+	
+	// Validator rows behind the ticket ETags: ticketId, version, customerId, customerFirstname, customerLastname.
+	// Reads no ticket column besides the version
+	String TICKET_VERSION_SELECT = "SELECT t.ticketId, t.version, c.customerId, c.customerFirstname, c.customerLastname " +
+	       "FROM Ticket t JOIN t.customer c ";
+	
+	// Text fields of the full-text index: ticketId, customerId, employeeId, ticketType, ticketStatus,
+	// ticketDescription, employeeComment, customerFeedback
+	String TEXT_INDEX_SELECT = "SELECT t.ticketId, t.customer.customerId, t.employeeId, t.ticketType, t.ticketStatus, " +
+	       "t.ticketDescription, t.employeeComment, t.customerFeedback FROM Ticket t ";
+	
+	// Rows fetched per round trip by streamAllTickets; needs useCursorFetch=true on the MySQL connection URL
+	String EXPORT_FETCH_SIZE = "500";
 	
 	// Find the outage locations and point them on map. Called in outage service
     @Query("SELECT t.customer.customerPincode AS pincode, t.customer.customerAddress AS address, " +
@@ -35,7 +76,92 @@ public interface TicketRepository extends JpaRepository<Ticket, Integer> {
 	    
 	    List<Ticket> findByEmployeeId(int employeeId);
 	    
+	    @Query(TICKET_SUMMARY_SELECT + "WHERE c.customerId = :customerId ORDER BY t.ticketId ASC")
+	    List<TicketSummary> findSummariesByCustomerId(@Param("customerId") int customerId);
+	    
+	    @Query(TICKET_SUMMARY_SELECT + "WHERE t.employeeId = :employeeId ORDER BY t.ticketId ASC")
+	    List<TicketSummary> findSummariesByEmployeeId(@Param("employeeId") int employeeId);
+	    
+	    @Query(TICKET_VERSION_SELECT + "WHERE t.ticketId = :ticketId")
+	    List<Object[]> findVersionRowsByTicketId(@Param("ticketId") int ticketId);
+	    
+	    @Query(TICKET_VERSION_SELECT + "WHERE c.customerId = :customerId")
+	    List<Object[]> findVersionRowsByCustomerId(@Param("customerId") int customerId);
+	    
+	    @Query(TICKET_VERSION_SELECT + "WHERE t.employeeId = :employeeId")
+	    List<Object[]> findVersionRowsByEmployeeId(@Param("employeeId") int employeeId);
+	    
+	    // Whole reopen chain of a ticket in one statement: up to its original ticket through the primary key, then
+	    // down through every reopen through IX_TICKET_PARENT. Columns as in TicketChainEntry.of
+	    @Query(value = "WITH RECURSIVE ancestor (TICKET_ID, PARENT_TICKET_ID) AS ( " +
+	           "SELECT TICKET_ID, PARENT_TICKET_ID FROM TICKET WHERE TICKET_ID = :ticketId " +
+	           "UNION ALL " +
+	           "SELECT t.TICKET_ID, t.PARENT_TICKET_ID FROM TICKET t JOIN ancestor a ON t.TICKET_ID = a.PARENT_TICKET_ID), " +
+	           "chain (TICKET_ID, DEPTH) AS ( " +
+	           "SELECT TICKET_ID, 0 FROM ancestor WHERE PARENT_TICKET_ID IS NULL " +
+	           "UNION ALL " +
+	           "SELECT t.TICKET_ID, c.DEPTH + 1 FROM TICKET t JOIN chain c ON t.PARENT_TICKET_ID = c.TICKET_ID) " +
+	           "SELECT t.TICKET_ID, t.PARENT_TICKET_ID, c.DEPTH, t.TICKET_TYPE, t.TICKET_STATUS, t.TICKET_PRIORITY, " +
+	           "t.EMPLOYEE_ID, t.TICKET_RAISEDATE, t.RESOLVE_TIME " +
+	           "FROM chain c JOIN TICKET t ON t.TICKET_ID = c.TICKET_ID ORDER BY c.DEPTH, t.TICKET_ID",
+	           nativeQuery = true)
+	    List<Object[]> findTicketChain(@Param("ticketId") int ticketId);
+	    
+	    // Reopen counts per ticket type, read from IX_TICKET_PARENT alone: ticketType, reopens, reopenedTickets, longestChain
+	    @Query("SELECT t.ticketType, COUNT(t), COUNT(DISTINCT t.parentTicketId), MAX(t.reopenCount) FROM Ticket t " +
+	           "WHERE t.parentTicketId IS NOT NULL GROUP BY t.ticketType ORDER BY t.ticketType")
+	    List<Object[]> findReopenStats();
+	    
 	    List<Ticket> findByTicketStatus(String ticketStatus);
+	    
+	    List<Ticket> findByEmployeeIdAndTicketStatus(int employeeId, String ticketStatus);
+	    
+	    // Keyset page: tickets after afterId in ID order, customer fetched in the same query. Null filters match all
+	    @Query("SELECT t FROM Ticket t JOIN FETCH t.customer c WHERE t.ticketId > :afterId " +
+	           "AND (:ticketStatus IS NULL OR UPPER(t.ticketStatus) = UPPER(:ticketStatus)) " +
+	           "AND (:ticketType IS NULL OR t.ticketType = :ticketType) " +
+	           "AND (:employeeId IS NULL OR t.employeeId = :employeeId) " +
+	           "AND (:customerId IS NULL OR c.customerId = :customerId) " +
+	           "ORDER BY t.ticketId ASC")
+	    List<Ticket> findTicketPage(@Param("afterId") int afterId, @Param("ticketStatus") String ticketStatus,
+	            @Param("ticketType") String ticketType, @Param("employeeId") Integer employeeId,
+	            @Param("customerId") Integer customerId, Pageable pageable);
+	    
+	    // Every ticket in ID order for the export, read through a cursor in chunks of the fetch size. Read-only
+	    // entities skip dirty-checking snapshots; the stream must be consumed and closed inside a transaction
+	    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+	            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+	    @Query("SELECT t FROM Ticket t JOIN FETCH t.customer ORDER BY t.ticketId ASC")
+	    Stream<Ticket> streamAllTickets();
+	    
+	    // Primary key lookups for the incremental updates of the full-text index
+	    @Query(TEXT_INDEX_SELECT + "WHERE t.ticketId IN :ticketIds")
+	    List<Object[]> findTextIndexRows(@Param("ticketIds") Collection<Integer> ticketIds);
+	    
+	    // Every ticket's text fields for a full-text index rebuild, read through a cursor like streamAllTickets
+	    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+	    @Query(TEXT_INDEX_SELECT + "ORDER BY t.ticketId ASC")
+	    Stream<Object[]> streamTextIndexRows();
+	    
+	    // employeeId, raise date, response time, resolve time and status of the tickets raised since the given time that
+	    // have a response or resolution, for loading the latency histograms; read through a cursor like streamAllTickets
+	    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+	    @Query("SELECT t.employeeId, t.ticketRaiseDate, t.responseTime, t.resolveTime, t.ticketStatus FROM Ticket t " +
+	           "WHERE t.ticketRaiseDate >= :since AND (t.responseTime IS NOT NULL OR t.resolveTime IS NOT NULL)")
+	    Stream<Object[]> streamLatencyRows(@Param("since") LocalDateTime since);
+	    
+	    // raise date, response time, resolve time and status of the tickets raised, responded to or resolved since
+	    // the given time, for seeding the trend buckets
+	    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+	    @Query("SELECT t.ticketRaiseDate, t.responseTime, t.resolveTime, t.ticketStatus FROM Ticket t " +
+	           "WHERE t.ticketRaiseDate >= :since OR t.responseTime >= :since OR t.resolveTime >= :since")
+	    Stream<Object[]> streamTrendRows(@Param("since") LocalDateTime since);
+	    
+	    // ticketId, employeeId, customerId, ticketType, ticketStatus, ticketPriority; oldest first
+	    @Query("SELECT t.ticketId, t.employeeId, t.customer.customerId, t.ticketType, t.ticketStatus, t.ticketPriority " +
+	           "FROM Ticket t WHERE t.employeeId IN :employeeIds AND UPPER(t.ticketStatus) = 'PENDING' " +
+	           "ORDER BY t.ticketRaiseDate ASC, t.ticketId ASC")
+	    List<Object[]> findPendingTicketStates(@Param("employeeIds") Collection<Integer> employeeIds);
 
     	int countByEmployeeId(Integer employeeId);
 
@@ -43,33 +169,11 @@ public interface TicketRepository extends JpaRepository<Ticket, Integer> {
 
     	int countByEmployeeIdAndTicketPriority(Integer employeeId, String priority);
 
-    	//state vs tickets
-    	@Query("SELECT c.customerState, COUNT(t.ticketId) FROM Ticket t JOIN t.customer c GROUP BY c.customerState")
-    	List<Object[]> getTicketCountByLocation();
-    
-	    // Query to get ticket count grouped by state and city(cust_location vs tickets )
-	    @Query("SELECT  c.customerCity, COUNT(t.ticketId) " +
-	           "FROM Ticket t JOIN t.customer c " +
-	           "GROUP BY  c.customerCity")
-	    List<Object[]> getTicketCountByCity();
+    	// Ticket counts by state, city and department are read from TICKET_STATS_DAILY (TicketStatsRepository)
     
-   
-	    //domain vs no of tickets
-	    @Query("SELECT e.employeeDept, COUNT(t) FROM Employee e JOIN Ticket t ON e.employeeId = t.employeeId GROUP BY e.employeeDept")
-	    List<Object[]> countTicketsByEmployeeDept();
-	    
-	    
-	    // Count tickets with 'Open' status
-	    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.ticketStatus = 'Open'")
-	    long countTicketsByOpenStatus();
-	 
-	    // Count tickets with 'Closed' status
-	    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.ticketStatus = 'Closed'")
-	    long countTicketsByClosedStatus();
-	 
-	    // Count tickets with 'In Progress' status
-	    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.ticketStatus = 'Pending'")
-	    long countTicketsByPendingStatus();
+	    // Ticket count per status, regardless of the case the status was stored in
+	    @Query("SELECT UPPER(t.ticketStatus), COUNT(t) FROM Ticket t WHERE t.ticketStatus IS NOT NULL GROUP BY UPPER(t.ticketStatus)")
+	    List<Object[]> countTicketsByStatus();
  
 	    // Custom query to get average response time by manager ID
 	    @Query("SELECT t.employeeId, e.employeeManagerId, AVG(TIMESTAMPDIFF(SECOND, t.ticketRaiseDate, t.responseTime)) AS avgResponseTime " +
@@ -114,6 +218,23 @@ public interface TicketRepository extends JpaRepository<Ticket, Integer> {
 
 		List<Ticket> findByCustomer_CustomerIdAndTicketTypeAndTicketStatusIn(Integer customerId, String ticketType, List<String> ticketStatus);
 
+		// (customer, ticket type) pairs with an OPEN or PENDING ticket, loaded into the open ticket registry
+		@Query("SELECT DISTINCT t.customer.customerId, t.ticketType FROM Ticket t WHERE UPPER(t.ticketStatus) IN ('OPEN', 'PENDING')")
+		List<Object[]> findActiveTicketKeys();
+
+		// Whether the customer has an OPEN or PENDING ticket of the type, confirming a key held by the registry
+		@Query("SELECT COUNT(t) > 0 FROM Ticket t WHERE t.customer.customerId = :customerId " +
+		       "AND t.ticketType = :ticketType AND UPPER(t.ticketStatus) IN ('OPEN', 'PENDING')")
+		boolean existsActiveTicket(@Param("customerId") int customerId, @Param("ticketType") String ticketType);
+
+		// Workload of every 'Employee' designation in one grouped pass, used to build the assignment index
+		@Query(EMPLOYEE_WORKLOAD_SELECT + "GROUP BY e.employeeId, e.employeeDept")
+		List<EmployeeWorkloadProjection> findEmployeeWorkloads();
+
+		// Workload of the 'Employee' designation staff of one department, used for assignment and reassignment
+		@Query(EMPLOYEE_WORKLOAD_SELECT + "AND e.employeeDept = :department GROUP BY e.employeeId, e.employeeDept")
+		List<EmployeeWorkloadProjection> findEmployeeWorkloadsByDept(@Param("department") String department);
+
 		// Query to get the count of tickets for employees under a specific manager
 		@Query("SELECT COUNT(t) FROM Ticket t WHERE t.employeeId IN (SELECT e.employeeId FROM Employee e WHERE e.employeeManagerId = :managerId)")
 		long countTicketsByManagerId(int managerId);
@@ -0,0 +1,78 @@
+package com.example.demo.repo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.demo.model.Customer;
+import com.example.demo.model.Ticket;
+import com.example.demo.model.TicketSearchCriteria;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * TicketSpecifications Class
+ * Builds the JPA Specifications of the ticket search. Filters are plain equality and range predicates so they
+ * can use the composite indexes in db/02_ticket_search_indexes.sql.
+ *
+ * @author Srihari.P
+ */
+
+public final class TicketSpecifications {
+
+    private TicketSpecifications() {
+    }
+
+    /**
+     * Matches the criteria and, if afterId is positive, only tickets with a greater ID. For row queries the
+     * customer is fetched in the same statement; the count query joins it only when filtering on it.
+     */
+
+    @SuppressWarnings("unchecked")
+    public static Specification<Ticket> matching(TicketSearchCriteria criteria, int afterId) {
+        return (root, query, builder) -> {
+            boolean countQuery = Long.class.equals(query.getResultType()) || long.class.equals(query.getResultType());
+            boolean customerFilter = criteria.customerCity() != null || criteria.customerState() != null;
+
+            Join<Ticket, Customer> customer = null;
+            if (!countQuery) {
+                customer = (Join<Ticket, Customer>) root.<Ticket, Customer>fetch("customer", JoinType.INNER);
+            } else if (customerFilter) {
+                customer = root.join("customer", JoinType.INNER);
+            }
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (afterId > 0) {
+                predicates.add(builder.greaterThan(root.get("ticketId"), afterId));
+            }
+            if (criteria.ticketStatus() != null) {
+                predicates.add(builder.equal(root.get("ticketStatus"), criteria.ticketStatus()));
+            }
+            if (criteria.ticketType() != null) {
+                predicates.add(builder.equal(root.get("ticketType"), criteria.ticketType()));
+            }
+            if (criteria.ticketPriority() != null) {
+                predicates.add(builder.equal(root.get("ticketPriority"), criteria.ticketPriority()));
+            }
+            if (criteria.employeeId() != null) {
+                predicates.add(builder.equal(root.get("employeeId"), criteria.employeeId()));
+            }
+            if (criteria.customerState() != null) {
+                predicates.add(builder.equal(customer.get("customerState"), criteria.customerState()));
+            }
+            if (criteria.customerCity() != null) {
+                predicates.add(builder.equal(customer.get("customerCity"), criteria.customerCity()));
+            }
+            if (criteria.raisedFrom() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("ticketRaiseDate"), criteria.raisedFrom()));
+            }
+            if (criteria.raisedTo() != null) {
+                predicates.add(builder.lessThan(root.get("ticketRaiseDate"), criteria.raisedTo()));
+            }
+            return builder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
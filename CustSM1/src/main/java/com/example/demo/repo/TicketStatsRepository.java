@@ -0,0 +1,207 @@
+package com.example.demo.repo;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.model.TicketStatsKey;
+
+/**
+ * TicketStatsRepository Class
+ * Reads and writes the TICKET_STATS_DAILY rollup (db/05_ticket_stats_daily.sql). The analytics queries read
+ * the rollup, so their cost follows the number of groups rather than the number of tickets.
+ * Runs on the connection of the current transaction.
+ *
+ * @author Srihari.P
+ */
+
+@Repository
+public class TicketStatsRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String FIND_TICKET_ORIGINS = "SELECT t.TICKET_ID, DATE(t.TICKET_RAISEDATE), "
+            + "c.CUSTOMER_STATE, c.CUSTOMER_CITY FROM TICKET t JOIN CUSTOMER c ON c.CUSTOMER_ID = t.CUSTOMER_ID "
+            + "WHERE t.TICKET_ID IN (:ticketIds)";
+
+    private static final String FIND_EMPLOYEE_DEPTS = "SELECT EMPLOYEE_ID, EMPLOYEE_DEPT FROM EMPLOYEE "
+            + "WHERE EMPLOYEE_ID IN (:employeeIds)";
+
+    // The groups of one customer's or one employee's tickets, as TicketStatsKey.of would key them
+    private static final String FIND_TICKET_GROUPS = "SELECT DATE(t.TICKET_RAISEDATE), c.CUSTOMER_STATE, "
+            + "c.CUSTOMER_CITY, e.EMPLOYEE_DEPT, t.TICKET_TYPE, t.TICKET_PRIORITY, t.TICKET_STATUS, COUNT(*) "
+            + "FROM TICKET t JOIN CUSTOMER c ON c.CUSTOMER_ID = t.CUSTOMER_ID "
+            + "LEFT JOIN EMPLOYEE e ON e.EMPLOYEE_ID = t.EMPLOYEE_ID "
+            + "WHERE t.TICKET_RAISEDATE IS NOT NULL AND ";
+
+    private static final String GROUP_TICKET_GROUPS = " GROUP BY 1, 2, 3, 4, 5, 6, 7";
+
+    private static final String ADD_TO_GROUP = "INSERT INTO TICKET_STATS_DAILY (STAT_DATE, CUSTOMER_STATE, "
+            + "CUSTOMER_CITY, EMPLOYEE_DEPT, TICKET_TYPE, TICKET_PRIORITY, TICKET_STATUS, TICKET_COUNT) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE TICKET_COUNT = TICKET_COUNT + VALUES(TICKET_COUNT)";
+
+    private static final String DELETE_DAYS = "DELETE FROM TICKET_STATS_DAILY WHERE STAT_DATE BETWEEN ? AND ?";
+
+    private static final String DELETE_ALL = "DELETE FROM TICKET_STATS_DAILY";
+
+    // Same grouping as TicketStatsKey.of; tickets without an employee department are grouped under ''
+    private static final String BACKFILL = "INSERT INTO TICKET_STATS_DAILY (STAT_DATE, CUSTOMER_STATE, "
+            + "CUSTOMER_CITY, EMPLOYEE_DEPT, TICKET_TYPE, TICKET_PRIORITY, TICKET_STATUS, TICKET_COUNT) "
+            + "SELECT DATE(t.TICKET_RAISEDATE), COALESCE(c.CUSTOMER_STATE, ''), COALESCE(c.CUSTOMER_CITY, ''), "
+            + "COALESCE(e.EMPLOYEE_DEPT, ''), COALESCE(t.TICKET_TYPE, ''), UPPER(COALESCE(t.TICKET_PRIORITY, '')), "
+            + "UPPER(COALESCE(t.TICKET_STATUS, '')), COUNT(*) "
+            + "FROM TICKET t JOIN CUSTOMER c ON c.CUSTOMER_ID = t.CUSTOMER_ID "
+            + "LEFT JOIN EMPLOYEE e ON e.EMPLOYEE_ID = t.EMPLOYEE_ID "
+            + "WHERE t.TICKET_RAISEDATE IS NOT NULL ";
+
+    private static final String GROUP_BACKFILL = "GROUP BY 1, 2, 3, 4, 5, 6, 7";
+
+    private static final String COUNT_BY_STATE = "SELECT NULLIF(CUSTOMER_STATE, ''), SUM(TICKET_COUNT) "
+            + "FROM TICKET_STATS_DAILY GROUP BY CUSTOMER_STATE HAVING SUM(TICKET_COUNT) > 0";
+
+    private static final String COUNT_BY_CITY = "SELECT NULLIF(CUSTOMER_CITY, ''), SUM(TICKET_COUNT) "
+            + "FROM TICKET_STATS_DAILY GROUP BY CUSTOMER_CITY HAVING SUM(TICKET_COUNT) > 0";
+
+    // Unassigned tickets have no department and are left out, as the former join with EMPLOYEE did
+    private static final String COUNT_BY_DEPT = "SELECT EMPLOYEE_DEPT, SUM(TICKET_COUNT) FROM TICKET_STATS_DAILY "
+            + "WHERE EMPLOYEE_DEPT <> '' GROUP BY EMPLOYEE_DEPT HAVING SUM(TICKET_COUNT) > 0";
+
+    private static final String ANY_ROW = "SELECT COUNT(*) FROM (SELECT 1 FROM TICKET_STATS_DAILY LIMIT 1) s";
+
+    /**
+     * Where a ticket's rollup groups come from, apart from the fields it carries itself: its raise date and
+     * its customer's state and city.
+     */
+
+    public record TicketOrigin(LocalDate raiseDate, String customerState, String customerCity) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public TicketStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public Map<Integer, TicketOrigin> findTicketOrigins(Collection<Integer> ticketIds) {
+        Map<Integer, TicketOrigin> origins = new HashMap<>();
+        namedJdbcTemplate.query(FIND_TICKET_ORIGINS, new MapSqlParameterSource("ticketIds", ticketIds),
+                resultSet -> {
+                    Date raiseDate = resultSet.getDate(2);
+                    origins.put(resultSet.getInt(1), new TicketOrigin(raiseDate != null ? raiseDate.toLocalDate() : null,
+                            resultSet.getString(3), resultSet.getString(4)));
+                });
+        return origins;
+    }
+
+    public Map<Integer, String> findEmployeeDepartments(Collection<Integer> employeeIds) {
+        Map<Integer, String> departments = new HashMap<>();
+        namedJdbcTemplate.query(FIND_EMPLOYEE_DEPTS, new MapSqlParameterSource("employeeIds", employeeIds),
+                resultSet -> {
+                    departments.put(resultSet.getInt(1), resultSet.getString(2));
+                });
+        return departments;
+    }
+
+    /**
+     * Returns the number of tickets of the customer in each of their groups.
+     */
+
+    public Map<TicketStatsKey, Integer> findCustomerTicketGroups(int customerId) {
+        return findTicketGroups("t.CUSTOMER_ID = ?", customerId);
+    }
+
+    /**
+     * Returns the number of tickets assigned to the employee in each of their groups.
+     */
+
+    public Map<TicketStatsKey, Integer> findEmployeeTicketGroups(int employeeId) {
+        return findTicketGroups("t.EMPLOYEE_ID = ?", employeeId);
+    }
+
+    private Map<TicketStatsKey, Integer> findTicketGroups(String condition, int id) {
+        Map<TicketStatsKey, Integer> groups = new HashMap<>();
+        jdbcTemplate.query(FIND_TICKET_GROUPS + condition + GROUP_TICKET_GROUPS, resultSet -> {
+            TicketStatsKey key = TicketStatsKey.of(resultSet.getDate(1).toLocalDate(), resultSet.getString(2),
+                    resultSet.getString(3), resultSet.getString(4), resultSet.getString(5), resultSet.getString(6),
+                    resultSet.getString(7));
+            // Priorities and statuses that differ only in case share a group
+            groups.merge(key, resultSet.getInt(8), Integer::sum);
+        }, id);
+        return groups;
+    }
+
+    /**
+     * Adds each delta to the count of its group, creating groups that do not exist yet, in batches of
+     * {@value #BATCH_SIZE}.
+     */
+
+    public void addToGroups(Map<TicketStatsKey, Integer> deltas) {
+        List<Map.Entry<TicketStatsKey, Integer>> entries = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.batchUpdate(ADD_TO_GROUP, entries, BATCH_SIZE, (statement, entry) -> {
+            TicketStatsKey key = entry.getKey();
+            statement.setDate(1, Date.valueOf(key.statDate()));
+            statement.setString(2, key.customerState());
+            statement.setString(3, key.customerCity());
+            statement.setString(4, key.employeeDept());
+            statement.setString(5, key.ticketType());
+            statement.setString(6, key.ticketPriority());
+            statement.setString(7, key.ticketStatus());
+            statement.setInt(8, entry.getValue());
+        });
+    }
+
+    /**
+     * Recomputes the rollup for the tickets raised from one day to another, both included, and returns the
+     * number of groups written.
+     */
+
+    @Transactional
+    public int backfill(LocalDate from, LocalDate to) {
+        jdbcTemplate.update(DELETE_DAYS, Date.valueOf(from), Date.valueOf(to));
+        return jdbcTemplate.update(BACKFILL + "AND t.TICKET_RAISEDATE >= ? AND t.TICKET_RAISEDATE < ? " + GROUP_BACKFILL,
+                Date.valueOf(from), Date.valueOf(to.plusDays(1)));
+    }
+
+    /**
+     * Recomputes the whole rollup and returns the number of groups written.
+     */
+
+    @Transactional
+    public int backfillAll() {
+        jdbcTemplate.update(DELETE_ALL);
+        return jdbcTemplate.update(BACKFILL + GROUP_BACKFILL);
+    }
+
+    public boolean isEmpty() {
+        Integer rows = jdbcTemplate.queryForObject(ANY_ROW, Integer.class);
+        return rows == null || rows == 0;
+    }
+
+    public List<Object[]> countByState() {
+        return countBy(COUNT_BY_STATE);
+    }
+
+    public List<Object[]> countByCity() {
+        return countBy(COUNT_BY_CITY);
+    }
+
+    public List<Object[]> countByDept() {
+        return countBy(COUNT_BY_DEPT);
+    }
+
+    private List<Object[]> countBy(String query) {
+        return jdbcTemplate.query(query, (resultSet, row) -> new Object[]{resultSet.getString(1), resultSet.getLong(2)});
+    }
+}
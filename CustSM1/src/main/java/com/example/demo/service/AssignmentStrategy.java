@@ -0,0 +1,35 @@
+package com.example.demo.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.example.demo.model.EmployeeWorkload;
+
+/**
+ * AssignmentStrategy Interface
+ * Chooses the employee a ticket is assigned to from the workloads of a department. Implementations are
+ * Spring beans looked up by {@link #getName()} from the ticket.assignment configuration, and must be safe to
+ * call from concurrent requests.
+ *
+ * @author Srihari.P
+ */
+public interface AssignmentStrategy {
+
+    /**
+     * Name used to select this strategy in configuration.
+     */
+    String getName();
+
+    /**
+     * Picks one of the candidates, ordered by employee ID, or returns empty if none can take the ticket.
+     */
+    Optional<EmployeeWorkload> select(String department, List<EmployeeWorkload> candidates);
+
+    /**
+     * Picks the employee for one ticket straight from the workload index. The default reads the department's
+     * candidates and calls {@link #select}; strategies backed by an index structure override it.
+     */
+    default Optional<EmployeeWorkload> selectFromIndex(String department, EmployeeWorkloadIndex workloadIndex) {
+        return select(department, workloadIndex.getDepartmentWorkloads(department));
+    }
+}
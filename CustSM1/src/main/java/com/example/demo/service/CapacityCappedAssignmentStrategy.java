@@ -0,0 +1,56 @@
+package com.example.demo.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.config.AssignmentProperties;
+import com.example.demo.model.EmployeeWorkload;
+
+/**
+ * CapacityCappedAssignmentStrategy Class
+ * Applies the least-loaded rules only to employees whose OPEN and PENDING tickets are below the configured
+ * capacity. When the whole department is at capacity the ticket still goes to the least loaded employee
+ * and a warning is logged, so that no ticket is left unassigned.
+ *
+ * @author Srihari.P
+ */
+
+@Component
+public class CapacityCappedAssignmentStrategy implements AssignmentStrategy {
+
+    public static final String NAME = "capacity-capped";
+
+    private final AssignmentProperties assignmentProperties;
+    private final LeastLoadedAssignmentStrategy leastLoadedStrategy;
+
+    public CapacityCappedAssignmentStrategy(AssignmentProperties assignmentProperties,
+            LeastLoadedAssignmentStrategy leastLoadedStrategy) {
+        this.assignmentProperties = assignmentProperties;
+        this.leastLoadedStrategy = leastLoadedStrategy;
+    }
+
+    private static final Logger logger = Logger.getLogger(CapacityCappedAssignmentStrategy.class);
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Optional<EmployeeWorkload> select(String department, List<EmployeeWorkload> candidates) {
+        int capacity = assignmentProperties.getCapacity();
+        List<EmployeeWorkload> withCapacity = candidates.stream()
+                .filter(workload -> workload.openTickets() + workload.pendingTickets() < capacity)
+                .toList();
+
+        if (withCapacity.isEmpty() && !candidates.isEmpty()) {
+            logger.warn("All employees of department " + department + " are at capacity " + capacity
+                    + ", assigning to the least loaded employee");
+            return leastLoadedStrategy.select(department, candidates);
+        }
+        return leastLoadedStrategy.select(department, withCapacity);
+    }
+}
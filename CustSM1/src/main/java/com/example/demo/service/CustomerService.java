@@ -31,12 +31,15 @@ public class CustomerService {
     private final BCryptPasswordEncoder bencoder;
     private final EmailService emailService;
     private  final OtpService otpService;
+    private final TicketDailyStats ticketDailyStats;
 
-    public CustomerService(CustomerRepository customerRepository, BCryptPasswordEncoder bencoder,EmailService emailService,OtpService otpService) {
+    public CustomerService(CustomerRepository customerRepository, BCryptPasswordEncoder bencoder,EmailService emailService,OtpService otpService,
+            TicketDailyStats ticketDailyStats) {
         this.customerRepository = customerRepository;
 		this.bencoder = bencoder;
 		this.emailService = emailService;
 		this.otpService = otpService;
+		this.ticketDailyStats = ticketDailyStats;
     }
     
     private static Logger logger = Logger.getLogger(CustomerService.class);
@@ -123,11 +126,15 @@ public class CustomerService {
     }
 
     /**
-     * Updates an existing customer's information in the database.
+     * Updates an existing customer's information in the database. A move to another state or city also moves
+     * the customer's tickets in the statistics rollup.
      */
     
     public void updateCustomer(Customer customer) {
         logger.info("Updating customer: " + customer.getCustomerId());
+        customerRepository.findById(customer.getCustomerId()).ifPresent(former ->
+                ticketDailyStats.moveCustomerTickets(customer.getCustomerId(), former.getCustomerState(),
+                        former.getCustomerCity(), customer.getCustomerState(), customer.getCustomerCity()));
         customerRepository.save(customer);
         logger.info("Customer updated successfully: " + customer.getCustomerId());
     }
@@ -0,0 +1,92 @@
+package com.example.demo.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.config.DashboardProperties;
+import com.example.demo.model.Constants;
+import com.example.demo.model.DashboardSummary;
+import com.example.demo.repo.CustomerRepository;
+import com.example.demo.repo.EmployeeRepository;
+
+/**
+ * DashboardService Class
+ * Builds the admin dashboard summary in one call instead of one request per count. Ticket counts come from
+ * {@link TicketStatusCounters}; customers and staff take one query each, staff grouped by designation. The
+ * summary is kept for dashboard.summary-ttl, and concurrent requests for an expired summary compute it once.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class DashboardService {
+
+    private static final Logger logger = Logger.getLogger(DashboardService.class);
+
+    private final TicketStatusCounters statusCounters;
+    private final CustomerRepository customerRepository;
+    private final EmployeeRepository employeeRepository;
+    private final DashboardProperties dashboardProperties;
+
+    private volatile DashboardSummary summary;
+
+    public DashboardService(TicketStatusCounters statusCounters, CustomerRepository customerRepository,
+            EmployeeRepository employeeRepository, DashboardProperties dashboardProperties) {
+        this.statusCounters = statusCounters;
+        this.customerRepository = customerRepository;
+        this.employeeRepository = employeeRepository;
+        this.dashboardProperties = dashboardProperties;
+    }
+
+    /**
+     * Returns the cached summary, computing a new one if it is older than the configured time.
+     */
+
+    public DashboardSummary getSummary() {
+        DashboardSummary current = summary;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (this) {
+            // Another request may have computed it while this one waited
+            if (isFresh(summary)) {
+                return summary;
+            }
+            summary = computeSummary();
+            return summary;
+        }
+    }
+
+    private boolean isFresh(DashboardSummary current) {
+        Duration ttl = dashboardProperties.getSummaryTtl();
+        return current != null && current.generatedAt().plus(ttl).isAfter(LocalDateTime.now());
+    }
+
+    private DashboardSummary computeSummary() {
+        Map<String, Long> tickets = statusCounters.getCounts();
+        long totalTickets = tickets.values().stream().mapToLong(Long::longValue).sum();
+
+        Map<String, Long> staff = new HashMap<>();
+        for (Object[] row : employeeRepository.countByDesignation()) {
+            staff.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        long customers = customerRepository.countAllCustomers();
+        logger.debug("Dashboard summary computed");
+
+        return new DashboardSummary(
+                tickets.getOrDefault(Constants.OPEN, 0L),
+                tickets.getOrDefault(Constants.PENDING, 0L),
+                tickets.getOrDefault(Constants.CLOSED, 0L),
+                totalTickets,
+                customers,
+                staff.getOrDefault("employee", 0L),
+                staff.getOrDefault("manager", 0L),
+                staff.getOrDefault("admin", 0L),
+                LocalDateTime.now());
+    }
+}
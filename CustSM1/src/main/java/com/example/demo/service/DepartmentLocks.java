@@ -0,0 +1,71 @@
+package com.example.demo.service;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.example.demo.config.AssignmentProperties;
+
+/**
+ * DepartmentLocks Class
+ * Striped locks that serialize the read-decide-write window of ticket assignment per department: reading the
+ * workloads, choosing an employee, saving the ticket and updating the workload index. Two assignments in the
+ * same department therefore never decide on the same counts, while departments on different stripes proceed
+ * in parallel. Several departments are locked in stripe order, so batch and single assignments cannot deadlock.
+ *
+ * @author Srihari.P
+ */
+
+@Component
+public class DepartmentLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public DepartmentLocks(AssignmentProperties assignmentProperties) {
+        stripes = new ReentrantLock[Math.max(1, assignmentProperties.getLockStripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs the action while holding the lock of the given department.
+     */
+
+    public <T> T withLock(String department, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeOf(department)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the action while holding the locks of all the given departments.
+     */
+
+    public <T> T withLocks(Collection<String> departments, Supplier<T> action) {
+        int[] held = departments.stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+        int locked = 0;
+        try {
+            for (int stripe : held) {
+                stripes[stripe].lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[held[i]].unlock();
+            }
+        }
+    }
+
+    int stripeOf(String department) {
+        return Math.floorMod(Objects.hashCode(department), stripes.length);
+    }
+}
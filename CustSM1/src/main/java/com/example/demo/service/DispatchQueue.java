@@ -0,0 +1,196 @@
+package com.example.demo.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.example.demo.model.DispatchQueueEntry;
+import com.example.demo.model.EmployeeWorkload;
+
+/**
+ * DispatchQueue Class
+ * Indexed binary min-heap of the assignable employees of one department, ordered by active (OPEN and
+ * PENDING) tickets, then total tickets, then LOW priority tickets, then the order in which employees were
+ * last assigned a ticket. The head is read and rotated in O(log n), and an employee whose workload changes is
+ * moved to their new place in O(log n) through the position kept for every employee.
+ * Workloads are read from the map owned by {@link EmployeeWorkloadIndex}; all methods lock the queue.
+ *
+ * @author Srihari.P
+ */
+class DispatchQueue {
+
+    /**
+     * Workload part of the dispatch order, used where only workloads are at hand (batch snapshots).
+     */
+    static final Comparator<EmployeeWorkload> BY_WORKLOAD = Comparator
+            .comparingInt(DispatchQueue::activeTickets)
+            .thenComparingInt(EmployeeWorkload::totalTickets)
+            .thenComparingInt(EmployeeWorkload::lowPriorityTickets);
+
+    private static final Comparator<Node> DISPATCH_ORDER = Comparator
+            .comparing((Node node) -> node.workload, BY_WORKLOAD)
+            .thenComparingLong(node -> node.assignedSequence)
+            .thenComparingInt(node -> node.employeeId);
+
+    private static final class Node {
+        private final int employeeId;
+        private EmployeeWorkload workload;
+        private long assignedSequence;
+        private LocalDateTime lastAssignedAt;
+        private int position;
+
+        private Node(EmployeeWorkload workload) {
+            this.employeeId = workload.employeeId();
+            this.workload = workload;
+        }
+    }
+
+    private final Map<Integer, EmployeeWorkload> workloads;
+
+    private final List<Node> heap = new ArrayList<>();
+
+    private final Map<Integer, Node> nodes = new HashMap<>();
+
+    private long sequence = 0;
+
+    DispatchQueue(Map<Integer, EmployeeWorkload> workloads, Collection<Integer> members) {
+        this.workloads = workloads;
+        for (Integer employeeId : members) {
+            EmployeeWorkload workload = workloads.get(employeeId);
+            if (workload != null) {
+                Node node = new Node(workload);
+                node.position = heap.size();
+                heap.add(node);
+                nodes.put(employeeId, node);
+            }
+        }
+        // Bottom-up heapify, O(n)
+        for (int i = heap.size() / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Returns the employee at the head of the queue and moves them behind every employee with the same
+     * workload, so concurrent submissions are spread before their tickets are saved.
+     */
+
+    synchronized Optional<EmployeeWorkload> dispatch() {
+        if (heap.isEmpty()) {
+            return Optional.empty();
+        }
+        Node head = heap.get(0);
+        markAssigned(head);
+        siftDown(0);
+        return Optional.of(head.workload);
+    }
+
+    /**
+     * Re-reads the employee's workload and restores the heap order around them.
+     */
+
+    synchronized void refresh(int employeeId) {
+        Node node = nodes.get(employeeId);
+        EmployeeWorkload workload = workloads.get(employeeId);
+        if (node == null || workload == null) {
+            return;
+        }
+        node.workload = workload;
+        fix(node.position);
+    }
+
+    /**
+     * Records that the employee was just given a ticket, placing them behind employees with the same workload.
+     */
+
+    synchronized void assigned(int employeeId) {
+        Node node = nodes.get(employeeId);
+        if (node != null) {
+            markAssigned(node);
+            fix(node.position);
+        }
+    }
+
+    synchronized int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns the whole queue in dispatch order. This sorts a copy, O(n log n), and is meant for monitoring.
+     */
+
+    synchronized List<DispatchQueueEntry> snapshot() {
+        List<Node> ordered = new ArrayList<>(heap);
+        ordered.sort(DISPATCH_ORDER);
+        List<DispatchQueueEntry> entries = new ArrayList<>(ordered.size());
+        for (Node node : ordered) {
+            EmployeeWorkload workload = node.workload;
+            entries.add(new DispatchQueueEntry(entries.size() + 1, node.employeeId, activeTickets(workload),
+                    workload.openTickets(), workload.pendingTickets(), workload.totalTickets(),
+                    workload.lowPriorityTickets(), node.lastAssignedAt));
+        }
+        return entries;
+    }
+
+    private void markAssigned(Node node) {
+        node.assignedSequence = ++sequence;
+        node.lastAssignedAt = LocalDateTime.now();
+    }
+
+    private void fix(int position) {
+        if (position > 0 && DISPATCH_ORDER.compare(heap.get(position), heap.get((position - 1) / 2)) < 0) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (DISPATCH_ORDER.compare(heap.get(position), heap.get(parent)) >= 0) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        int size = heap.size();
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && DISPATCH_ORDER.compare(heap.get(left), heap.get(smallest)) < 0) {
+                smallest = left;
+            }
+            if (right < size && DISPATCH_ORDER.compare(heap.get(right), heap.get(smallest)) < 0) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Node first = heap.get(i);
+        Node second = heap.get(j);
+        heap.set(i, second);
+        heap.set(j, first);
+        second.position = i;
+        first.position = j;
+    }
+
+    private static int activeTickets(EmployeeWorkload workload) {
+        return workload.openTickets() + workload.pendingTickets();
+    }
+}
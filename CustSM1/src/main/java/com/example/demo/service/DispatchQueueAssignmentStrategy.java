@@ -0,0 +1,39 @@
+package com.example.demo.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import com.example.demo.model.EmployeeWorkload;
+
+/**
+ * DispatchQueueAssignmentStrategy Class
+ * Takes the head of the department's dispatch queue kept by the workload index: the employee with the fewest
+ * OPEN and PENDING tickets, then the fewest total tickets, then the fewest LOW priority tickets, and among
+ * equals the one assigned longest ago. A single assignment costs O(log n) in the size of the department.
+ *
+ * @author Srihari.P
+ */
+
+@Component
+public class DispatchQueueAssignmentStrategy implements AssignmentStrategy {
+
+    public static final String NAME = "dispatch-queue";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Optional<EmployeeWorkload> select(String department, List<EmployeeWorkload> candidates) {
+        // Batch snapshots carry their own counts, so only the workload part of the queue order applies
+        return candidates.stream().min(DispatchQueue.BY_WORKLOAD);
+    }
+
+    @Override
+    public Optional<EmployeeWorkload> selectFromIndex(String department, EmployeeWorkloadIndex workloadIndex) {
+        return workloadIndex.dispatch(department);
+    }
+}
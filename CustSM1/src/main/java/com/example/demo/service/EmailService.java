@@ -1,11 +1,14 @@
 package com.example.demo.service;
  
+import java.util.List;
+
 import org.apache.log4j.Logger;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import com.example.demo.exceptions.OtpEmailSendingException;
+import com.example.demo.model.TicketUpdateNotice;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -113,4 +116,39 @@ public class EmailService {
         logger.debug("Email body constructed, attempting to send");
         return sendEmail(customerEmail, subject, body.toString());
     }
+    
+    /**
+     * Sends one email telling the customer about several of their tickets changed together, e.g. by a bulk
+     * update after an incident.
+     */
+    
+    public String sendTicketsUpdateEmail(String toEmail, List<TicketUpdateNotice> notices) {
+        String subject = notices.size() == 1
+                ? "Update on Your Ticket #" + notices.get(0).ticketId()
+                : "Update on " + notices.size() + " of Your Tickets";
+        StringBuilder body = new StringBuilder();
+        body.append("Dear Customer,\n\n");
+        body.append("The following tickets have been updated:\n");
+        
+        for (TicketUpdateNotice notice : notices) {
+            body.append("\nTicket #").append(notice.ticketId()).append(":\n");
+            if (notice.previousStatus() != null) {
+                body.append(" - Status changed from '").append(notice.previousStatus()).append(str).append(notice.ticketStatus()).append("'\n");
+            }
+            if (notice.previousPriority() != null) {
+                body.append(" - Ticket Priority changed from '").append(notice.previousPriority()).append(str).append(notice.ticketPriority()).append("'\n");
+            }
+            if (notice.employeeComment() != null) {
+                body.append(" - Employee Comments: ").append(notice.employeeComment()).append("\n");
+            }
+            if (notice.isClosed()) {
+                body.append(" - Please provide your feedback on the ticket.\n");
+            }
+        }
+        
+        body.append("\nThank you for your patience.\n");
+        logger.debug("Email body constructed, attempting to send");
+        
+        return sendEmail(toEmail, subject, body.toString());
+    }
 }
@@ -33,13 +33,18 @@ public class EmployeeService implements UserDetailsService{
     private final EmailService emailService;
     private final OtpService otpService;
     private EmployeeRepository employeeRepository;
+    private final EmployeeWorkloadIndex workloadIndex;
+    private final TicketDailyStats ticketDailyStats;
 	 
     public EmployeeService(PasswordEncoder encoder,
-	    		EmailService emailService, OtpService otpService, EmployeeRepository employeeRepository) {
+	    		EmailService emailService, OtpService otpService, EmployeeRepository employeeRepository,
+	    		EmployeeWorkloadIndex workloadIndex, TicketDailyStats ticketDailyStats) {
         this.encoder = encoder;
 		this.emailService = emailService;
 		this.otpService = otpService;
 		this.employeeRepository = employeeRepository;
+		this.workloadIndex = workloadIndex;
+		this.ticketDailyStats = ticketDailyStats;
     }
 	
     private static Logger logger = Logger.getLogger(EmployeeService.class);
@@ -122,6 +127,7 @@ public class EmployeeService implements UserDetailsService{
 	
 	/**
 	 * Adds a new employee to the system, encodes their password, and sends a welcome email with credentials.
+	 * The employee's department starts assigning them tickets once the employee is committed.
 	 */
 	
 	public String addEmployee (Employee employee) {
@@ -131,6 +137,7 @@ public class EmployeeService implements UserDetailsService{
 	    
 		employee.setEmployeePassword(encoder.encode(originalPassword));
 		employeeRepository.save(employee);
+		workloadIndex.reloadDepartmentsAfterCommit(employee.getEmployeeDept());
 
        String subject = "Welcome to the Company - Your Credentials";
        String body = "Dear " + employee.getEmployeeFirstName() + ",\n\n"
@@ -161,21 +168,33 @@ public class EmployeeService implements UserDetailsService{
     }
 	
 	/**
-	 * Updates the details of an existing employee in the system.
+	 * Updates the details of an existing employee in the system. A change of department or designation
+	 * applies to ticket assignment once the update is committed.
 	 */
 	
 	public void updateEmployee (Employee employee) {
 		logger.info("Updating employee: " + employee.getEmployeeEmail());
+		String formerDept = employeeRepository.findById(employee.getEmployeeId())
+				.map(Employee::getEmployeeDept)
+				.orElse(null);
 		employeeRepository.save(employee);
+		ticketDailyStats.moveEmployeeTickets(employee.getEmployeeId(), formerDept, employee.getEmployeeDept());
+		workloadIndex.reloadDepartmentsAfterCommit(formerDept, employee.getEmployeeDept());
 	}
 	
 	/**
-	 * Deletes an employee based on their employee ID.
+	 * Deletes an employee based on their employee ID. The employee stops receiving tickets once the delete
+	 * is committed.
 	 */
 	
 	public void deleteEmployee (int empno) {
 		logger.info("Deleting employee with ID: " + empno);
+		String formerDept = employeeRepository.findById(empno)
+				.map(Employee::getEmployeeDept)
+				.orElse(null);
+		ticketDailyStats.moveEmployeeTickets(empno, formerDept, null);
 		employeeRepository.deleteById(empno);
+		workloadIndex.reloadDepartmentsAfterCommit(formerDept);
 	}
 
     /**
@@ -0,0 +1,457 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.model.DispatchQueueEntry;
+import com.example.demo.model.EmployeeWorkload;
+import com.example.demo.model.TicketState;
+import com.example.demo.repo.EmployeeWorkloadProjection;
+import com.example.demo.repo.TicketRepository;
+
+/**
+ * EmployeeWorkloadIndex Class
+ * Keeps the ticket workload of every assignable employee in memory, grouped by department, so that ticket
+ * assignment does not have to count tickets in the database. The index is built from one grouped query at
+ * startup. A department missing from the index (the database was not reachable at startup, or it had no
+ * staff then) is loaded on first use with one grouped query for that department. Loaded departments are
+ * kept current through {@link TicketChangeListener} callbacks from TicketService. Staff changes made through
+ * EmployeeService reload the affected departments once they commit, and the whole index is rebuilt every
+ * ticket.assignment.reload-interval to pick up changes made elsewhere. A reload reads committed tickets only,
+ * so the changes of transactions still in flight are replayed onto what it read, and a rollback later undoes
+ * them there; if a change commits while the database is read, the read is repeated. Each loaded department
+ * also has a {@link DispatchQueue}, so the next employee to assign is found without scanning the department.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class EmployeeWorkloadIndex implements TicketChangeListener {
+
+    private final TicketRepository ticketRepository;
+
+    public EmployeeWorkloadIndex(TicketRepository ticketRepository) {
+        this.ticketRepository = ticketRepository;
+    }
+
+    private static final Logger logger = Logger.getLogger(EmployeeWorkloadIndex.class);
+
+    private volatile Map<Integer, EmployeeWorkload> workloads = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Set<Integer>> departments = new ConcurrentHashMap<>();
+
+    private volatile Map<String, DispatchQueue> queues = new ConcurrentHashMap<>();
+
+    private static final int LOAD_ATTEMPTS = 3;
+
+    /**
+     * A ticket change reported by TicketService.
+     */
+
+    private record TicketChange(TicketState before, TicketState after) {
+    }
+
+    // Changes applied to the index whose transactions have not completed, with how often each was reported
+    private final Map<TicketChange, Integer> inFlight = new ConcurrentHashMap<>();
+
+    // Incremented by every committed change, so a load can tell whether one was committed while it read
+    private final AtomicLong commitSequence = new AtomicLong();
+
+    // Changes share the read lock; a load takes the write lock to install what it read with no change half applied
+    private final ReentrantReadWriteLock changeLock = new ReentrantReadWriteLock();
+
+    /**
+     * Builds the index once the application has started. A database failure is logged and each department
+     * is loaded by its first assignment instead.
+     */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            logger.warn("Workload index could not be loaded at startup, it will be loaded on first use: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from the database with a single grouped query.
+     */
+
+    public synchronized void reload() {
+        loadConsistently(ticketRepository::findEmployeeWorkloads, this::install);
+    }
+
+    private void install(Map<Integer, EmployeeWorkload> freshWorkloads) {
+        Map<String, Set<Integer>> freshDepartments = new ConcurrentHashMap<>();
+        for (EmployeeWorkload workload : freshWorkloads.values()) {
+            if (workload.employeeDept() == null) {
+                continue;
+            }
+            freshDepartments.computeIfAbsent(workload.employeeDept(), dept -> ConcurrentHashMap.newKeySet())
+                    .add(workload.employeeId());
+        }
+        Map<String, DispatchQueue> freshQueues = new ConcurrentHashMap<>();
+        freshDepartments.forEach((dept, members) -> freshQueues.put(dept, new DispatchQueue(freshWorkloads, members)));
+        workloads = freshWorkloads;
+        queues = freshQueues;
+        departments = freshDepartments;
+        logger.info("Workload index loaded for " + freshWorkloads.size() + " employees in "
+                + freshDepartments.size() + " departments");
+    }
+
+    /**
+     * Rebuilds the index every ticket.assignment.reload-interval, for staff changed outside EmployeeService
+     * or by another instance. A database failure keeps the current index until the next run.
+     */
+
+    @Scheduled(fixedDelayString = "${ticket.assignment.reload-interval:PT15M}",
+            initialDelayString = "${ticket.assignment.reload-interval:PT15M}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            logger.warn("Workload index not reloaded, the database is not available: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the given departments once the current transaction commits, or straight away outside a
+     * transaction, so that hired, removed, moved or redesignated employees are assigned accordingly.
+     * Null departments are ignored.
+     */
+
+    public void reloadDepartmentsAfterCommit(String... departmentNames) {
+        Set<String> changed = new TreeSet<>();
+        for (String department : departmentNames) {
+            if (department != null) {
+                changed.add(department);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reloadDepartments(changed);
+                }
+            });
+        } else {
+            reloadDepartments(changed);
+        }
+    }
+
+    private void reloadDepartments(Set<String> changed) {
+        for (String department : changed) {
+            try {
+                reloadDepartment(department);
+            } catch (DataAccessException e) {
+                logger.warn("Workload index not reloaded for department " + department + ", the next scheduled reload will: "
+                        + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Re-reads the assignable employees of one department and their workloads. Employees that left the
+     * department are dropped from it; a department without staff is dropped and loaded again on first use.
+     */
+
+    public synchronized void reloadDepartment(String department) {
+        loadConsistently(() -> ticketRepository.findEmployeeWorkloadsByDept(department),
+                loadedWorkloads -> installDepartment(department, loadedWorkloads));
+    }
+
+    private void installDepartment(String department, Map<Integer, EmployeeWorkload> loadedWorkloads) {
+        Set<Integer> previous = departments.getOrDefault(department, Set.of());
+        for (Integer employeeId : previous) {
+            // An employee moved to a department reloaded first already holds their new entry
+            if (!loadedWorkloads.containsKey(employeeId)) {
+                workloads.computeIfPresent(employeeId,
+                        (id, workload) -> department.equals(workload.employeeDept()) ? null : workload);
+            }
+        }
+        if (loadedWorkloads.isEmpty()) {
+            departments.remove(department);
+            queues.remove(department);
+            logger.info("Workload index dropped department " + department + ", it has no assignable employees");
+            return;
+        }
+
+        // Also removes an employee who moved here from the department they left
+        loadedWorkloads.values().forEach(workload -> {
+            EmployeeWorkload current = workloads.put(workload.employeeId(), workload);
+            if (current != null && current.employeeDept() != null && !current.employeeDept().equals(department)) {
+                Set<Integer> formerMembers = departments.get(current.employeeDept());
+                if (formerMembers != null && formerMembers.remove(workload.employeeId())) {
+                    if (formerMembers.isEmpty()) {
+                        departments.remove(current.employeeDept());
+                        queues.remove(current.employeeDept());
+                    } else {
+                        queues.put(current.employeeDept(), new DispatchQueue(workloads, formerMembers));
+                    }
+                }
+            }
+        });
+        Set<Integer> members = ConcurrentHashMap.newKeySet();
+        members.addAll(loadedWorkloads.keySet());
+        queues.put(department, new DispatchQueue(workloads, members));
+        departments.put(department, members);
+        logger.info("Workload index reloaded " + members.size() + " employees for department " + department);
+    }
+
+    /**
+     * Returns the current workload of every assignable employee in the given department, ordered by employee ID.
+     */
+
+    public List<EmployeeWorkload> getDepartmentWorkloads(String department) {
+        if (department == null) {
+            return List.of();
+        }
+        Set<Integer> members = membersOf(department);
+        Map<Integer, EmployeeWorkload> current = workloads;
+        return members.stream()
+                .map(current::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingInt(EmployeeWorkload::employeeId))
+                .toList();
+    }
+
+    /**
+     * Takes the employee at the head of the department's dispatch queue in O(log n) and rotates them behind
+     * employees with the same workload. Returns empty if the department has no assignable employees.
+     */
+
+    public Optional<EmployeeWorkload> dispatch(String department) {
+        DispatchQueue queue = queueOf(department);
+        return queue == null ? Optional.empty() : queue.dispatch();
+    }
+
+    /**
+     * Returns the department's dispatch queue in the order tickets would be assigned.
+     */
+
+    public List<DispatchQueueEntry> getDispatchQueue(String department) {
+        DispatchQueue queue = queueOf(department);
+        return queue == null ? List.of() : queue.snapshot();
+    }
+
+    /**
+     * Returns the names of the departments currently held in the index.
+     */
+
+    public List<String> getDepartments() {
+        return departments.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * Returns the current workload of one employee, if the employee is assignable and their department is loaded.
+     */
+
+    public Optional<EmployeeWorkload> getWorkload(int employeeId) {
+        return Optional.ofNullable(workloads.get(employeeId));
+    }
+
+    @Override
+    public void onTicketChange(TicketState before, TicketState after) {
+        changeLock.readLock().lock();
+        try {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                inFlight.merge(new TicketChange(before, after), 1, Integer::sum);
+            } else {
+                // Rollback notifications swap before and after, and arrive once the transaction has ended
+                inFlight.computeIfPresent(new TicketChange(after, before), (change, count) -> count > 1 ? count - 1 : null);
+            }
+            // Employees of departments that are not loaded yet are skipped, their first load reads the database
+            if (before != null) {
+                adjust(before, -1);
+            }
+            if (after != null) {
+                adjust(after, 1);
+                if (before == null || before.employeeId() != after.employeeId()) {
+                    DispatchQueue queue = queueOfEmployee(after.employeeId());
+                    if (queue != null) {
+                        queue.assigned(after.employeeId());
+                    }
+                }
+            }
+        } finally {
+            changeLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onTicketCommitted(TicketState before, TicketState after) {
+        changeLock.readLock().lock();
+        try {
+            inFlight.computeIfPresent(new TicketChange(before, after), (change, count) -> count > 1 ? count - 1 : null);
+            commitSequence.incrementAndGet();
+        } finally {
+            changeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compares the loaded departments against a fresh grouped query and returns one entry per employee whose
+     * counts differ, including employees added to or removed from a loaded department.
+     * An empty list means the index is consistent with the database.
+     */
+
+    public List<Map<String, Object>> verifyAgainstDatabase() {
+        Map<Integer, EmployeeWorkload> actual = toWorkloads(ticketRepository.findEmployeeWorkloads());
+        Map<Integer, EmployeeWorkload> indexed = workloads;
+        Set<String> loadedDepartments = departments.keySet();
+
+        Set<Integer> employeeIds = new TreeSet<>(indexed.keySet());
+        actual.values().stream()
+                .filter(workload -> loadedDepartments.contains(workload.employeeDept()))
+                .forEach(workload -> employeeIds.add(workload.employeeId()));
+
+        List<Map<String, Object>> mismatches = new ArrayList<>();
+        for (Integer employeeId : employeeIds) {
+            EmployeeWorkload expected = actual.get(employeeId);
+            EmployeeWorkload found = indexed.get(employeeId);
+            if (!Objects.equals(expected, found)) {
+                Map<String, Object> mismatch = new HashMap<>();
+                mismatch.put("employeeId", employeeId);
+                mismatch.put("database", expected);
+                mismatch.put("index", found);
+                mismatches.add(mismatch);
+            }
+        }
+
+        if (!mismatches.isEmpty()) {
+            logger.warn("Workload index differs from the database for " + mismatches.size() + " employees");
+        }
+        return mismatches;
+    }
+
+    private synchronized Set<Integer> loadDepartment(String department) {
+        Set<Integer> loaded = departments.get(department);
+        if (loaded != null) {
+            return loaded;
+        }
+
+        loadConsistently(() -> ticketRepository.findEmployeeWorkloadsByDept(department), loadedWorkloads -> {
+            // Not cached when empty, so staff added later are picked up by the next assignment
+            if (loadedWorkloads.isEmpty()) {
+                return;
+            }
+            workloads.putAll(loadedWorkloads);
+            Set<Integer> members = ConcurrentHashMap.newKeySet();
+            members.addAll(loadedWorkloads.keySet());
+            queues.put(department, new DispatchQueue(workloads, members));
+            departments.put(department, members);
+            logger.info("Workload index loaded " + members.size() + " employees for department " + department);
+        });
+        return departments.getOrDefault(department, Set.of());
+    }
+
+    /**
+     * Reads workloads from the database and installs them once the changes still in flight are replayed onto
+     * them. The read is repeated if a change was committed meanwhile, since the read may or may not include it;
+     * after the last attempt the workloads are installed anyway and the next reload corrects them.
+     */
+
+    private void loadConsistently(Supplier<List<EmployeeWorkloadProjection>> query,
+            Consumer<Map<Integer, EmployeeWorkload>> install) {
+        for (int attempt = 1; attempt <= LOAD_ATTEMPTS; attempt++) {
+            long sequence = commitSequence.get();
+            Map<Integer, EmployeeWorkload> loadedWorkloads = new ConcurrentHashMap<>(toWorkloads(query.get()));
+            changeLock.writeLock().lock();
+            try {
+                if (commitSequence.get() != sequence) {
+                    if (attempt < LOAD_ATTEMPTS) {
+                        continue;
+                    }
+                    logger.warn("Workload index loaded while tickets kept changing, it may differ from the database"
+                            + " until the next reload");
+                }
+                inFlight.forEach((change, count) -> replay(loadedWorkloads, change, count));
+                install.accept(loadedWorkloads);
+                return;
+            } finally {
+                changeLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static void replay(Map<Integer, EmployeeWorkload> loadedWorkloads, TicketChange change, int count) {
+        for (int i = 0; i < count; i++) {
+            if (change.before() != null) {
+                loadedWorkloads.computeIfPresent(change.before().employeeId(),
+                        (id, workload) -> workload.withTicket(change.before(), -1));
+            }
+            if (change.after() != null) {
+                loadedWorkloads.computeIfPresent(change.after().employeeId(),
+                        (id, workload) -> workload.withTicket(change.after(), 1));
+            }
+        }
+    }
+
+    private Set<Integer> membersOf(String department) {
+        Set<Integer> members = departments.get(department);
+        return members != null ? members : loadDepartment(department);
+    }
+
+    private DispatchQueue queueOf(String department) {
+        if (department == null || membersOf(department).isEmpty()) {
+            return null;
+        }
+        return queues.get(department);
+    }
+
+    private DispatchQueue queueOfEmployee(int employeeId) {
+        EmployeeWorkload workload = workloads.get(employeeId);
+        return workload == null || workload.employeeDept() == null ? null : queues.get(workload.employeeDept());
+    }
+
+    private void adjust(TicketState ticket, int delta) {
+        EmployeeWorkload updated = workloads.computeIfPresent(ticket.employeeId(),
+                (id, workload) -> workload.withTicket(ticket, delta));
+        DispatchQueue queue = updated == null || updated.employeeDept() == null ? null : queues.get(updated.employeeDept());
+        if (queue != null) {
+            // The queue re-reads the latest workload, so concurrent adjustments cannot leave it stale
+            queue.refresh(ticket.employeeId());
+        }
+    }
+
+    private static Map<Integer, EmployeeWorkload> toWorkloads(List<EmployeeWorkloadProjection> rows) {
+        Map<Integer, EmployeeWorkload> result = new HashMap<>();
+        for (EmployeeWorkloadProjection row : rows) {
+            EmployeeWorkload workload = new EmployeeWorkload(row.getEmployeeId(), row.getEmployeeDept(),
+                    toInt(row.getTotalTickets()), toInt(row.getOpenTickets()), toInt(row.getPendingTickets()),
+                    toInt(row.getLowPriorityTickets()), toInt(row.getMediumPriorityTickets()),
+                    toInt(row.getHighPriorityTickets()));
+            result.put(workload.employeeId(), workload);
+        }
+        return result;
+    }
+
+    private static int toInt(Long value) {
+        return value == null ? 0 : value.intValue();
+    }
+}
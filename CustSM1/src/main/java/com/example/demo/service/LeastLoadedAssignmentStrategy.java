@@ -0,0 +1,57 @@
+package com.example.demo.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.example.demo.model.EmployeeWorkload;
+
+/**
+ * LeastLoadedAssignmentStrategy Class
+ * Picks the employee with the least total tickets, then the least OPEN tickets, then the least LOW priority
+ * tickets. Employees that are tied on all three are taken in turn using a per-department cursor.
+ *
+ * @author Srihari.P, Manjunath.AS
+ */
+
+@Component
+public class LeastLoadedAssignmentStrategy implements AssignmentStrategy {
+
+    public static final String NAME = "least-loaded";
+
+    static final Comparator<EmployeeWorkload> LEAST_LOADED = Comparator
+            .comparingInt(EmployeeWorkload::totalTickets)
+            .thenComparingInt(EmployeeWorkload::openTickets)
+            .thenComparingInt(EmployeeWorkload::lowPriorityTickets);
+
+    private final Map<String, AtomicInteger> tieCursors = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Optional<EmployeeWorkload> select(String department, List<EmployeeWorkload> candidates) {
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        EmployeeWorkload minWorkload = candidates.stream().min(LEAST_LOADED).orElseThrow();
+        List<EmployeeWorkload> tied = candidates.stream()
+                .filter(workload -> LEAST_LOADED.compare(workload, minWorkload) == 0)
+                .toList();
+        if (tied.size() == 1) {
+            return Optional.of(minWorkload);
+        }
+
+        // Round-robin between employees with identical workloads
+        int turn = tieCursors.computeIfAbsent(department, dept -> new AtomicInteger()).getAndIncrement();
+        return Optional.of(tied.get(Math.floorMod(turn, tied.size())));
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.demo.service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.model.TicketState;
+import com.example.demo.repo.TicketRepository;
+
+/**
+ * OpenTicketRegistry Class
+ * Holds the (customer, ticket type) keys that currently have an OPEN or PENDING ticket, so duplicate tickets
+ * are rejected without querying the database. Keys are reserved atomically before a ticket is inserted and
+ * kept current through {@link TicketChangeListener} callbacks on close, reopen, type change and delete.
+ * Keys loaded from the database or committed through this instance are trusted. A key that the unique index
+ * over TICKET.OPEN_TICKET_KEY (db/01_ticket_open_key_guard.sql) showed to be held through another instance
+ * is suspect, since that instance may close its ticket without this one hearing of it: only a reservation
+ * of a suspect key asks the database whether it is still held. The unique index remains the final guard
+ * when several application instances accept tickets at the same time.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class OpenTicketRegistry implements TicketChangeListener {
+
+    public static final String OPEN_KEY_INDEX = "UX_TICKET_OPEN_KEY";
+
+    private enum KeyState {
+        // Reserved through this instance, its ticket is not committed yet
+        PENDING,
+        // Loaded from the database or committed through this instance
+        OPEN,
+        // Held through another instance, which may have closed its ticket since
+        SUSPECT
+    }
+
+    private final TicketRepository ticketRepository;
+
+    public OpenTicketRegistry(TicketRepository ticketRepository) {
+        this.ticketRepository = ticketRepository;
+    }
+
+    private static final Logger logger = Logger.getLogger(OpenTicketRegistry.class);
+
+    private volatile Map<String, KeyState> keys = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+
+    /**
+     * Loads the open keys once the application has started, unless a ticket submission has already loaded
+     * them. A database failure is logged and the keys are loaded by the first ticket submission instead.
+     */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            ensureLoaded();
+        } catch (DataAccessException e) {
+            logger.warn("Open ticket registry could not be loaded at startup, it will be loaded on first use: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the registry from the OPEN and PENDING tickets in the database. Keys reserved through this
+     * instance whose tickets are not committed yet are kept.
+     */
+
+    public synchronized void reload() {
+        Map<String, KeyState> freshKeys = new ConcurrentHashMap<>();
+        for (Object[] row : ticketRepository.findActiveTicketKeys()) {
+            freshKeys.put(key((Integer) row[0], (String) row[1]), KeyState.OPEN);
+        }
+        Map<String, KeyState> previousKeys = keys;
+        keys = freshKeys;
+        // Copied after the swap, so a reservation made while the keys were read is carried over too
+        previousKeys.forEach((key, state) -> {
+            if (state == KeyState.PENDING) {
+                freshKeys.put(key, KeyState.PENDING);
+            }
+        });
+        loaded = true;
+        logger.info("Open ticket registry loaded with " + freshKeys.size() + " keys");
+    }
+
+    /**
+     * Reserves the key for a new or reactivated ticket. Returns false if the customer already has an open ticket
+     * of this type, or one is being created through this instance.
+     */
+
+    public boolean reserve(int customerId, String ticketType) {
+        ensureLoaded();
+        String key = key(customerId, ticketType);
+        KeyState state = keys.putIfAbsent(key, KeyState.PENDING);
+        if (state == null) {
+            return true;
+        }
+        if (state != KeyState.SUSPECT || ticketRepository.existsActiveTicket(customerId, ticketType)) {
+            return false;
+        }
+        // Of the callers that found the key released, only the one that swaps it from suspect takes it over
+        if (keys.replace(key, KeyState.SUSPECT, KeyState.PENDING)) {
+            logger.info("Open ticket key " + key + " was released through another instance");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Releases a key reserved for a ticket that was not created after all.
+     */
+
+    public void release(int customerId, String ticketType) {
+        keys.remove(key(customerId, ticketType));
+    }
+
+    /**
+     * Marks a key reserved here as held through another instance, after the database rejected its ticket as
+     * a duplicate. The next reservation of the key asks the database whether it is still held.
+     */
+
+    public void markHeldElsewhere(int customerId, String ticketType) {
+        keys.replace(key(customerId, ticketType), KeyState.PENDING, KeyState.SUSPECT);
+    }
+
+    public boolean isOpen(int customerId, String ticketType) {
+        ensureLoaded();
+        return keys.containsKey(key(customerId, ticketType));
+    }
+
+    @Override
+    public void onTicketChange(TicketState before, TicketState after) {
+        if (!loaded) {
+            return;
+        }
+        String beforeKey = before != null && before.isActive() ? key(before.customerId(), before.ticketType()) : null;
+        String afterKey = after != null && after.isActive() ? key(after.customerId(), after.ticketType()) : null;
+        if (Objects.equals(beforeKey, afterKey)) {
+            return;
+        }
+        if (beforeKey != null) {
+            keys.remove(beforeKey);
+        }
+        if (afterKey != null) {
+            keys.compute(afterKey, (key, state) -> state == KeyState.PENDING ? KeyState.PENDING : KeyState.OPEN);
+        }
+    }
+
+    @Override
+    public void onTicketCommitted(TicketState before, TicketState after) {
+        if (after != null && after.isActive()) {
+            keys.replace(key(after.customerId(), after.ticketType()), KeyState.PENDING, KeyState.OPEN);
+        }
+    }
+
+    // Checked again under the lock: a second first-time caller must not replace keys reserved after the load
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private static String key(int customerId, String ticketType) {
+        return customerId + ":" + ticketType;
+    }
+}
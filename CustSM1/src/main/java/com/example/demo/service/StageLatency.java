@@ -0,0 +1,41 @@
+package com.example.demo.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StageLatency Class
+ * Lock-free count, average and maximum duration of one processing stage, safe to record from any thread.
+ *
+ * @author Srihari.P
+ */
+class StageLatency {
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records the time elapsed since the given System.nanoTime() value.
+     */
+    void recordSince(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        count.increment();
+        totalNanos.add(elapsed);
+        maxNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    Map<String, Object> toMap() {
+        long samples = count.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", samples);
+        stats.put("averageMillis", samples == 0 ? 0.0 : totalNanos.sum() / (double) samples / TimeUnit.MILLISECONDS.toNanos(1));
+        stats.put("maxMillis", maxNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        return stats;
+    }
+}
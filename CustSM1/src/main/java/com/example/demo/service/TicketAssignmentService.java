@@ -0,0 +1,98 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.config.AssignmentProperties;
+import com.example.demo.model.EmployeeWorkload;
+import com.example.demo.model.TicketState;
+
+/**
+ * TicketAssignmentService Class
+ * Chooses the employee for a new, reassigned or reopened ticket. The candidates are the 'Employee'
+ * designation staff of the department matching the ticket type, read from the in-memory workload index,
+ * and the choice is made by the {@link AssignmentStrategy} configured for that ticket type.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class TicketAssignmentService {
+
+    private final EmployeeWorkloadIndex workloadIndex;
+    private final AssignmentProperties assignmentProperties;
+    private final Map<String, AssignmentStrategy> strategies = new HashMap<>();
+
+    public TicketAssignmentService(EmployeeWorkloadIndex workloadIndex, List<AssignmentStrategy> strategies,
+            AssignmentProperties assignmentProperties) {
+        this.workloadIndex = workloadIndex;
+        this.assignmentProperties = assignmentProperties;
+        strategies.forEach(strategy -> this.strategies.put(strategy.getName(), strategy));
+
+        // Fail at startup rather than on the first ticket of a misconfigured type
+        strategyNamed(assignmentProperties.getDefaultStrategy());
+        assignmentProperties.getStrategies().values().forEach(this::strategyNamed);
+    }
+
+    private static final Logger logger = Logger.getLogger(TicketAssignmentService.class);
+
+    /**
+     * Returns the employee a ticket of the given type should be assigned to, or empty if the department
+     * has no assignable employees.
+     */
+
+    public Optional<Integer> selectEmployee(String ticketType) {
+        Optional<EmployeeWorkload> selected = strategyFor(ticketType).selectFromIndex(ticketType, workloadIndex);
+        if (selected.isEmpty()) {
+            logger.warn("No assignable employees for ticket type: " + ticketType);
+        }
+        return selected.map(EmployeeWorkload::employeeId);
+    }
+
+    /**
+     * Chooses employees for a batch of tickets against one snapshot of the workload index. Each choice is added
+     * to the snapshot before the next ticket is placed, so a burst is spread the same way as single submissions.
+     * Returns one entry per ticket, empty where the department has no assignable employees.
+     */
+
+    public List<Optional<Integer>> selectEmployees(List<TicketState> tickets) {
+        Map<String, List<EmployeeWorkload>> snapshots = new HashMap<>();
+        List<Optional<Integer>> selections = new ArrayList<>();
+
+        for (TicketState ticket : tickets) {
+            List<EmployeeWorkload> candidates = snapshots.computeIfAbsent(ticket.ticketType(),
+                    ticketType -> new ArrayList<>(workloadIndex.getDepartmentWorkloads(ticketType)));
+            Optional<EmployeeWorkload> selected = candidates.isEmpty()
+                    ? Optional.empty()
+                    : strategyFor(ticket.ticketType()).select(ticket.ticketType(), candidates);
+
+            selected.ifPresent(workload -> candidates.set(candidates.indexOf(workload), workload.withTicket(ticket, 1)));
+            selections.add(selected.map(EmployeeWorkload::employeeId));
+        }
+        return selections;
+    }
+
+    /**
+     * Returns the strategy configured for the given ticket type, falling back to the default strategy.
+     */
+
+    public AssignmentStrategy strategyFor(String ticketType) {
+        String name = ticketType == null ? null : assignmentProperties.getStrategies().get(ticketType);
+        return strategyNamed(name != null ? name : assignmentProperties.getDefaultStrategy());
+    }
+
+    private AssignmentStrategy strategyNamed(String name) {
+        AssignmentStrategy strategy = strategies.get(name);
+        if (strategy == null) {
+            throw new IllegalStateException("Unknown ticket assignment strategy: " + name
+                    + ". Available strategies: " + strategies.keySet());
+        }
+        return strategy;
+    }
+}
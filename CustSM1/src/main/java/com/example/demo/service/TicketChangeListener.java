@@ -0,0 +1,21 @@
+package com.example.demo.service;
+
+import com.example.demo.model.TicketState;
+
+/**
+ * TicketChangeListener Interface
+ * Implemented by components that keep in-memory state derived from tickets. TicketService calls every listener
+ * once per write: before is null for a created ticket and after is null for a deleted one.
+ * If the surrounding transaction rolls back, the listener is called again with before and after swapped.
+ * Listeners that pass changes on outside the application implement onTicketCommitted instead, which is only
+ * called once a change is committed.
+ *
+ * @author Srihari.P
+ */
+public interface TicketChangeListener {
+
+    void onTicketChange(TicketState before, TicketState after);
+
+    default void onTicketCommitted(TicketState before, TicketState after) {
+    }
+}
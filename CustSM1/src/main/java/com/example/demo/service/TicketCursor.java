@@ -0,0 +1,48 @@
+package com.example.demo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * TicketCursor Class
+ * Encodes the position after the last ticket of a page as an opaque URL-safe token, so clients page through
+ * tickets without depending on how the position is stored.
+ *
+ * @author Srihari.P
+ */
+
+public final class TicketCursor {
+
+    private static final String PREFIX = "ticket:";
+
+    private TicketCursor() {
+    }
+
+    public static String encode(int lastTicketId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastTicketId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the ticket ID a page starts after, or 0 for a null or blank cursor.
+     * @throws IllegalArgumentException - Thrown if the cursor was not issued by encode.
+     */
+
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(PREFIX)) {
+                int lastTicketId = Integer.parseInt(decoded.substring(PREFIX.length()));
+                if (lastTicketId >= 0) {
+                    return lastTicketId;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Not Base64 or not a number, reported below
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+}
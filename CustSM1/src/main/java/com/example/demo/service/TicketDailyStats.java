@@ -0,0 +1,234 @@
+package com.example.demo.service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import org.apache.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.config.TicketStatsProperties;
+import com.example.demo.model.TicketState;
+import com.example.demo.model.TicketStatsKey;
+import com.example.demo.repo.TicketStatsRepository;
+import com.example.demo.repo.TicketStatsRepository.TicketOrigin;
+
+/**
+ * TicketDailyStats Class
+ * Keeps the TICKET_STATS_DAILY rollup current as tickets change. The changes of a transaction are collected,
+ * netted per ticket and written just before it commits, as one batch of group increments in the same
+ * transaction, so the rollup commits or rolls back together with the tickets. A bulk write of hundreds of
+ * tickets thus costs two lookups and one batch rather than statements per ticket.
+ * Changes reported outside a transaction are ignored: they are the rollback notifications of
+ * {@link TicketChangeListener}, whose rollup writes were rolled back already, or rebalancer moves, which
+ * keep tickets in their department and so in their group.
+ * Groups also carry the customer's state and city and the employee's department, so CustomerService and
+ * EmployeeService move a customer's or an employee's tickets to their new groups in the transaction that
+ * changes them. A ticket written by another transaction during such a move, or a customer or employee
+ * changed outside these services, can leave a group off by a few tickets until the affected days are
+ * backfilled.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class TicketDailyStats implements TicketChangeListener {
+
+    private static final Logger logger = Logger.getLogger(TicketDailyStats.class);
+
+    private final TicketStatsRepository statsRepository;
+    private final TicketStatsProperties statsProperties;
+
+    public TicketDailyStats(TicketStatsRepository statsRepository, TicketStatsProperties statsProperties) {
+        this.statsRepository = statsRepository;
+        this.statsProperties = statsProperties;
+    }
+
+    /**
+     * A ticket's fields that select its group, other than its raise date and customer location.
+     */
+
+    private record Membership(int ticketId, int employeeId, String ticketType, String ticketPriority,
+            String ticketStatus) {
+
+        private static Membership of(TicketState state) {
+            return new Membership(state.ticketId(), state.employeeId(), state.ticketType(), state.ticketPriority(),
+                    state.ticketStatus());
+        }
+    }
+
+    /**
+     * The changes of one transaction, bound to it until it completes.
+     */
+
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Map<Membership, Integer> deltas = new HashMap<>();
+        private final Map<Integer, TicketOrigin> origins = new HashMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            apply(this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TicketDailyStats.this);
+        }
+    }
+
+    /**
+     * Backfills the whole rollup at startup when it is empty, e.g. right after db/05_ticket_stats_daily.sql
+     * created it. A database failure is logged and the backfill can be started through the API later.
+     */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!statsProperties.isBackfillIfEmpty()) {
+            return;
+        }
+        try {
+            if (statsRepository.isEmpty()) {
+                backfill(null, null);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Ticket statistics rollup could not be backfilled at startup: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the rollup from TICKET for the tickets raised between the given days, both included, or for
+     * all tickets when both are null, and returns the number of groups written. Ticket writes to those days
+     * wait for the rebuild, so it is best run outside busy hours.
+     */
+
+    public int backfill(LocalDate from, LocalDate to) {
+        if ((from == null) != (to == null)) {
+            throw new IllegalArgumentException("Both from and to are required to backfill a range of days");
+        }
+        if (from != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        int groups = from == null ? statsRepository.backfillAll() : statsRepository.backfill(from, to);
+        logger.info("Ticket statistics rollup backfilled " + (from == null ? "for all days" : "from " + from + " to " + to)
+                + " with " + groups + " groups");
+        return groups;
+    }
+
+    /**
+     * Moves the customer's tickets from the groups of their former state and city to those of the new ones.
+     */
+
+    public void moveCustomerTickets(int customerId, String formerState, String formerCity, String state, String city) {
+        if (Objects.equals(formerState, state) && Objects.equals(formerCity, city)) {
+            return;
+        }
+        moveGroups(statsRepository.findCustomerTicketGroups(customerId),
+                key -> withLocation(key, formerState, formerCity), key -> withLocation(key, state, city));
+    }
+
+    /**
+     * Moves the tickets assigned to the employee from the groups of their former department to those of the
+     * new one. A deleted employee's tickets move to the groups without a department.
+     */
+
+    public void moveEmployeeTickets(int employeeId, String formerDept, String dept) {
+        if (Objects.equals(formerDept, dept)) {
+            return;
+        }
+        moveGroups(statsRepository.findEmployeeTicketGroups(employeeId),
+                key -> withDept(key, formerDept), key -> withDept(key, dept));
+    }
+
+    private void moveGroups(Map<TicketStatsKey, Integer> groups, UnaryOperator<TicketStatsKey> from,
+            UnaryOperator<TicketStatsKey> to) {
+        Map<TicketStatsKey, Integer> groupDeltas = new HashMap<>();
+        groups.forEach((key, count) -> {
+            groupDeltas.merge(from.apply(key), -count, Integer::sum);
+            groupDeltas.merge(to.apply(key), count, Integer::sum);
+        });
+        groupDeltas.values().removeIf(delta -> delta == 0);
+        if (!groupDeltas.isEmpty()) {
+            statsRepository.addToGroups(groupDeltas);
+        }
+    }
+
+    private static TicketStatsKey withLocation(TicketStatsKey key, String customerState, String customerCity) {
+        return TicketStatsKey.of(key.statDate(), customerState, customerCity, key.employeeDept(), key.ticketType(),
+                key.ticketPriority(), key.ticketStatus());
+    }
+
+    private static TicketStatsKey withDept(TicketStatsKey key, String employeeDept) {
+        return TicketStatsKey.of(key.statDate(), key.customerState(), key.customerCity(), employeeDept,
+                key.ticketType(), key.ticketPriority(), key.ticketStatus());
+    }
+
+    @Override
+    public void onTicketChange(TicketState before, TicketState after) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        if (before != null) {
+            pending.deltas.merge(Membership.of(before), -1, Integer::sum);
+        }
+        if (after != null) {
+            pending.deltas.merge(Membership.of(after), 1, Integer::sum);
+        } else if (before != null && !pending.origins.containsKey(before.ticketId())) {
+            // A deleted ticket's row is gone by the time the transaction commits
+            pending.origins.putAll(statsRepository.findTicketOrigins(Set.of(before.ticketId())));
+        }
+    }
+
+    private void apply(PendingChanges pending) {
+        pending.deltas.values().removeIf(delta -> delta == 0);
+        if (pending.deltas.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> unresolvedTickets = new HashSet<>();
+        Set<Integer> employeeIds = new HashSet<>();
+        for (Membership membership : pending.deltas.keySet()) {
+            if (!pending.origins.containsKey(membership.ticketId())) {
+                unresolvedTickets.add(membership.ticketId());
+            }
+            employeeIds.add(membership.employeeId());
+        }
+        if (!unresolvedTickets.isEmpty()) {
+            pending.origins.putAll(statsRepository.findTicketOrigins(unresolvedTickets));
+        }
+        Map<Integer, String> departments = statsRepository.findEmployeeDepartments(employeeIds);
+
+        Map<TicketStatsKey, Integer> groupDeltas = new HashMap<>();
+        for (Map.Entry<Membership, Integer> entry : pending.deltas.entrySet()) {
+            Membership membership = entry.getKey();
+            TicketOrigin origin = pending.origins.get(membership.ticketId());
+            if (origin == null || origin.raiseDate() == null) {
+                logger.warn("Ticket " + membership.ticketId() + " left out of the statistics rollup, its raise date is unknown");
+                continue;
+            }
+            TicketStatsKey key = TicketStatsKey.of(origin.raiseDate(), origin.customerState(), origin.customerCity(),
+                    departments.get(membership.employeeId()), membership.ticketType(), membership.ticketPriority(),
+                    membership.ticketStatus());
+            groupDeltas.merge(key, entry.getValue(), Integer::sum);
+        }
+        groupDeltas.values().removeIf(delta -> delta == 0);
+        if (!groupDeltas.isEmpty()) {
+            statsRepository.addToGroups(groupDeltas);
+        }
+    }
+}
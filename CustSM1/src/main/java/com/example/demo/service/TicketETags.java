@@ -0,0 +1,94 @@
+package com.example.demo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+import com.example.demo.model.Ticket;
+import com.example.demo.model.TicketSummary;
+
+/**
+ * TicketETags Class
+ * Derives strong ETags for ticket representations from each ticket's ID and version and the customer name it is
+ * shown with. The same ETag comes out whether it is computed from the loaded tickets or from the version rows
+ * of TicketRepository, so a conditional request can be answered without reading or serializing the tickets.
+ *
+ * @author Srihari.P
+ */
+
+public final class TicketETags {
+
+    private record Entry(int ticketId, long version, Integer customerId, String customerFirstname,
+            String customerLastname) {
+    }
+
+    private TicketETags() {
+    }
+
+    public static String of(Ticket ticket) {
+        return of(TicketSummary.of(ticket));
+    }
+
+    public static String of(TicketSummary ticket) {
+        return ofSummaries(List.of(ticket));
+    }
+
+    public static String ofSummaries(Collection<TicketSummary> tickets) {
+        return hash(tickets.stream()
+                .map(ticket -> ticket.customer() == null
+                        ? new Entry(ticket.ticketId(), ticket.version(), null, null, null)
+                        : new Entry(ticket.ticketId(), ticket.version(), ticket.customer().customerId(),
+                                ticket.customer().customerFirstname(), ticket.customer().customerLastname()))
+                .toList());
+    }
+
+    /**
+     * Returns the ETag of the tickets behind the given version rows of TicketRepository.TICKET_VERSION_SELECT.
+     */
+
+    public static String ofVersionRows(Collection<Object[]> rows) {
+        return hash(rows.stream()
+                .map(row -> new Entry((Integer) row[0], ((Number) row[1]).longValue(), (Integer) row[2],
+                        (String) row[3], (String) row[4]))
+                .toList());
+    }
+
+    /**
+     * Returns whether an If-Match header value matches the ETag: "*" or one of the listed ETags compared
+     * strongly, so weak ETags never match.
+     */
+
+    public static boolean matches(String ifMatch, String eTag) {
+        for (String candidate : ifMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String hash(List<Entry> entries) {
+        MessageDigest digest = sha256();
+        entries.stream()
+                .sorted(Comparator.comparingInt(Entry::ticketId))
+                .forEach(entry -> digest.update((entry.ticketId() + ":" + entry.version() + ":" + entry.customerId()
+                        + ":" + entry.customerFirstname() + ":" + entry.customerLastname() + "\n")
+                        .getBytes(StandardCharsets.UTF_8)));
+        // 128 bits are plenty to tell versions of the same resource apart
+        return '"' + HexFormat.of().formatHex(digest.digest(), 0, 16) + '"';
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
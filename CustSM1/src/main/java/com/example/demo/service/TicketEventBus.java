@@ -0,0 +1,66 @@
+package com.example.demo.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.apache.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.model.TicketEvent;
+import com.example.demo.model.TicketState;
+
+/**
+ * TicketEventBus Class
+ * In-process publish/subscribe for committed ticket changes. TicketService and TicketRebalancer feed it through
+ * TicketChangeListener.onTicketCommitted, so changes that roll back are never published. Subscribers are
+ * called on the publishing thread, typically while the writing request completes, and must hand events off
+ * without blocking.
+ *
+ * @author Srihari.P
+ */
+
+@Component
+public class TicketEventBus implements TicketChangeListener {
+
+    private static final Logger logger = Logger.getLogger(TicketEventBus.class);
+
+    private final List<Consumer<TicketEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Registers a subscriber and returns the action that unregisters it.
+     */
+
+    public Runnable subscribe(Consumer<TicketEvent> subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    public void publish(TicketEvent event) {
+        for (Consumer<TicketEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                // One failing subscriber must not fail the write or starve the others
+                logger.error("Ticket event subscriber failed on event " + event.sequence(), e);
+            }
+        }
+    }
+
+    // Uncommitted changes are not published
+    @Override
+    public void onTicketChange(TicketState before, TicketState after) {
+    }
+
+    @Override
+    public void onTicketCommitted(TicketState before, TicketState after) {
+        publish(TicketEvent.of(sequence.incrementAndGet(), before, after));
+    }
+
+    public long getPublishedCount() {
+        return sequence.get();
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.demo.service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import org.apache.log4j.Logger;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.config.TicketEventProperties;
+import com.example.demo.exceptions.EventStreamLimitException;
+import com.example.demo.model.TicketEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * TicketEventStreams Class
+ * Server-Sent Events streams of ticket changes for one customer or one employee, fed by TicketEventBus. Each
+ * stream has a bounded buffer that the publishing thread only appends to; a small pool of sender threads
+ * writes it to the client, so a slow or stalled client never holds up a ticket write. A stream that overflows
+ * its buffer drops the buffered events and gets a resync event, telling the client to reload its ticket list.
+ * Heartbeat comments keep idle streams open and detect clients that went away.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class TicketEventStreams {
+
+    public static final String CUSTOMER = "customer";
+    public static final String EMPLOYEE = "employee";
+
+    static final String TICKET_EVENT = "ticket";
+    static final String RESYNC_EVENT = "resync";
+
+    private static final Logger logger = Logger.getLogger(TicketEventStreams.class);
+
+    private final TicketEventProperties eventProperties;
+    private final ExecutorService sender;
+    private final Runnable unsubscribe;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger peakSubscribers = new AtomicInteger();
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder closed = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+    private final LongAdder heartbeats = new LongAdder();
+
+    public TicketEventStreams(TicketEventBus eventBus, TicketEventProperties eventProperties) {
+        this.eventProperties = eventProperties;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(eventProperties.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "ticket-events-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.unsubscribe = eventBus.subscribe(this::dispatch);
+    }
+
+    /**
+     * One open stream: the client's emitter, the events it wants and the events waiting to be written.
+     */
+
+    private final class Subscription {
+
+        private final String kind;
+        private final SseEmitter emitter;
+        private final Predicate<TicketEvent> filter;
+        private final ArrayBlockingQueue<TicketEvent> buffer;
+
+        // Set while a sender thread owns the emitter; SseEmitter must not be written by two threads at once
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean open = new AtomicBoolean(true);
+        private volatile boolean resyncDue;
+        private volatile boolean heartbeatDue;
+
+        private Subscription(String kind, SseEmitter emitter, Predicate<TicketEvent> filter) {
+            this.kind = kind;
+            this.emitter = emitter;
+            this.filter = filter;
+            this.buffer = new ArrayBlockingQueue<>(eventProperties.getBufferSize());
+        }
+
+        private void offer(TicketEvent event) {
+            if (!buffer.offer(event)) {
+                dropped.add(buffer.size() + 1L);
+                buffer.clear();
+                resyncDue = true;
+            }
+            schedule();
+        }
+
+        private void heartbeat() {
+            heartbeatDue = true;
+            schedule();
+        }
+
+        private boolean hasWork() {
+            return resyncDue || heartbeatDue || !buffer.isEmpty();
+        }
+
+        private void schedule() {
+            if (open.get() && sending.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::send);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    sending.set(false);
+                }
+            }
+        }
+
+        private void send() {
+            try {
+                while (open.get() && hasWork()) {
+                    if (resyncDue) {
+                        resyncDue = false;
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data("{}", MediaType.APPLICATION_JSON));
+                        resyncs.increment();
+                    }
+                    TicketEvent event;
+                    // An overflow while sending puts the resync ahead of the events that follow the gap
+                    while (open.get() && !resyncDue && (event = buffer.poll()) != null) {
+                        emitter.send(SseEmitter.event().id(String.valueOf(event.sequence())).name(TICKET_EVENT)
+                                .data(event, MediaType.APPLICATION_JSON));
+                        delivered.increment();
+                    }
+                    if (heartbeatDue) {
+                        heartbeatDue = false;
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        heartbeats.increment();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter completed
+                close(this);
+                emitter.completeWithError(e);
+            } finally {
+                sending.set(false);
+            }
+            // Work added after the loop's last check, while sending was still set, would otherwise wait
+            if (open.get() && hasWork()) {
+                schedule();
+            }
+        }
+    }
+
+    public SseEmitter streamForCustomer(int customerId) {
+        return subscribe(CUSTOMER, new SseEmitter(eventProperties.getTimeout().toMillis()),
+                event -> event.customerId() == customerId);
+    }
+
+    public SseEmitter streamForEmployee(int employeeId) {
+        return subscribe(EMPLOYEE, new SseEmitter(eventProperties.getTimeout().toMillis()),
+                event -> event.concernsEmployee(employeeId));
+    }
+
+    /**
+     * Opens a stream of the events matching the filter on the given emitter and returns the emitter.
+     * @throws EventStreamLimitException - Thrown if the maximum number of streams is open.
+     */
+
+    public SseEmitter subscribe(String kind, SseEmitter emitter, Predicate<TicketEvent> filter) {
+        Subscription subscription = new Subscription(kind, emitter, filter);
+        synchronized (subscriptions) {
+            if (subscriptions.size() >= eventProperties.getMaxSubscribers()) {
+                refused.increment();
+                throw new EventStreamLimitException("Too many ticket event streams are open. Please try again later.");
+            }
+            subscriptions.add(subscription);
+            peakSubscribers.accumulateAndGet(subscriptions.size(), Math::max);
+        }
+        opened.increment();
+        emitter.onCompletion(() -> close(subscription));
+        emitter.onTimeout(() -> close(subscription));
+        emitter.onError(error -> close(subscription));
+        return emitter;
+    }
+
+    private void close(Subscription subscription) {
+        if (subscription.open.compareAndSet(true, false)) {
+            subscriptions.remove(subscription);
+            subscription.buffer.clear();
+            closed.increment();
+        }
+    }
+
+    private void dispatch(TicketEvent event) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.filter.test(event)) {
+                subscription.offer(event);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ticket.events.heartbeat-interval:PT15S}",
+            initialDelayString = "${ticket.events.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        subscriptions.forEach(Subscription::heartbeat);
+    }
+
+    /**
+     * Returns open streams by kind, connection counts and event delivery counters.
+     */
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("activeStreams", subscriptions.size());
+        metrics.put("activeCustomerStreams", subscriptions.stream().filter(s -> CUSTOMER.equals(s.kind)).count());
+        metrics.put("activeEmployeeStreams", subscriptions.stream().filter(s -> EMPLOYEE.equals(s.kind)).count());
+        metrics.put("peakStreams", peakSubscribers.get());
+        metrics.put("maxStreams", eventProperties.getMaxSubscribers());
+        metrics.put("opened", opened.sum());
+        metrics.put("closed", closed.sum());
+        metrics.put("refused", refused.sum());
+        metrics.put("eventsDelivered", delivered.sum());
+        metrics.put("eventsDropped", dropped.sum());
+        metrics.put("resyncsSent", resyncs.sum());
+        metrics.put("heartbeatsSent", heartbeats.sum());
+        return metrics;
+    }
+
+    /**
+     * Completes every open stream so clients reconnect to another instance, and stops the sender threads.
+     */
+
+    @PreDestroy
+    public void shutdown() {
+        unsubscribe.run();
+        for (Subscription subscription : subscriptions) {
+            close(subscription);
+            subscription.emitter.complete();
+        }
+        sender.shutdown();
+        logger.info("Ticket event streams closed");
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.demo.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.model.Ticket;
+import com.example.demo.model.TicketSummary;
+import com.example.demo.repo.TicketRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * TicketExportService Class
+ * Writes every ticket to an output stream as NDJSON (one {@link TicketSummary} per line) or CSV. Neither format
+ * includes more of the customer than their ID and name, so credentials and contact details are never exported.
+ * Tickets are read through a forward-only database cursor and detached once written, so memory use does not
+ * grow with the number of tickets, and the output is flushed early and periodically so the client receives
+ * data while the export runs.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class TicketExportService {
+
+    public enum Format {
+        NDJSON, CSV;
+
+        /**
+         * Parses a format name ignoring case; null means NDJSON.
+         * @throws IllegalArgumentException - Thrown for an unknown format.
+         */
+
+        public static Format of(String name) {
+            if (name == null || name.isBlank()) {
+                return NDJSON;
+            }
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + name);
+            }
+        }
+    }
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    private static final String CSV_HEADER = "ticketId,customerId,employeeId,ticketType,ticketStatus,ticketPriority,"
+            + "ticketRaiseDate,responseTime,resolveTime,turnAroundTime,customerRating,ticketDescription";
+
+    private static final Logger logger = Logger.getLogger(TicketExportService.class);
+
+    private final TicketRepository ticketRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public TicketExportService(TicketRepository ticketRepository, EntityManager entityManager,
+            ObjectMapper objectMapper) {
+        this.ticketRepository = ticketRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes all tickets in ticket ID order and returns the number written. The output stream is flushed but not
+     * closed.
+     */
+
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream output) throws IOException {
+        long start = System.nanoTime();
+        long written = 0;
+        try (Stream<Ticket> tickets = ticketRepository.streamAllTickets()) {
+            Iterator<Ticket> iterator = tickets.iterator();
+            if (format == Format.CSV) {
+                written = writeCsv(iterator, output);
+            } else {
+                written = writeNdjson(iterator, output);
+            }
+        }
+        logger.info("Exported " + written + " tickets as " + format + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return written;
+    }
+
+    private long writeNdjson(Iterator<Ticket> tickets, OutputStream output) throws IOException {
+        long written = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (tickets.hasNext()) {
+            Ticket ticket = tickets.next();
+            objectMapper.writeValue(generator, TicketSummary.of(ticket));
+            generator.writeRaw('\n');
+            detach(ticket);
+            if (++written == 1 || written % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+        generator.flush();
+        return written;
+    }
+
+    private long writeCsv(Iterator<Ticket> tickets, OutputStream output) throws IOException {
+        long written = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        writer.flush();
+        while (tickets.hasNext()) {
+            Ticket ticket = tickets.next();
+            writer.write(csvLine(ticket));
+            writer.write('\n');
+            detach(ticket);
+            if (++written % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    // Written tickets and their customers are not needed again, so the persistence context stays small
+    private void detach(Ticket ticket) {
+        if (ticket.getCustomer() != null && entityManager.contains(ticket.getCustomer())) {
+            entityManager.detach(ticket.getCustomer());
+        }
+        entityManager.detach(ticket);
+    }
+
+    static String csvLine(Ticket ticket) {
+        return String.join(",",
+                String.valueOf(ticket.getTicketId()),
+                ticket.getCustomer() == null ? "" : String.valueOf(ticket.getCustomer().getCustomerId()),
+                String.valueOf(ticket.getEmployeeId()),
+                csvField(ticket.getTicketType()),
+                csvField(ticket.getTicketStatus()),
+                csvField(ticket.getTicketPriority()),
+                csvField(ticket.getTicketRaiseDate()),
+                csvField(ticket.getResponseTime()),
+                csvField(ticket.getResolveTime()),
+                csvField(ticket.getTurnAroundTime()),
+                csvField(ticket.getCustomerRating()),
+                csvField(ticket.getTicketDescription()));
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.demo.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import com.example.demo.config.IntakeProperties;
+import com.example.demo.exceptions.IntakeQueueFullException;
+import com.example.demo.exceptions.IntakeUnavailableException;
+import com.example.demo.model.Constants;
+import com.example.demo.model.Ticket;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * TicketIntakeService Class
+ * Asynchronous ticket intake. The request thread only checks for duplicates, verifies the customer and saves
+ * the ticket as PENDING and unassigned; a bounded pool of workers then assigns an employee and emails the
+ * customer. A submission is refused up front when every worker is busy and the queue is full, so a burst
+ * cannot pile up request threads or accepted tickets. Tickets still unassigned at startup, e.g. after a
+ * restart, are queued again.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class TicketIntakeService {
+
+    private final TicketService ticketService;
+    private final IntakeProperties intakeProperties;
+    private final ThreadPoolExecutor executor;
+
+    // One permit per worker and queue slot, taken before a ticket is saved and returned when its work ends
+    private final Semaphore slots;
+
+    public TicketIntakeService(TicketService ticketService, IntakeProperties intakeProperties) {
+        this.ticketService = ticketService;
+        this.intakeProperties = intakeProperties;
+        this.slots = new Semaphore(intakeProperties.getWorkers() + intakeProperties.getQueueCapacity());
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(intakeProperties.getWorkers(), intakeProperties.getWorkers(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(intakeProperties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ticket-intake-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private static final Logger logger = Logger.getLogger(TicketIntakeService.class);
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+    private final LongAdder assigned = new LongAdder();
+    private final LongAdder unassigned = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private final StageLatency acceptStage = new StageLatency();
+    private final StageLatency queueWaitStage = new StageLatency();
+    private final StageLatency assignmentStage = new StageLatency();
+    private final StageLatency notificationStage = new StageLatency();
+
+    /**
+     * Saves the ticket as PENDING and queues its assignment. Returns the saved ticket, whose ID the client
+     * can use to follow the ticket.
+     * @throws IntakeQueueFullException - Thrown if the queue is full; nothing was saved.
+     * @throws IntakeUnavailableException - Thrown if the application is shutting down; nothing was saved.
+     */
+
+    public Ticket submit(Ticket ticket) {
+        if (executor.isShutdown()) {
+            throw new IntakeUnavailableException("Ticket intake is shutting down. Please try again later.");
+        }
+        if (!slots.tryAcquire()) {
+            refused.increment();
+            logger.warn("Ticket intake queue is full, refusing ticket of type: " + ticket.getTicketType());
+            throw new IntakeQueueFullException("Too many tickets are waiting to be processed. Please try again shortly.");
+        }
+
+        long start = System.nanoTime();
+        Ticket acceptedTicket;
+        try {
+            acceptedTicket = ticketService.acceptTicket(ticket);
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        acceptStage.recordSince(start);
+        accepted.increment();
+
+        enqueue(acceptedTicket.getTicketId());
+        return acceptedTicket;
+    }
+
+    /**
+     * Queues the tickets left unassigned by a previous run, as far as the queue has room.
+     */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnassignedTickets() {
+        List<Ticket> pending;
+        try {
+            pending = ticketService.findUnassignedTickets();
+        } catch (DataAccessException | TransactionException e) {
+            logger.warn("Unassigned tickets could not be loaded at startup: " + e.getMessage());
+            return;
+        }
+
+        int resumed = 0;
+        for (Ticket ticket : pending) {
+            if (!slots.tryAcquire()) {
+                logger.warn((pending.size() - resumed) + " unassigned tickets were not queued, the intake queue is full");
+                break;
+            }
+            enqueue(ticket.getTicketId());
+            resumed++;
+        }
+        if (resumed > 0) {
+            logger.info("Queued " + resumed + " unassigned tickets for assignment");
+        }
+    }
+
+    /**
+     * Returns queue depth, worker usage, outcome counters and per-stage latencies for sizing the pool.
+     */
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("workers", executor.getMaximumPoolSize());
+        metrics.put("activeWorkers", executor.getActiveCount());
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("queueCapacity", intakeProperties.getQueueCapacity());
+        metrics.put("availableSlots", slots.availablePermits());
+        metrics.put("accepted", accepted.sum());
+        metrics.put("refused", refused.sum());
+        metrics.put("assigned", assigned.sum());
+        metrics.put("leftUnassigned", unassigned.sum());
+        metrics.put("failed", failed.sum());
+
+        Map<String, Object> stages = new LinkedHashMap<>();
+        stages.put("accept", acceptStage.toMap());
+        stages.put("queueWait", queueWaitStage.toMap());
+        stages.put("assignment", assignmentStage.toMap());
+        stages.put("notification", notificationStage.toMap());
+        metrics.put("stages", stages);
+        return metrics;
+    }
+
+    /**
+     * Seconds a refused client should wait before submitting again.
+     */
+
+    public int getRetryAfterSeconds() {
+        return intakeProperties.getRetryAfterSeconds();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn(executor.getQueue().size() + " accepted tickets were not processed before shutdown, "
+                    + "they will be queued again on the next start");
+            executor.shutdownNow();
+        }
+    }
+
+    private void enqueue(int ticketId) {
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> process(ticketId, queuedAt));
+        } catch (RejectedExecutionException e) {
+            // Only happens during shutdown; the saved ticket is queued again on the next start
+            slots.release();
+            logger.warn("Ticket " + ticketId + " was saved but not queued, the intake pool is shutting down");
+        }
+    }
+
+    private void process(int ticketId, long queuedAt) {
+        queueWaitStage.recordSince(queuedAt);
+        try {
+            long start = System.nanoTime();
+            Ticket ticket = ticketService.assignAcceptedTicket(ticketId);
+            assignmentStage.recordSince(start);
+
+            if (ticket.getEmployeeId() == Constants.UNASSIGNED_EMPLOYEE_ID) {
+                unassigned.increment();
+                return;
+            }
+            assigned.increment();
+
+            start = System.nanoTime();
+            ticketService.sendTicketRaisedEmail(ticket);
+            notificationStage.recordSince(start);
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.error("Asynchronous intake failed for ticket " + ticketId + ": " + e.getMessage());
+        } finally {
+            slots.release();
+        }
+    }
+}
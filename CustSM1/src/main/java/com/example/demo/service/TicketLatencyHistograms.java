@@ -0,0 +1,221 @@
+package com.example.demo.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.IntCountsHistogram;
+import org.apache.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.config.TicketLatencyProperties;
+import com.example.demo.model.Constants;
+import com.example.demo.model.Employee;
+import com.example.demo.model.LatencyPercentiles;
+import com.example.demo.model.LatencySample;
+import com.example.demo.model.LatencySample.Kind;
+import com.example.demo.repo.EmployeeRepository;
+import com.example.demo.repo.TicketRepository;
+
+/**
+ * TicketLatencyHistograms Class
+ * Response and resolution time histograms per employee, from which p50, p90 and p99 are read without a
+ * percentile query over ticket rows. Histograms keep values to two significant digits in a fixed number of
+ * buckets, so they are small and can be added together: a department's or a manager's percentiles come from
+ * merging the histograms of their employees. TicketService records a sample when it gives a ticket its first
+ * response or resolves it, once the write commits. At startup the histograms are loaded with the tickets
+ * raised within ticket.latency.history.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class TicketLatencyHistograms {
+
+    public static final String RESPONSE = "response";
+    public static final String RESOLUTION = "resolution";
+
+    // Latencies above a year are recorded as a year
+    private static final long HIGHEST_TRACKABLE_SECONDS = TimeUnit.DAYS.toSeconds(366);
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private static final Logger logger = Logger.getLogger(TicketLatencyHistograms.class);
+
+    private final TicketRepository ticketRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate readTransaction;
+    private final TicketLatencyProperties latencyProperties;
+
+    private final Map<Integer, EmployeeHistograms> histograms = new ConcurrentHashMap<>();
+
+    public TicketLatencyHistograms(TicketRepository ticketRepository, EmployeeRepository employeeRepository,
+            PlatformTransactionManager transactionManager, TicketLatencyProperties latencyProperties) {
+        this.ticketRepository = ticketRepository;
+        this.employeeRepository = employeeRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.latencyProperties = latencyProperties;
+    }
+
+    /**
+     * The response and resolution histograms of one employee. Int counts keep each histogram to a few kilobytes.
+     */
+
+    private static final class EmployeeHistograms {
+
+        private final IntCountsHistogram response = new IntCountsHistogram(HIGHEST_TRACKABLE_SECONDS, SIGNIFICANT_DIGITS);
+        private final IntCountsHistogram resolution = new IntCountsHistogram(HIGHEST_TRACKABLE_SECONDS, SIGNIFICANT_DIGITS);
+
+        private synchronized void record(Kind kind, long seconds) {
+            (kind == Kind.RESPONSE ? response : resolution)
+                    .recordValue(Math.min(Math.max(seconds, 0), HIGHEST_TRACKABLE_SECONDS));
+        }
+
+        private synchronized void addTo(Histogram responses, Histogram resolutions) {
+            responses.add(response);
+            resolutions.add(resolution);
+        }
+    }
+
+    /**
+     * Loads the latencies of recently raised tickets once the application has started. A database failure is
+     * logged and the histograms start from the samples recorded from then on.
+     */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            LocalDateTime since = LocalDateTime.now().minus(latencyProperties.getHistory());
+            // Samples committed while loading may be counted twice; a handful among thousands does not move percentiles
+            long tickets = readTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<Object[]> rows = ticketRepository.streamLatencyRows(since)) {
+                    for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                        load(row);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            logger.info("Ticket latency histograms loaded with " + tickets + " tickets raised since " + since);
+        } catch (DataAccessException | TransactionException e) {
+            logger.warn("Ticket latency histograms could not be loaded at startup: " + e.getMessage());
+        }
+    }
+
+    private void load(Object[] row) {
+        Integer employeeId = (Integer) row[0];
+        LocalDateTime raiseDate = (LocalDateTime) row[1];
+        LocalDateTime responseTime = (LocalDateTime) row[2];
+        LocalDateTime resolveTime = (LocalDateTime) row[3];
+        if (employeeId == null || raiseDate == null) {
+            return;
+        }
+        if (responseTime != null) {
+            record(LatencySample.between(employeeId, Kind.RESPONSE, raiseDate, responseTime));
+        }
+        // A reopened or reactivated ticket keeps its old resolve time; only closed tickets count as resolved
+        if (resolveTime != null && Constants.CLOSED.equalsIgnoreCase((String) row[4])) {
+            record(LatencySample.between(employeeId, Kind.RESOLUTION, raiseDate, resolveTime));
+        }
+    }
+
+    /**
+     * Records the samples once the current transaction commits; they are discarded if it rolls back. Outside
+     * a transaction they are recorded straight away.
+     */
+
+    public void recordAfterCommit(List<LatencySample> samples) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    samples.forEach(TicketLatencyHistograms.this::record);
+                }
+            });
+        } else {
+            samples.forEach(this::record);
+        }
+    }
+
+    public void record(LatencySample sample) {
+        histograms.computeIfAbsent(sample.employeeId(), employeeId -> new EmployeeHistograms())
+                .record(sample.kind(), sample.seconds());
+    }
+
+    /**
+     * Returns the response and resolution percentiles of one employee.
+     */
+
+    public Map<String, LatencyPercentiles> getEmployeePercentiles(int employeeId) {
+        return percentiles(List.of(employeeId));
+    }
+
+    /**
+     * Returns the response and resolution percentiles of a department, merged from its employees.
+     */
+
+    public Map<String, LatencyPercentiles> getDepartmentPercentiles(String department) {
+        return percentiles(employeeRepository.findEmployeesByDomain(department));
+    }
+
+    /**
+     * Returns the percentiles of a manager's team as a whole and of each employee in it.
+     */
+
+    public Map<String, Object> getManagerPercentiles(int managerId) {
+        List<Integer> employeeIds = employeeRepository.findByEmployeeManagerId(managerId).stream()
+                .map(Employee::getEmployeeId)
+                .toList();
+        Map<Integer, Map<String, LatencyPercentiles>> employees = new LinkedHashMap<>();
+        employeeIds.forEach(employeeId -> employees.put(employeeId, getEmployeePercentiles(employeeId)));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("managerId", managerId);
+        result.put("team", percentiles(employeeIds));
+        result.put("employees", employees);
+        return result;
+    }
+
+    private Map<String, LatencyPercentiles> percentiles(Collection<Integer> employeeIds) {
+        Histogram responses = new Histogram(HIGHEST_TRACKABLE_SECONDS, SIGNIFICANT_DIGITS);
+        Histogram resolutions = new Histogram(HIGHEST_TRACKABLE_SECONDS, SIGNIFICANT_DIGITS);
+        for (Integer employeeId : employeeIds) {
+            EmployeeHistograms employee = histograms.get(employeeId);
+            if (employee != null) {
+                employee.addTo(responses, resolutions);
+            }
+        }
+        Map<String, LatencyPercentiles> result = new LinkedHashMap<>();
+        result.put(RESPONSE, toPercentiles(responses));
+        result.put(RESOLUTION, toPercentiles(resolutions));
+        return result;
+    }
+
+    private static LatencyPercentiles toPercentiles(AbstractHistogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return new LatencyPercentiles(0, 0, 0, 0, 0);
+        }
+        return new LatencyPercentiles(histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99), histogram.getMaxValue());
+    }
+}
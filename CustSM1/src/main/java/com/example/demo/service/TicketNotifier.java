@@ -0,0 +1,97 @@
+package com.example.demo.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.model.TicketUpdateNotice;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * TicketNotifier Class
+ * Emails customers about tickets changed in bulk, off the request thread. Notices are sent once the writing
+ * transaction commits, one email per customer however many of their tickets changed. A single worker sends
+ * them in order; if its queue is full the committing thread sends the batch itself rather than dropping it.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class TicketNotifier {
+
+    private static final int QUEUE_CAPACITY = 100;
+
+    private static final Logger logger = Logger.getLogger(TicketNotifier.class);
+
+    private final EmailService emailService;
+    private final ThreadPoolExecutor executor;
+
+    public TicketNotifier(EmailService emailService) {
+        this.emailService = emailService;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ticket-notifier");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Queues the notices for sending after the current transaction commits; they are discarded if it rolls
+     * back. Outside a transaction they are queued straight away.
+     */
+
+    public void sendAfterCommit(List<TicketUpdateNotice> notices) {
+        if (notices.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(() -> send(notices));
+                }
+            });
+        } else {
+            executor.execute(() -> send(notices));
+        }
+    }
+
+    private void send(List<TicketUpdateNotice> notices) {
+        Map<String, List<TicketUpdateNotice>> byCustomer = notices.stream()
+                .collect(Collectors.groupingBy(TicketUpdateNotice::customerEmail, LinkedHashMap::new,
+                        Collectors.toList()));
+        byCustomer.forEach((customerEmail, customerNotices) -> {
+            try {
+                emailService.sendTicketsUpdateEmail(customerEmail, customerNotices);
+            } catch (RuntimeException e) {
+                // One undeliverable address must not stop the other customers' emails
+                logger.error("Ticket update email to " + customerEmail + " failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Sends the queued notices before the application stops, waiting up to 30 seconds.
+     */
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn(executor.getQueue().size() + " ticket notification batches were not sent before shutdown");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.config.TicketCacheProperties;
+import com.example.demo.model.TicketState;
+import com.example.demo.model.TicketSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * TicketReadCache Class
+ * Bounded read-through cache of ticket read models for single-ticket lookups. Every ticket write reaches the
+ * cache as a TicketChangeListener and invalidates exactly that ticket, once when the write happens and again
+ * when its transaction completes, so a lookup that read the row before the commit cannot leave a stale entry
+ * behind. A load runs at most once per ticket at a time; concurrent lookups of the same ticket wait for it.
+ *
+ * @author Srihari.P
+ */
+
+@Component
+public class TicketReadCache implements TicketChangeListener {
+
+    private final Cache<Integer, TicketSummary> cache;
+
+    private final LongAdder invalidations = new LongAdder();
+
+    public TicketReadCache(TicketCacheProperties cacheProperties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfterWrite(cacheProperties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached ticket, or loads, caches and returns it. Tickets the loader does not find are not cached.
+     */
+
+    public Optional<TicketSummary> get(int ticketId, IntFunction<Optional<TicketSummary>> loader) {
+        return Optional.ofNullable(cache.get(ticketId, id -> loader.apply(id).orElse(null)));
+    }
+
+    /**
+     * Returns the cached ticket without loading it.
+     */
+
+    public Optional<TicketSummary> peek(int ticketId) {
+        return Optional.ofNullable(cache.getIfPresent(ticketId));
+    }
+
+    public void invalidate(int ticketId) {
+        cache.invalidate(ticketId);
+        invalidations.increment();
+    }
+
+    @Override
+    public void onTicketChange(TicketState before, TicketState after) {
+        int ticketId = after != null ? after.ticketId() : before.ticketId();
+        invalidate(ticketId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(ticketId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns hit, miss, load and eviction counts of the cache since startup.
+     */
+
+    public Map<String, Object> getMetrics() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("size", cache.estimatedSize());
+        metrics.put("hits", stats.hitCount());
+        metrics.put("misses", stats.missCount());
+        metrics.put("hitRate", stats.hitRate());
+        metrics.put("loads", stats.loadCount());
+        metrics.put("notFound", stats.loadFailureCount());
+        metrics.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        metrics.put("evictions", stats.evictionCount());
+        metrics.put("invalidations", invalidations.sum());
+        return metrics;
+    }
+}
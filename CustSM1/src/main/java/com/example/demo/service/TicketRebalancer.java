@@ -0,0 +1,264 @@
+package com.example.demo.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.log4j.Logger;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.config.RebalanceProperties;
+import com.example.demo.model.Employee;
+import com.example.demo.model.EmployeeWorkload;
+import com.example.demo.model.RebalanceReport;
+import com.example.demo.model.RebalanceReport.DepartmentSpread;
+import com.example.demo.model.TicketMove;
+import com.example.demo.model.TicketState;
+import com.example.demo.repo.EmployeeRepository;
+import com.example.demo.repo.TicketBatchRepository;
+import com.example.demo.repo.TicketRepository;
+
+/**
+ * TicketRebalancer Class
+ * Periodically moves PENDING tickets from employees above the overload threshold to the least loaded peers of
+ * the same department. Each department is planned from the workload index and updated with batched UPDATE
+ * statements while its assignment lock is held, so new tickets are not assigned against stale counts
+ * meanwhile. A ticket is only moved to a peer that stays within the threshold and ends up with fewer active
+ * tickets than the employee it came from, so runs never move tickets back and forth. Every employee who gains
+ * or loses tickets in a run receives one email listing them.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class TicketRebalancer {
+
+    private final EmployeeWorkloadIndex workloadIndex;
+    private final TicketRepository ticketRepository;
+    private final TicketBatchRepository ticketBatchRepository;
+    private final EmployeeRepository employeeRepository;
+    private final EmailService emailService;
+    private final DepartmentLocks departmentLocks;
+    private final List<TicketChangeListener> changeListeners;
+    private final RebalanceProperties rebalanceProperties;
+
+    public TicketRebalancer(EmployeeWorkloadIndex workloadIndex, TicketRepository ticketRepository,
+            TicketBatchRepository ticketBatchRepository, EmployeeRepository employeeRepository,
+            EmailService emailService, DepartmentLocks departmentLocks, List<TicketChangeListener> changeListeners,
+            RebalanceProperties rebalanceProperties) {
+        this.workloadIndex = workloadIndex;
+        this.ticketRepository = ticketRepository;
+        this.ticketBatchRepository = ticketBatchRepository;
+        this.employeeRepository = employeeRepository;
+        this.emailService = emailService;
+        this.departmentLocks = departmentLocks;
+        this.changeListeners = changeListeners;
+        this.rebalanceProperties = rebalanceProperties;
+    }
+
+    private static final Logger logger = Logger.getLogger(TicketRebalancer.class);
+
+    private final Deque<RebalanceReport> reports = new ArrayDeque<>();
+
+    private record DepartmentOutcome(DepartmentSpread spread, List<TicketMove> moves, int skipped,
+            long planningNanos, long updateNanos) {
+    }
+
+    @Scheduled(fixedDelayString = "${ticket.rebalance.interval:PT5M}", initialDelayString = "${ticket.rebalance.interval:PT5M}")
+    public void scheduledRun() {
+        if (!rebalanceProperties.isEnabled()) {
+            return;
+        }
+        try {
+            rebalance();
+        } catch (DataAccessException e) {
+            logger.warn("Ticket rebalancing skipped, the database is not available: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs one rebalancing pass over every department in the workload index and returns its report.
+     */
+
+    public synchronized RebalanceReport rebalance() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+
+        List<DepartmentSpread> spreads = new ArrayList<>();
+        List<TicketMove> moves = new ArrayList<>();
+        int skipped = 0;
+        long planningNanos = 0;
+        long updateNanos = 0;
+
+        for (String department : workloadIndex.getDepartments()) {
+            int budget = rebalanceProperties.getMaxMovesPerRun() - moves.size();
+            DepartmentOutcome outcome = departmentLocks.withLock(department,
+                    () -> rebalanceDepartment(department, budget));
+            spreads.add(outcome.spread());
+            moves.addAll(outcome.moves());
+            skipped += outcome.skipped();
+            planningNanos += outcome.planningNanos();
+            updateNanos += outcome.updateNanos();
+        }
+
+        long notifyStart = System.nanoTime();
+        notifyEmployees(moves);
+        long notificationNanos = System.nanoTime() - notifyStart;
+
+        RebalanceReport report = new RebalanceReport(startedAt, toMillis(System.nanoTime() - start),
+                toMillis(planningNanos), toMillis(updateNanos), toMillis(notificationNanos), moves.size(), skipped,
+                spreads, moves);
+        if (!moves.isEmpty() || skipped > 0) {
+            logger.info("Rebalancer moved " + moves.size() + " tickets (" + skipped + " skipped) in "
+                    + report.durationMillis() + " ms");
+        }
+
+        reports.addFirst(report);
+        while (reports.size() > Math.max(1, rebalanceProperties.getReportHistory())) {
+            reports.removeLast();
+        }
+        return report;
+    }
+
+    /**
+     * Returns the reports of the most recent runs, newest first.
+     */
+
+    public synchronized List<RebalanceReport> getReports() {
+        return new ArrayList<>(reports);
+    }
+
+    private DepartmentOutcome rebalanceDepartment(String department, int budget) {
+        long planStart = System.nanoTime();
+        int threshold = rebalanceProperties.getOverloadThreshold();
+
+        Map<Integer, Integer> active = new HashMap<>();
+        for (EmployeeWorkload workload : workloadIndex.getDepartmentWorkloads(department)) {
+            active.put(workload.employeeId(), workload.openTickets() + workload.pendingTickets());
+        }
+        int minBefore = active.values().stream().mapToInt(Integer::intValue).min().orElse(0);
+        int maxBefore = active.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+
+        // Busiest employees give up tickets first
+        List<Integer> overloaded = active.entrySet().stream()
+                .filter(entry -> entry.getValue() > threshold)
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        List<TicketMove> planned = new ArrayList<>();
+        if (!overloaded.isEmpty() && budget > 0) {
+            Map<Integer, List<TicketState>> pending = new HashMap<>();
+            for (Object[] row : ticketRepository.findPendingTicketStates(overloaded)) {
+                TicketState ticket = new TicketState((Integer) row[0], (Integer) row[1], (Integer) row[2],
+                        (String) row[3], (String) row[4], (String) row[5]);
+                if (department.equals(ticket.ticketType())) {
+                    pending.computeIfAbsent(ticket.employeeId(), id -> new ArrayList<>()).add(ticket);
+                }
+            }
+
+            PriorityQueue<Integer> peers = new PriorityQueue<>(
+                    Comparator.<Integer>comparingInt(active::get).thenComparingInt(Integer::intValue));
+            active.keySet().stream().filter(id -> active.get(id) < threshold).forEach(peers::add);
+
+            for (Integer source : overloaded) {
+                Iterator<TicketState> tickets = pending.getOrDefault(source, List.of()).iterator();
+                while (active.get(source) > threshold && tickets.hasNext() && planned.size() < budget
+                        && !peers.isEmpty()) {
+                    Integer target = peers.poll();
+                    if (active.get(target) + 1 >= active.get(source)) {
+                        peers.add(target);
+                        break;
+                    }
+                    planned.add(new TicketMove(tickets.next(), target));
+                    active.merge(source, -1, Integer::sum);
+                    active.merge(target, 1, Integer::sum);
+                    if (active.get(target) < threshold) {
+                        peers.add(target);
+                    }
+                }
+            }
+        }
+        long planningNanos = System.nanoTime() - planStart;
+
+        long updateStart = System.nanoTime();
+        List<TicketMove> applied = planned.isEmpty() ? List.of() : ticketBatchRepository.reassignAll(planned);
+        // reassignAll has committed, so the moves are announced as committed changes straight away
+        applied.forEach(move -> changeListeners.forEach(listener -> {
+            listener.onTicketChange(move.ticket(), move.after());
+            listener.onTicketCommitted(move.ticket(), move.after());
+        }));
+        long updateNanos = System.nanoTime() - updateStart;
+
+        List<EmployeeWorkload> after = workloadIndex.getDepartmentWorkloads(department);
+        DepartmentSpread spread = new DepartmentSpread(department, after.size(), applied.size(), minBefore, maxBefore,
+                after.stream().mapToInt(workload -> workload.openTickets() + workload.pendingTickets()).min().orElse(0),
+                after.stream().mapToInt(workload -> workload.openTickets() + workload.pendingTickets()).max().orElse(0));
+        return new DepartmentOutcome(spread, applied, planned.size() - applied.size(), planningNanos, updateNanos);
+    }
+
+    /**
+     * Sends one email per employee listing the tickets they received and the tickets taken off them.
+     */
+
+    private void notifyEmployees(List<TicketMove> moves) {
+        if (moves.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<TicketMove>> received = moves.stream()
+                .collect(Collectors.groupingBy(TicketMove::toEmployeeId, TreeMap::new, Collectors.toList()));
+        Map<Integer, List<TicketMove>> released = moves.stream()
+                .collect(Collectors.groupingBy(move -> move.ticket().employeeId(), TreeMap::new, Collectors.toList()));
+
+        List<Integer> employeeIds = new ArrayList<>(received.keySet());
+        released.keySet().stream().filter(id -> !received.containsKey(id)).forEach(employeeIds::add);
+        Map<Integer, Employee> employees = new LinkedHashMap<>();
+        employeeRepository.findAllById(employeeIds).forEach(employee -> employees.put(employee.getEmployeeId(), employee));
+
+        for (Integer employeeId : employeeIds) {
+            Employee employee = employees.get(employeeId);
+            if (employee == null || employee.getEmployeeEmail() == null) {
+                continue;
+            }
+            StringBuilder body = new StringBuilder("Dear " + employee.getEmployeeFirstName() + ",\n\n"
+                    + "Your ticket queue has been rebalanced.\n");
+            appendTickets(body, "Tickets assigned to you:", received.get(employeeId));
+            appendTickets(body, "Tickets moved to a colleague:", released.get(employeeId));
+            body.append("\nThank you.");
+            try {
+                emailService.sendEmail(employee.getEmployeeEmail(), "Ticket Queue Rebalanced", body.toString());
+            } catch (RuntimeException e) {
+                logger.warn("Rebalance notification to employee " + employeeId + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void appendTickets(StringBuilder body, String heading, List<TicketMove> moves) {
+        if (moves == null) {
+            return;
+        }
+        body.append("\n").append(heading).append("\n");
+        for (TicketMove move : moves) {
+            body.append("Ticket ID: ").append(move.ticket().ticketId())
+                    .append(" (").append(move.ticket().ticketType()).append(", ")
+                    .append(move.ticket().ticketPriority()).append(")\n");
+        }
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
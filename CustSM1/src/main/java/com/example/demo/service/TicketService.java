@@ -5,27 +5,57 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.example.demo.config.TicketPageProperties;
 import com.example.demo.exceptions.DuplicateTicketException;
 import com.example.demo.exceptions.EmployeeNotFoundException;
 import com.example.demo.exceptions.InvalidTicketStatusException;
 import com.example.demo.exceptions.TicketNotFoundException;
+import com.example.demo.exceptions.TicketVersionConflictException;
+import com.example.demo.model.BulkTicketResult;
 import com.example.demo.model.Constants;
 import com.example.demo.model.Customer;
+import com.example.demo.model.DispatchQueueEntry;
+import com.example.demo.model.ReopenStats;
 import com.example.demo.model.Employee;
+import com.example.demo.model.LatencySample;
+import com.example.demo.model.LatencySample.Kind;
 import com.example.demo.model.Ticket;
+import com.example.demo.model.TicketBulkUpdate;
+import com.example.demo.model.TicketBulkUpdateResult;
+import com.example.demo.model.TicketChainEntry;
+import com.example.demo.model.TicketFilter;
+import com.example.demo.model.TicketPage;
+import com.example.demo.model.TicketSearchCriteria;
+import com.example.demo.model.TicketSearchResult;
+import com.example.demo.model.TicketState;
+import com.example.demo.model.TicketSummary;
+import com.example.demo.model.TicketUpdateNotice;
 import com.example.demo.repo.CustomerRepository;
 import com.example.demo.repo.EmployeeRepository;
+import com.example.demo.repo.TicketBatchRepository;
 import com.example.demo.repo.TicketRepository;
+import com.example.demo.repo.TicketSpecifications;
+import com.example.demo.repo.TicketStatsRepository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -48,13 +78,45 @@ public class TicketService {
 	 private final CustomerRepository customerRepository;
 	 private final EmailService emailService;
 	 private EmployeeRepository employeeRepository;
+	 private final EmployeeWorkloadIndex workloadIndex;
+	 private final TicketAssignmentService assignmentService;
+	 private final TicketBatchRepository ticketBatchRepository;
+	 private final OpenTicketRegistry openTicketRegistry;
+	 private final DepartmentLocks departmentLocks;
+	 private final List<TicketChangeListener> changeListeners;
+	 private final TicketPageProperties pageProperties;
+	 private final TicketReadCache readCache;
+	 private final TicketNotifier ticketNotifier;
+	 private final TicketStatusCounters statusCounters;
+	 private final TicketStatsRepository statsRepository;
+	 private final TicketLatencyHistograms latencyHistograms;
+	 private final TicketTrends ticketTrends;
 
 	    public TicketService(TicketRepository ticketRepository, CustomerRepository customerRepository,
-	    		EmailService emailService, EmployeeRepository employeeRepository) {
+	    		EmailService emailService, EmployeeRepository employeeRepository,
+	    		EmployeeWorkloadIndex workloadIndex, TicketAssignmentService assignmentService,
+	    		TicketBatchRepository ticketBatchRepository, OpenTicketRegistry openTicketRegistry,
+	    		DepartmentLocks departmentLocks, List<TicketChangeListener> changeListeners,
+	    		TicketPageProperties pageProperties, TicketReadCache readCache, TicketNotifier ticketNotifier,
+	    		TicketStatusCounters statusCounters, TicketStatsRepository statsRepository,
+	    		TicketLatencyHistograms latencyHistograms, TicketTrends ticketTrends) {
 	    	this.ticketRepository = ticketRepository;
 	    	this.customerRepository = customerRepository;
 			this.emailService = emailService;
 			this.employeeRepository = employeeRepository;
+			this.workloadIndex = workloadIndex;
+			this.assignmentService = assignmentService;
+			this.ticketBatchRepository = ticketBatchRepository;
+			this.openTicketRegistry = openTicketRegistry;
+			this.departmentLocks = departmentLocks;
+			this.changeListeners = changeListeners;
+			this.pageProperties = pageProperties;
+			this.readCache = readCache;
+			this.ticketNotifier = ticketNotifier;
+			this.statusCounters = statusCounters;
+			this.statsRepository = statsRepository;
+			this.latencyHistograms = latencyHistograms;
+			this.ticketTrends = ticketTrends;
 	    }
     
     @PersistenceContext
@@ -68,7 +130,12 @@ public class TicketService {
 
     private static final String ERROR_MESSAGE = "Ticket Not Found with ID: ";
 
-    private int roundRobinIndex = 0;
+    private static final int MAX_BULK_TICKETS = 500;
+
+    private static final Set<String> TICKET_STATUSES = Set.of(Constants.OPEN, Constants.PENDING, Constants.CLOSED);
+
+    private static final Set<String> TICKET_PRIORITIES = Set.of("LOW", "MEDIUM", "HIGH");
+
     
     /**
      * Adds a new ticket to the system and assigns an employee based on workload.
@@ -78,37 +145,123 @@ public class TicketService {
      */
     
     public Ticket addTicket(Ticket ticket) {
-    	
-    	logger.info("Adding new ticket for customer ID: "+ ticket.getCustomer().getCustomerId());
+    	return reserveAndCreate(ticket, this::createTicket);
+    }
+
+    /**
+     * Accepts a ticket for asynchronous intake: checks for duplicates, verifies the customer and saves the
+     * ticket as PENDING without an employee. Assignment and the customer email follow in assignAcceptedTicket.
+     * @throws DuplicateTicketException - Thrown if a duplicate ticket already exists.
+     */
+
+    public Ticket acceptTicket(Ticket ticket) {
+    	return reserveAndCreate(ticket, this::persistUnassignedTicket);
+    }
+
+    /**
+     * Reserves the ticket's (customer, type) key and runs the given creation step, releasing the key if the
+     * ticket is not created. (Helper method for addTicket and acceptTicket)
+     */
+
+    private Ticket reserveAndCreate(Ticket ticket, UnaryOperator<Ticket> creation) {
     	
     	 if (ticket.getCustomer() == null) {
     	        logger.error("Attempt to create ticket without customer information");
     	        throw new IllegalArgumentException("Ticket must have a customer associated with it");
     	    }
     	 
-    	List<Ticket> existingTickets = ticketRepository.findByCustomer_CustomerIdAndTicketTypeAndTicketStatusIn(
-    	        ticket.getCustomer().getCustomerId(),
-    	        ticket.getTicketType(),
-    	        Arrays.asList(Constants.PENDING, Constants.OPEN)
-    	    );
-
-    	    if (!existingTickets.isEmpty()) {
-    	    	logger.warn("Duplicate ticket found for customer ID:" + ticket.getCustomer().getCustomerId() + "and ticket type: " + ticket.getTicketType());
-    	        throw new DuplicateTicketException("A ticket of type " + ticket.getTicketType() + 
-    	            " is already open. Please wait until it is resolved.");
+    	int customerId = ticket.getCustomer().getCustomerId();
+    	logger.info("Adding new ticket for customer ID: "+ customerId);
+    	
+    	return reserveOpenKey(customerId, ticket.getTicketType(), () -> creation.apply(ticket));
+    }
+
+    /**
+     * Reserves the (customer, type) key that a write makes active and runs the write, releasing the key if the
+     * write fails. (Helper method for creating, reopening and reactivating tickets)
+     * @throws DuplicateTicketException - Thrown if the customer already has an active ticket of this type.
+     */
+
+    private Ticket reserveOpenKey(int customerId, String ticketType, Supplier<Ticket> write) {
+    	// Reserve the (customer, type) key in memory; an open ticket of the same type already holds it
+    	if (!openTicketRegistry.reserve(customerId, ticketType)) {
+    	    logger.warn("Duplicate ticket found for customer ID:" + customerId + "and ticket type: " + ticketType);
+    	    throw new DuplicateTicketException(duplicateTicketMessage(ticketType));
+    	}
+
+    	try {
+    	    return write.get();
+    	} catch (DataIntegrityViolationException e) {
+    	    if (isOpenTicketKeyViolation(e)) {
+    	        // Written at the same time through another instance, so the key is open in the database
+    	        logger.warn("Duplicate ticket rejected by the database for customer ID:" + customerId + "and ticket type: " + ticketType);
+    	        openTicketRegistry.markHeldElsewhere(customerId, ticketType);
+    	        throw new DuplicateTicketException(duplicateTicketMessage(ticketType));
     	    }
-  
+    	    openTicketRegistry.release(customerId, ticketType);
+    	    throw e;
+    	} catch (RuntimeException e) {
+    	    openTicketRegistry.release(customerId, ticketType);
+    	    throw e;
+    	}
+    }
+
+    /**
+     * Creates a ticket whose (customer, type) key has been reserved: verifies the customer, assigns an employee,
+     * saves the ticket and notifies the customer. (Helper method for addTicket)
+     */
+
+    private Ticket createTicket(Ticket ticket) {
+        prepareNewTicket(ticket);
+
+        // Choose, save and index under the department lock, so concurrent tickets see each other's assignment
+        Ticket savedTicket = departmentLocks.withLock(ticket.getTicketType(), () -> {
+            // Pick an 'Employee' designation employee of the ticket's department with the configured strategy
+            Integer assignedEmployee = assignmentService.selectEmployee(ticket.getTicketType())
+                    .orElseThrow(() -> new EmployeeNotFoundException(
+                            "No employees with 'Employee' designation available for ticket type: " + ticket.getTicketType()));
+
+            // Assign ticket to the selected employee
+            ticket.setEmployeeId(assignedEmployee);
+
+            // Save and return the ticket
+            Ticket saved = ticketRepository.save(ticket);
+            publishChange(null, TicketState.of(ticket));
+            return saved;
+        });
+        logger.info("Ticket successfully created with ID: {}"+ savedTicket.getTicketId());
+        
+        // Send email notification to the customer
+        sendTicketRaisedEmail(ticket);
+
+        return savedTicket;
+    }
+
+    /**
+     * Saves a ticket accepted by asynchronous intake as PENDING with no employee. (Helper method for acceptTicket)
+     */
+
+    private Ticket persistUnassignedTicket(Ticket ticket) {
+        prepareNewTicket(ticket);
+        ticket.setEmployeeId(Constants.UNASSIGNED_EMPLOYEE_ID);
+
+        Ticket savedTicket = ticketRepository.save(ticket);
+        publishChange(null, TicketState.of(ticket));
+        logger.info("Ticket accepted for assignment with ID: "+ savedTicket.getTicketId());
+        return savedTicket;
+    }
+
+    /**
+     * Sets the priority, PENDING status and raise date of a new ticket and verifies its customer.
+     */
+
+    private void prepareNewTicket(Ticket ticket) {
         // Set ticket priority   
         ticket.setTicketPriority(assignPriority(ticket.getTicketType()));
         
         // Set ticket status to "Pending" by default
         ticket.setTicketStatus(Constants.PENDING);
 
-        if (ticket.getCustomer() == null) {
-        	logger.error("Attempt to create ticket without customer information");
-            throw new IllegalArgumentException("Ticket must have a customer associated with it");
-        }
-
         if (ticket.getTicketRaiseDate() == null) {
             ticket.setTicketRaiseDate(LocalDateTime.now());
         }
@@ -121,80 +274,202 @@ public class TicketService {
         
         ticket.setCustomer(customer);
         logger.info("Customer details verified for ticket creation");
-        
+    }
 
-        // Get all employees with "Employee" designation from the specific department
-        
-        List<Employee> departmentEmployees = employeeRepository.findByEmployeeDesignation("Employee");
-        if (departmentEmployees.isEmpty()) {
-            logger.warn("No employees found with 'Employee' designation");
-        }
-        
-        // Filter employees by department
-        List<Integer> eligibleEmployees = departmentEmployees.stream()
-                .filter(emp -> emp.getEmployeeDept().equals(ticket.getTicketType()))
-                .map(Employee::getEmployeeId)
-                .toList(); 
+    /**
+     * Assigns an employee to a ticket accepted by asynchronous intake. A ticket that is already assigned or no
+     * longer PENDING is returned unchanged. If the department has no assignable employees the ticket stays
+     * unassigned and is returned as is.
+     * @throws TicketNotFoundException - Thrown if the ticket no longer exists.
+     */
 
-        if (eligibleEmployees.isEmpty()) {
-            throw new EmployeeNotFoundException("No employees with 'Employee' designation available for ticket type: " + ticket.getTicketType());
+    public Ticket assignAcceptedTicket(int ticketId) {
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new TicketNotFoundException("Ticket not found with ID: " + ticketId));
+        if (ticket.getEmployeeId() != Constants.UNASSIGNED_EMPLOYEE_ID
+                || !Constants.PENDING.equalsIgnoreCase(ticket.getTicketStatus())) {
+            return ticket;
         }
-        
-
-        // Find employees with the least number of total tickets
-        Integer minTicketsEmployee = eligibleEmployees.stream()
-                .min(Comparator.comparingInt(ticketRepository::countByEmployeeId))
-                .orElse(null);
-
-        List<Integer> leastLoadedEmployees = eligibleEmployees.stream()
-                .filter(empId -> ticketRepository.countByEmployeeId(empId)
-                        == ticketRepository.countByEmployeeId(minTicketsEmployee))
-                .toList();
 
-        // Find employees with the least number of OPEN tickets
-        Integer minOpenTicketsEmployee = leastLoadedEmployees.stream()
-                .min(Comparator.comparingInt(empId -> ticketRepository.countByEmployeeIdAndTicketStatus(empId, "OPEN")))
-                .orElse(null);
+        return departmentLocks.withLock(ticket.getTicketType(), () -> {
+            Optional<Integer> assignedEmployee = assignmentService.selectEmployee(ticket.getTicketType());
+            if (assignedEmployee.isEmpty()) {
+                logger.warn("Ticket " + ticketId + " left unassigned, no employees available for ticket type: " + ticket.getTicketType());
+                return ticket;
+            }
 
-        List<Integer> leastOpenEmployees = leastLoadedEmployees.stream()
-                .filter(empId -> ticketRepository.countByEmployeeIdAndTicketStatus(empId, Constants.OPEN)
-                        == ticketRepository.countByEmployeeIdAndTicketStatus(minOpenTicketsEmployee, Constants.OPEN))
-                .toList();
+            TicketState before = TicketState.of(ticket);
+            ticket.setEmployeeId(assignedEmployee.get());
+            Ticket savedTicket = ticketRepository.save(ticket);
+            publishChange(before, TicketState.of(ticket));
+            logger.info("Ticket " + ticketId + " assigned to employee ID: " + assignedEmployee.get());
+            return savedTicket;
+        });
+    }
 
-        // Assign based on priority distribution
-        Integer assignedEmployee = leastOpenEmployees.stream()
-                .min(Comparator.comparingInt(empId -> ticketRepository.countByEmployeeIdAndTicketPriority(empId, "LOW")))
-                .orElseGet(() -> leastOpenEmployees.stream()
-                        .min(Comparator.comparingInt(empId -> ticketRepository.countByEmployeeIdAndTicketPriority(empId, "MEDIUM")))
-                        .orElse(null));
+    /**
+     * Returns the tickets accepted by asynchronous intake that are still waiting for an employee.
+     */
 
-        // Apply round-robin if all conditions match
-        if (assignedEmployee == null) {
-            int nextIndex = (roundRobinIndex % leastOpenEmployees.size());
-            assignedEmployee = leastOpenEmployees.get(nextIndex);
-            roundRobinIndex++;
-        }
+    public List<Ticket> findUnassignedTickets() {
+        return ticketRepository.findByEmployeeIdAndTicketStatus(Constants.UNASSIGNED_EMPLOYEE_ID, Constants.PENDING);
+    }
 
-        // Assign ticket to the selected employee
-        ticket.setEmployeeId(assignedEmployee);
+    /**
+     * Sends the "Ticket Raised Successfully" email for a saved and assigned ticket.
+     */
 
-        // Save and return the ticket
-        Ticket savedTicket = ticketRepository.save(ticket);
-        logger.info("Ticket successfully created with ID: {}"+ savedTicket.getTicketId());
-        
-        // Send email notification to the customer
+    public void sendTicketRaisedEmail(Ticket ticket) {
         String emailSubject = "Ticket Raised Successfully";
         String emailBody = "Dear " + ticket.getCustomer().getCustomerFirstname() + ",\n\n" +
                 "Your ticket has been successfully raised. Our team will get back to you shortly.\n\n" +
                 "Ticket Details:\n" +
                 "Ticket ID: " + ticket.getTicketId() + "\n" +
-                "Assigned Employee ID: " + assignedEmployee + "\n" +
+                "Assigned Employee ID: " + ticket.getEmployeeId() + "\n" +
                 "Issue: " + ticket.getTicketDescription() + "\n\n" +
                 "Thank you for contacting us.";
 
         emailService.sendEmail(ticket.getCustomer().getCustomerEmail(), emailSubject, emailBody);
+    }
+    
+    /**
+     * Adds a batch of tickets in one pass: one customer lookup, duplicate checks against the open ticket
+     * registry, one workload snapshot for assignment and a batched insert. Every item gets its own result, so a
+     * duplicate or rejected item does not fail the rest of the batch. Customers receive one email per batch.
+     */
 
-        return savedTicket;
+    public List<BulkTicketResult> addTickets(List<Ticket> tickets) {
+        if (tickets == null || tickets.isEmpty()) {
+            throw new IllegalArgumentException("At least one ticket is required");
+        }
+        if (tickets.size() > MAX_BULK_TICKETS) {
+            throw new IllegalArgumentException("A batch can contain at most " + MAX_BULK_TICKETS + " tickets");
+        }
+        logger.info("Adding batch of " + tickets.size() + " tickets");
+
+        BulkTicketResult[] results = new BulkTicketResult[tickets.size()];
+
+        // One lookup for every customer referenced by the batch
+        Set<Integer> customerIds = tickets.stream()
+                .filter(ticket -> ticket != null && ticket.getCustomer() != null)
+                .map(ticket -> ticket.getCustomer().getCustomerId())
+                .collect(Collectors.toSet());
+        Map<Integer, Customer> customers = customerRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getCustomerId, Function.identity()));
+
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int index = 0; index < tickets.size(); index++) {
+            Ticket ticket = tickets.get(index);
+            if (ticket == null || ticket.getCustomer() == null) {
+                results[index] = BulkTicketResult.rejected(index, "Ticket must have a customer associated with it");
+                continue;
+            }
+            if (ticket.getTicketType() == null) {
+                results[index] = BulkTicketResult.rejected(index, "Ticket type is required");
+                continue;
+            }
+            Customer customer = customers.get(ticket.getCustomer().getCustomerId());
+            if (customer == null) {
+                results[index] = BulkTicketResult.rejected(index, "Customer not found");
+                continue;
+            }
+            // Also catches the same customer and type appearing twice in one batch
+            if (!openTicketRegistry.reserve(customer.getCustomerId(), ticket.getTicketType())) {
+                results[index] = BulkTicketResult.duplicate(index, duplicateTicketMessage(ticket.getTicketType()));
+                continue;
+            }
+
+            ticket.setCustomer(customer);
+            ticket.setTicketPriority(assignPriority(ticket.getTicketType()));
+            ticket.setTicketStatus(Constants.PENDING);
+            if (ticket.getTicketRaiseDate() == null) {
+                ticket.setTicketRaiseDate(LocalDateTime.now());
+            }
+            acceptedIndexes.add(index);
+        }
+
+        List<Ticket> newTickets = new ArrayList<>();
+        List<Integer> newTicketIndexes = new ArrayList<>();
+        Set<String> departments = acceptedIndexes.stream()
+                .map(index -> tickets.get(index).getTicketType())
+                .collect(Collectors.toSet());
+        try {
+            departmentLocks.withLocks(departments, () -> {
+                // Assign the whole batch against one workload snapshot
+                List<Optional<Integer>> assignedEmployees = assignmentService.selectEmployees(acceptedIndexes.stream()
+                        .map(index -> TicketState.of(tickets.get(index)))
+                        .toList());
+
+                for (int i = 0; i < acceptedIndexes.size(); i++) {
+                    int index = acceptedIndexes.get(i);
+                    Ticket ticket = tickets.get(index);
+                    Optional<Integer> assignedEmployee = assignedEmployees.get(i);
+                    if (assignedEmployee.isEmpty()) {
+                        openTicketRegistry.release(ticket.getCustomer().getCustomerId(), ticket.getTicketType());
+                        results[index] = BulkTicketResult.rejected(index,
+                                "No employees with 'Employee' designation available for ticket type: " + ticket.getTicketType());
+                        continue;
+                    }
+                    ticket.setEmployeeId(assignedEmployee.get());
+                    newTickets.add(ticket);
+                    newTicketIndexes.add(index);
+                }
+
+                ticketBatchRepository.insertAll(newTickets);
+                newTickets.forEach(ticket -> publishChange(null, TicketState.of(ticket)));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            acceptedIndexes.forEach(index -> openTicketRegistry.release(
+                    tickets.get(index).getCustomer().getCustomerId(), tickets.get(index).getTicketType()));
+            if (e instanceof DataIntegrityViolationException violation && isOpenTicketKeyViolation(violation)) {
+                throw new DuplicateTicketException("A ticket in the batch is already open. Please resubmit the batch.");
+            }
+            throw e;
+        }
+
+        for (int i = 0; i < newTickets.size(); i++) {
+            results[newTicketIndexes.get(i)] = BulkTicketResult.created(newTicketIndexes.get(i), newTickets.get(i));
+        }
+        logger.info("Batch created " + newTickets.size() + " of " + tickets.size() + " tickets");
+
+        sendBatchRaisedEmails(newTickets);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Sends one confirmation email per customer listing every ticket created for them in a batch.
+     */
+
+    private void sendBatchRaisedEmails(List<Ticket> newTickets) {
+        Map<Integer, List<Ticket>> ticketsByCustomer = newTickets.stream()
+                .collect(Collectors.groupingBy(ticket -> ticket.getCustomer().getCustomerId(),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        for (List<Ticket> customerTickets : ticketsByCustomer.values()) {
+            Customer customer = customerTickets.get(0).getCustomer();
+            StringBuilder emailBody = new StringBuilder("Dear " + customer.getCustomerFirstname() + ",\n\n" +
+                    "Your tickets have been successfully raised. Our team will get back to you shortly.\n\n" +
+                    "Ticket Details:\n");
+            for (Ticket ticket : customerTickets) {
+                emailBody.append("Ticket ID: ").append(ticket.getTicketId())
+                        .append(", Assigned Employee ID: ").append(ticket.getEmployeeId())
+                        .append(", Issue: ").append(ticket.getTicketDescription()).append("\n");
+            }
+            emailBody.append("\nThank you for contacting us.");
+
+            emailService.sendEmail(customer.getCustomerEmail(), "Tickets Raised Successfully", emailBody.toString());
+        }
+    }
+
+    private static String duplicateTicketMessage(String ticketType) {
+        return "A ticket of type " + ticketType + " is already open. Please wait until it is resolved.";
+    }
+
+    // True if the insert hit the unique index that allows one open ticket per customer and type
+    private static boolean isOpenTicketKeyViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(OpenTicketRegistry.OPEN_KEY_INDEX);
     }
     
     // Set priority and status for the ticket
@@ -209,21 +484,84 @@ public class TicketService {
     }
     
     /**
-     * Fetches and returns all the tickets in the system.
+     * Returns the first page of tickets at the maximum page size. The whole table is no longer loaded in one call;
+     * the page's cursor continues through showTicketPage.
      */
     
-    public List<Ticket> showTicket() {
-    	logger.info("Fetching all tickets");
-        return ticketRepository.findAll();
+    public TicketPage showTicket() {
+    	logger.info("Fetching first page of tickets");
+        return showTicketPage(TicketFilter.NONE, null, pageProperties.getMaxSize());
+    }
+
+    /**
+     * Returns the page of tickets matching the filter that follows the cursor, in ascending ticket ID order.
+     * A missing size uses the default page size and sizes above the maximum are capped.
+     * @throws IllegalArgumentException - Thrown if the cursor is invalid or the size is not positive.
+     */
+
+    public TicketPage showTicketPage(TicketFilter filter, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        int afterId = TicketCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page follows
+        List<Ticket> tickets = ticketRepository.findTicketPage(afterId, filter.ticketStatus(), filter.ticketType(),
+                filter.employeeId(), filter.customerId(), PageRequest.of(0, pageSize + 1));
+        if (tickets.size() <= pageSize) {
+            return new TicketPage(tickets, tickets.size(), null);
+        }
+        List<Ticket> page = new ArrayList<>(tickets.subList(0, pageSize));
+        return new TicketPage(page, pageSize, TicketCursor.encode(page.get(pageSize - 1).getTicketId()));
+    }
+
+    /**
+     * Returns the page of tickets matching the search criteria that follows the cursor, in ascending ticket ID
+     * order, with the customer fetched in the same query. The total number of matches is only counted when
+     * includeTotal is set, as the count has to visit every match.
+     * @throws IllegalArgumentException - Thrown if the cursor, size or raise date range is invalid.
+     */
+
+    public TicketSearchResult searchTickets(TicketSearchCriteria criteria, String cursor, Integer size,
+            boolean includeTotal) {
+        int pageSize = pageSize(size);
+        int afterId = TicketCursor.decode(cursor);
+        if (criteria.raisedFrom() != null && criteria.raisedTo() != null
+                && !criteria.raisedFrom().isBefore(criteria.raisedTo())) {
+            throw new IllegalArgumentException("raisedFrom must be before raisedTo");
+        }
+
+        List<Ticket> tickets = ticketRepository.findBy(TicketSpecifications.matching(criteria, afterId),
+                query -> query.sortBy(Sort.by(Sort.Direction.ASC, "ticketId")).limit(pageSize + 1).all());
+        Long total = includeTotal ? ticketRepository.count(TicketSpecifications.matching(criteria, 0)) : null;
+
+        String nextCursor = null;
+        if (tickets.size() > pageSize) {
+            tickets = tickets.subList(0, pageSize);
+            nextCursor = TicketCursor.encode(tickets.get(pageSize - 1).getTicketId());
+        }
+        List<TicketSummary> summaries = tickets.stream().map(TicketSummary::of).toList();
+        return new TicketSearchResult(summaries, summaries.size(), nextCursor, total);
+    }
+
+    // Requested page size, defaulted and capped by the ticket.page settings
+    private int pageSize(Integer size) {
+        int pageSize = size == null ? pageProperties.getDefaultSize() : Math.min(size, pageProperties.getMaxSize());
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return pageSize;
     }
     
     /**
-     * Searches and returns a ticket by its unique ticket ID. If not found, throws TicketNotFoundException.
+     * Searches and returns a ticket by its unique ticket ID, served from the read cache when present. Runs outside
+     * the class-level transaction so a cache hit does not touch the database. If not found, throws
+     * TicketNotFoundException.
      */
     
-    public Ticket searchTicketByTicketId(int ticketId) {
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public TicketSummary searchTicketByTicketId(int ticketId) {
     	logger.info("Searching for ticket with Id: "+ ticketId);
-    	Optional<Ticket> ticket = ticketRepository.findById(ticketId);
+    	Optional<TicketSummary> ticket = readCache.get(ticketId,
+    			id -> ticketRepository.findById(id).map(TicketSummary::of));
         
         // If the ticket is not found, throw TicketNotFoundException
         if (ticket.isEmpty()) {
@@ -236,23 +574,62 @@ public class TicketService {
     }
     
     /**
-     * Searches and returns a list of tickets for a given customer ID.
+     * Returns the current ETag of a ticket for conditional lookups, from the read cache when present and
+     * otherwise from its version row, without loading the ticket.
+     * @throws TicketNotFoundException - Thrown if the ticket does not exist.
      */
     
-    public List<Ticket> searchTicketByCustomerId(int customerId) {
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public String getTicketETag(int ticketId) {
+        Optional<TicketSummary> cached = readCache.peek(ticketId);
+        if (cached.isPresent()) {
+            return TicketETags.of(cached.get());
+        }
+        List<Object[]> rows = ticketRepository.findVersionRowsByTicketId(ticketId);
+        if (rows.isEmpty()) {
+            throw new TicketNotFoundException(ERROR_MESSAGE + ticketId);
+        }
+        return TicketETags.ofVersionRows(rows);
+    }
+    
+    /**
+     * Returns the current ETag of a customer's ticket list, or null if the customer has no tickets.
+     */
+    
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public String getCustomerTicketsETag(int customerId) {
+        List<Object[]> rows = ticketRepository.findVersionRowsByCustomerId(customerId);
+        return rows.isEmpty() ? null : TicketETags.ofVersionRows(rows);
+    }
+    
+    /**
+     * Returns the current ETag of an employee's ticket list, or null if the employee has no tickets.
+     */
+    
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public String getEmployeeTicketsETag(int employeeId) {
+        List<Object[]> rows = ticketRepository.findVersionRowsByEmployeeId(employeeId);
+        return rows.isEmpty() ? null : TicketETags.ofVersionRows(rows);
+    }
+    
+    /**
+     * Searches and returns summaries of the tickets for a given customer ID, read in one query.
+     */
+    
+    public List<TicketSummary> searchTicketByCustomerId(int customerId) {
     	logger.info("Searching tickets for customer ID: {}"+ customerId);
-        List<Ticket> tickets= ticketRepository.findByCustomer_CustomerId(customerId);
+        List<TicketSummary> tickets= ticketRepository.findSummariesByCustomerId(customerId);
         logger.info("Found"+tickets.size()+"tickets for customer ID:"+ customerId);
         return tickets;
     }
     
     /**
-     * Searches and returns a list of tickets assigned to a given employee ID.
+     * Searches and returns summaries of the tickets assigned to a given employee ID, read in one query.
      */
     
-    public List<Ticket> searchTicketByEmployeeId(int employeeId) {
+    public List<TicketSummary> searchTicketByEmployeeId(int employeeId) {
     	logger.info("Searching tickets for employee ID: "+ employeeId);
-        List<Ticket> tickets =  ticketRepository.findByEmployeeId(employeeId);
+        List<TicketSummary> tickets =  ticketRepository.findSummariesByEmployeeId(employeeId);
         logger.info("Found" +tickets.size() + "tickets for employee ID:"+employeeId);
         return tickets;
     }
@@ -264,10 +641,29 @@ public class TicketService {
      */
     
     public Ticket updateTicketDetails(int ticketId, Ticket updatedTicket) {
+        return updateTicketDetails(ticketId, updatedTicket, null);
+    }
+    
+    /**
+     * Updates the details of an existing ticket if its current ETag matches the If-Match value. A null value
+     * skips the check; the ticket's version still rejects a concurrent update made after the ticket was read.
+     * @throws TicketVersionConflictException - Thrown if the ticket has changed since the client read it.
+     * @throws DuplicateTicketException - Thrown if the update makes the ticket active alongside another active
+     * ticket of the customer with the same type.
+     */
+    
+    public Ticket updateTicketDetails(int ticketId, Ticket updatedTicket, String ifMatch) {
         logger.info("Updating ticket with ID: " + ticketId);
         
         Ticket existingTicket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
+        if (ifMatch != null && !TicketETags.matches(ifMatch, TicketETags.of(existingTicket))) {
+            logger.error("Ticket " + ticketId + " changed since version in If-Match: " + ifMatch);
+            throw new TicketVersionConflictException("Ticket " + ticketId + " has been modified; reload it and retry");
+        }
+        TicketState before = TicketState.of(existingTicket);
+        boolean hadResponse = existingTicket.getResponseTime() != null;
+        boolean wasClosed = Constants.CLOSED.equalsIgnoreCase(existingTicket.getTicketStatus());
 
         String customerEmail = existingTicket.getCustomer().getCustomerEmail();
 
@@ -284,16 +680,33 @@ public class TicketService {
         boolean isEmployeeUpdate = isStatusUpdated || isTicketTypeUpdated || isTicketPriorityUpdated;
         boolean isCustomerUpdate = isRatingOrFeedbackUpdated && !isEmployeeUpdate;
 
-        if (isEmployeeUpdate) {
-            processEmployeeUpdates(existingTicket, updatedTicket, isStatusUpdated, isTicketTypeUpdated, isStatusChangedToClosed);
-        }
+        Supplier<Ticket> applyUpdates = () -> {
+            if (isEmployeeUpdate) {
+                processEmployeeUpdates(existingTicket, updatedTicket, isStatusUpdated, isTicketTypeUpdated, isStatusChangedToClosed);
+            }
 
-        if (isCustomerUpdate) {
-            processCustomerUpdates(existingTicket, updatedTicket);
-        }
+            if (isCustomerUpdate) {
+                processCustomerUpdates(existingTicket, updatedTicket);
+            }
 
-        // Save and return the updated ticket, send email notifications
-        Ticket savedTicket = ticketRepository.save(existingTicket);
+            // Save the updated ticket
+            Ticket saved = ticketRepository.save(existingTicket);
+            publishChange(before, TicketState.of(existingTicket));
+            recordLatencies(existingTicket, hadResponse, wasClosed);
+            return saved;
+        };
+
+        // A type change reassigns the ticket, which is decided under the new department's lock
+        Supplier<Ticket> write = isTicketTypeUpdated
+                ? () -> departmentLocks.withLock(updatedTicket.getTicketType(), applyUpdates)
+                : applyUpdates;
+        // Reactivating the ticket or moving an active one to another type takes that type's open key
+        TicketState target = new TicketState(before.ticketId(), before.employeeId(), before.customerId(),
+                updatedTicket.getTicketType(), updatedTicket.getTicketStatus(), before.ticketPriority());
+        boolean takesOpenKey = isEmployeeUpdate && target.isActive() && (!before.isActive() || isTicketTypeUpdated);
+        Ticket savedTicket = takesOpenKey
+                ? reserveOpenKey(before.customerId(), target.ticketType(), write)
+                : write.get();
         logger.info("Ticket successfully closed by customer, ID: "+ ticketId);
         
         if (isEmployeeUpdate && isStatusUpdated) {
@@ -317,6 +730,155 @@ public class TicketService {
         return savedTicket;
     }
 
+    /**
+     * Applies one status, priority or comment change to many tickets, e.g. closing every ticket of an outage.
+     * The tickets are locked and read with one query and written with one UPDATE that computes response,
+     * resolve and turnaround times per row. Closed tickets cannot be made active again in bulk, since that
+     * could give a customer two open tickets of one type; they are reported as rejected. Customers get one
+     * email per update, after the update commits.
+     */
+
+    public TicketBulkUpdateResult bulkUpdateTickets(TicketBulkUpdate update) {
+        TicketBulkUpdate normalized = validateBulkUpdate(update);
+        List<Integer> ticketIds = normalized.ticketIds();
+        logger.info("Bulk updating " + ticketIds.size() + " tickets");
+
+        Map<Integer, TicketBatchRepository.LockedTicket> lockedTickets = ticketBatchRepository.lockTickets(ticketIds)
+                .stream()
+                .collect(Collectors.toMap(locked -> locked.state().ticketId(), Function.identity()));
+
+        List<Integer> updated = new ArrayList<>();
+        List<Integer> unchanged = new ArrayList<>();
+        List<Integer> notFound = new ArrayList<>();
+        List<Integer> rejected = new ArrayList<>();
+        for (Integer ticketId : ticketIds) {
+            TicketBatchRepository.LockedTicket locked = lockedTickets.get(ticketId);
+            if (locked == null) {
+                notFound.add(ticketId);
+            } else if (isBulkReactivation(locked.state(), normalized)) {
+                rejected.add(ticketId);
+            } else if (isBulkChange(locked, normalized)) {
+                updated.add(ticketId);
+            } else {
+                unchanged.add(ticketId);
+            }
+        }
+        if (updated.isEmpty()) {
+            return new TicketBulkUpdateResult(updated, unchanged, notFound, rejected);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        ticketBatchRepository.bulkUpdate(updated, normalized, now);
+
+        List<TicketUpdateNotice> notices = new ArrayList<>(updated.size());
+        List<LatencySample> latencies = new ArrayList<>();
+        for (Integer ticketId : updated) {
+            TicketBatchRepository.LockedTicket locked = lockedTickets.get(ticketId);
+            TicketState before = locked.state();
+            TicketState after = new TicketState(before.ticketId(), before.employeeId(), before.customerId(),
+                    before.ticketType(), valueOrCurrent(normalized.ticketStatus(), before.ticketStatus()),
+                    valueOrCurrent(normalized.ticketPriority(), before.ticketPriority()));
+            publishChange(before, after);
+
+            boolean isStatusUpdated = !after.ticketStatus().equalsIgnoreCase(before.ticketStatus());
+            boolean isPriorityUpdated = !after.ticketPriority().equalsIgnoreCase(before.ticketPriority());
+            // The same conditions under which the UPDATE sets the response and resolve times
+            if (locked.raiseDate() != null && isStatusUpdated) {
+                if (!locked.responded()) {
+                    latencies.add(LatencySample.between(after.employeeId(), Kind.RESPONSE, locked.raiseDate(), now));
+                }
+                if (Constants.CLOSED.equals(after.ticketStatus())) {
+                    latencies.add(LatencySample.between(after.employeeId(), Kind.RESOLUTION, locked.raiseDate(), now));
+                }
+            }
+            notices.add(new TicketUpdateNotice(locked.customerEmail(), ticketId,
+                    isStatusUpdated ? before.ticketStatus() : null, after.ticketStatus(),
+                    isPriorityUpdated ? before.ticketPriority() : null, after.ticketPriority(),
+                    normalized.employeeComment()));
+        }
+        ticketNotifier.sendAfterCommit(notices);
+        recordAfterCommit(latencies);
+
+        logger.info("Bulk update changed " + updated.size() + " tickets, " + unchanged.size() + " unchanged, "
+                + notFound.size() + " not found, " + rejected.size() + " rejected");
+        return new TicketBulkUpdateResult(updated, unchanged, notFound, rejected);
+    }
+
+    /**
+     * Checks the bulk update and returns it with duplicate ticket IDs removed and the status and priority in
+     * upper case. (Helper method for bulkUpdateTickets)
+     */
+
+    private TicketBulkUpdate validateBulkUpdate(TicketBulkUpdate update) {
+        if (update == null || update.ticketIds() == null || update.ticketIds().isEmpty()) {
+            throw new IllegalArgumentException("At least one ticket ID is required");
+        }
+        List<Integer> ticketIds = update.ticketIds().stream().filter(Objects::nonNull).distinct().toList();
+        if (ticketIds.size() > MAX_BULK_TICKETS) {
+            throw new IllegalArgumentException("A bulk update can contain at most " + MAX_BULK_TICKETS + " tickets");
+        }
+        if (update.ticketStatus() == null && update.ticketPriority() == null && update.employeeComment() == null) {
+            throw new IllegalArgumentException("A bulk update must change the status, priority or employee comment");
+        }
+        String ticketStatus = update.ticketStatus() == null ? null : update.ticketStatus().toUpperCase();
+        if (ticketStatus != null && !TICKET_STATUSES.contains(ticketStatus)) {
+            throw new IllegalArgumentException("Invalid ticket status: " + update.ticketStatus());
+        }
+        String ticketPriority = update.ticketPriority() == null ? null : update.ticketPriority().toUpperCase();
+        if (ticketPriority != null && !TICKET_PRIORITIES.contains(ticketPriority)) {
+            throw new IllegalArgumentException("Invalid ticket priority: " + update.ticketPriority());
+        }
+        return new TicketBulkUpdate(ticketIds, ticketStatus, ticketPriority, update.employeeComment());
+    }
+
+    private static boolean isBulkReactivation(TicketState current, TicketBulkUpdate update) {
+        return update.ticketStatus() != null && !current.isActive()
+                && !Constants.CLOSED.equalsIgnoreCase(update.ticketStatus());
+    }
+
+    private static boolean isBulkChange(TicketBatchRepository.LockedTicket locked, TicketBulkUpdate update) {
+        TicketState current = locked.state();
+        return (update.ticketStatus() != null && !update.ticketStatus().equalsIgnoreCase(current.ticketStatus()))
+                || (update.ticketPriority() != null && !update.ticketPriority().equalsIgnoreCase(current.ticketPriority()))
+                || (update.employeeComment() != null && !update.employeeComment().equals(locked.employeeComment()));
+    }
+
+    private static String valueOrCurrent(String value, String current) {
+        return value != null ? value : current;
+    }
+
+    /**
+     * Records the ticket's response time if it has just been responded to, and its resolution time if it has
+     * just been closed, in the latency histograms once the update commits. (Helper method for updateTicket)
+     */
+
+    private void recordLatencies(Ticket ticket, boolean hadResponse, boolean wasClosed) {
+        if (ticket.getTicketRaiseDate() == null) {
+            return;
+        }
+        List<LatencySample> samples = new ArrayList<>(2);
+        if (!hadResponse && ticket.getResponseTime() != null) {
+            samples.add(LatencySample.between(ticket.getEmployeeId(), Kind.RESPONSE, ticket.getTicketRaiseDate(),
+                    ticket.getResponseTime()));
+        }
+        if (!wasClosed && Constants.CLOSED.equalsIgnoreCase(ticket.getTicketStatus()) && ticket.getResolveTime() != null) {
+            samples.add(LatencySample.between(ticket.getEmployeeId(), Kind.RESOLUTION, ticket.getTicketRaiseDate(),
+                    ticket.getResolveTime()));
+        }
+        recordAfterCommit(samples);
+    }
+
+    /**
+     * Hands the samples to the latency histograms and counts the first responses among them in the ticket
+     * trends, once the write commits. Raised and closed tickets reach the trends as committed changes.
+     */
+
+    private void recordAfterCommit(List<LatencySample> samples) {
+        latencyHistograms.recordAfterCommit(samples);
+        ticketTrends.recordResponsesAfterCommit(
+                (int) samples.stream().filter(sample -> sample.kind() == Kind.RESPONSE).count());
+    }
+
     /**
      *Checks whether the ticket status has been changed (Helper method for updateTicket)
      */
@@ -369,34 +931,12 @@ public class TicketService {
 
     /**
      * Reassigns a ticket to an employee based on the ticket type and employee workload.
+     * The caller saves the ticket while holding the department lock of its ticket type.
      */
     
     public void reassignTicketToEmployee(Ticket ticket) {
-        List<Employee> eligibleEmployees = new ArrayList<>();
-        
-        for (Employee emp : employeeRepository.findByEmployeeDesignation("Employee")) {
-            if (emp.getEmployeeDept().equals(ticket.getTicketType())) {
-                eligibleEmployees.add(emp);
-            }
-        }
-
-        if (!eligibleEmployees.isEmpty()) {
-            Integer reassignedEmployee = null;
-            int minTickets = Integer.MAX_VALUE;
-
-            for (Employee emp : eligibleEmployees) {
-                int ticketCount = ticketRepository.countByEmployeeId(emp.getEmployeeId());
-                if (ticketCount < minTickets) {
-                    minTickets = ticketCount;
-                    reassignedEmployee = emp.getEmployeeId();
-                }
-            }
-            
-
-            if (reassignedEmployee != null) {
-                ticket.setEmployeeId(reassignedEmployee);
-            }
-        }
+        assignmentService.selectEmployee(ticket.getTicketType())
+                .ifPresent(ticket::setEmployeeId);
     }
 
     /** Calculate turnaround time in days:hours:min:seconds format
@@ -431,16 +971,50 @@ public class TicketService {
             throw new InvalidTicketStatusException("Ticket is already closed.");
         }
  
+        TicketState before = TicketState.of(existingTicket);
         existingTicket.setTicketStatus(Constants.CLOSED);
         existingTicket.setResolveTime(LocalDateTime.now());
  
-        return ticketRepository.save(existingTicket);
+        Ticket savedTicket = ticketRepository.save(existingTicket);
+        publishChange(before, TicketState.of(existingTicket));
+        recordLatencies(existingTicket, true, false);
+        return savedTicket;
     }
  
     /**
-     * Reopens a previously closed ticket, creating a new ticket based on the existing ticket's details.
+     * Returns the reopen chain the ticket belongs to, from the original ticket through every reopen of it,
+     * read in one recursive query.
+     * @throws TicketNotFoundException - Thrown if the ticket is not found.
+     */
+    
+    public List<TicketChainEntry> getTicketChain(int ticketId) {
+        List<TicketChainEntry> chain = ticketRepository.findTicketChain(ticketId).stream()
+                .map(TicketChainEntry::of)
+                .toList();
+        if (chain.isEmpty()) {
+            throw new TicketNotFoundException(ERROR_MESSAGE + ticketId);
+        }
+        return chain;
+    }
+    
+    /**
+     * Returns reopen counts per ticket type. Every reopened ticket carries its parent and reopen count from
+     * the moment it is created, so the counts are always current.
+     */
+    
+    public List<ReopenStats> getReopenStats() {
+        return ticketRepository.findReopenStats().stream()
+                .map(row -> new ReopenStats((String) row[0], ((Number) row[1]).longValue(),
+                        ((Number) row[2]).longValue(), ((Number) row[3]).intValue()))
+                .toList();
+    }
+    
+    /**
+     * Reopens a previously closed ticket, creating a new ticket based on the existing ticket's details and linked
+     * to it as its parent.
      * @throws TicketNotFoundException - Thrown if the ticket is not found.
      * @throws InvalidTicketStatusException - Thrown if the ticket is not closed.
+     * @throws DuplicateTicketException - Thrown if the customer already has an active ticket of this type.
      */
     
     public Ticket reopenTicket(int ticketId) {
@@ -466,12 +1040,23 @@ public class TicketService {
         newTicket.setTicketRaiseDate(LocalDateTime.now());
         newTicket.setTicketStatus(Constants.PENDING); // Set status to PENDING, not CLOSED
         newTicket.setTicketPriority(existingTicket.getTicketPriority());
+        newTicket.setParentTicketId(existingTicket.getTicketId());
+        newTicket.setReopenCount(existingTicket.getReopenCount() + 1);
 
-        // Assign an employee based on ticket type
-        newTicket.setEmployeeId(assignEmployeeForTicketType(existingTicket.getTicketType()));
+        // The new ticket is active, so it takes the open key unless another ticket of this type holds it
+        int customerId = existingTicket.getCustomer() != null ? existingTicket.getCustomer().getCustomerId() : 0;
+        Ticket savedTicket = reserveOpenKey(customerId, existingTicket.getTicketType(),
+                () -> departmentLocks.withLock(existingTicket.getTicketType(), () -> {
+            // Assign an employee based on ticket type and workload
+            newTicket.setEmployeeId(assignmentService.selectEmployee(existingTicket.getTicketType())
+                    .orElseThrow(() -> new EmployeeNotFoundException(
+                            "No employees available for ticket type: " + existingTicket.getTicketType())));
 
-        // Save and return the new ticket
-        Ticket savedTicket = ticketRepository.save(newTicket);
+            // Save and return the new ticket
+            Ticket saved = ticketRepository.save(newTicket);
+            publishChange(null, TicketState.of(newTicket));
+            return saved;
+        }));
 
         // Send email notification to the customer
         String emailSubject = "Your Ticket has been Reopened Successfully";
@@ -488,26 +1073,9 @@ public class TicketService {
         return savedTicket;
     }
  
-    /**
-     * Assigns an employee to a ticket based on its type and availability of employees.
-     */
-    
-    private int assignEmployeeForTicketType(String ticketType) {
-        
-        List<Employee> availableEmployees = employeeRepository.findByEmployeeDept(ticketType);
-        if (availableEmployees.isEmpty()) {
-            throw new EmployeeNotFoundException("No employees available for ticket type: " + ticketType);
-        }
-        
-        // For simplicity, assign to the first available employee
-        // In a real implementation, you might want to use a more sophisticated assignment algorithm
-        return availableEmployees.get(0).getEmployeeId();
-    }
-    
-    
   //location state vs no.of tickets
     public List<Map<String, Object>> getTicketCountByLocation() {
-        List<Object[]> results = ticketRepository.getTicketCountByLocation();
+        List<Object[]> results = statsRepository.countByState();
         List<Map<String, Object>> data = new ArrayList<>();
  
         for (Object[] row : results) {
@@ -522,8 +1090,7 @@ public class TicketService {
  
     // City vs. No. of Tickets
     public List<Map<String, Object>> getTicketCountByCity() {
-        // Assuming `ticketRepository.getTicketCountByCity()` is a valid repository method
-        List<Object[]> results = ticketRepository.getTicketCountByCity();
+        List<Object[]> results = statsRepository.countByCity();
         List<Map<String, Object>> data = new ArrayList<>();
      
         for (Object[] row : results) {
@@ -537,7 +1104,7 @@ public class TicketService {
  
     //domain vs tickets
     public List<Map<String, Object>> getTicketCountByDept() {
-        List<Object[]> results = ticketRepository.countTicketsByEmployeeDept();
+        List<Object[]> results = statsRepository.countByDept();
         List<Map<String, Object>> formattedResults = new ArrayList<>();
         
         for (Object[] row : results) {
@@ -551,19 +1118,19 @@ public class TicketService {
     }
     
     
-    // Get count of Open tickets
+    // Get count of Open tickets, from the in-memory counters
     public long getOpenTicketCount() {
-        return ticketRepository.countTicketsByOpenStatus();
+        return statusCounters.getCount(Constants.OPEN);
     }
  
-    // Get count of Closed tickets
+    // Get count of Closed tickets, from the in-memory counters
     public long getClosedTicketCount() {
-        return ticketRepository.countTicketsByClosedStatus();
+        return statusCounters.getCount(Constants.CLOSED);
     }
  
-    // Get count of In Progress tickets
+    // Get count of In Progress tickets, from the in-memory counters
     public long getPendingTicketCount() {
-        return ticketRepository.countTicketsByPendingStatus();
+        return statusCounters.getCount(Constants.PENDING);
     }
     
  
@@ -676,7 +1243,63 @@ public class TicketService {
     }
 
     public void deleteTicketByTicketId(int ticketId) {
+        Optional<Ticket> existingTicket = ticketRepository.findById(ticketId);
         ticketRepository.deleteById(ticketId);
+        existingTicket.ifPresent(ticket -> publishChange(TicketState.of(ticket), null));
         logger.info("Successfully deleted ticket with ID:"+ ticketId);
     }
+
+    /**
+     * Compares the in-memory workload index with the database and returns the employees whose counts differ.
+     */
+
+    public List<Map<String, Object>> verifyWorkloadIndex() {
+        return workloadIndex.verifyAgainstDatabase();
+    }
+
+    /**
+     * Rebuilds the workload index from the database and returns the departments it now holds.
+     */
+
+    public List<String> reloadWorkloadIndex() {
+        workloadIndex.reload();
+        return workloadIndex.getDepartments();
+    }
+
+    /**
+     * Returns the dispatch queue of the department handling the given ticket type, in assignment order.
+     * Served from memory, without aggregate SQL.
+     */
+
+    public List<DispatchQueueEntry> getDispatchQueue(String ticketType) {
+        return workloadIndex.getDispatchQueue(ticketType);
+    }
+
+    /**
+     * Notifies every TicketChangeListener about a ticket write. If the surrounding transaction rolls back,
+     * the listeners are notified again with the states swapped so in-memory indexes stay in step with the database.
+     * Once it commits, or straight away outside a transaction, onTicketCommitted announces the change.
+     */
+
+    private void publishChange(TicketState before, TicketState after) {
+        changeListeners.forEach(listener -> listener.onTicketChange(before, after));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changeListeners.forEach(listener -> listener.onTicketCommitted(before, after));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        changeListeners.forEach(listener -> listener.onTicketChange(after, before));
+                    }
+                }
+            });
+        } else {
+            changeListeners.forEach(listener -> listener.onTicketCommitted(before, after));
+        }
+    }
 }
\ No newline at end of file
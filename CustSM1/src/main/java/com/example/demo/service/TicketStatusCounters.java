@@ -0,0 +1,214 @@
+package com.example.demo.service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.config.TicketCounterProperties;
+import com.example.demo.model.TicketState;
+import com.example.demo.repo.TicketRepository;
+
+/**
+ * TicketStatusCounters Class
+ * Keeps the number of tickets per status in memory, so the ticket count endpoints and dashboards do not count
+ * the TICKET table on every request. Statuses are counted in upper case, whatever case they were stored in.
+ * The counts follow committed changes through {@link TicketChangeListener#onTicketCommitted} and are
+ * reconciled against one grouped query at startup and then periodically; any drift is logged and corrected.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class TicketStatusCounters implements TicketChangeListener {
+
+    private static final Logger logger = Logger.getLogger(TicketStatusCounters.class);
+
+    private final TicketRepository ticketRepository;
+    private final TicketCounterProperties counterProperties;
+
+    private final Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    // Incremented by every counted change, so a reconciliation can tell whether one was committed meanwhile
+    private final AtomicLong changeSequence = new AtomicLong();
+
+    private volatile boolean loaded = false;
+
+    private final LongAdder reconciliations = new LongAdder();
+    private final LongAdder driftsCorrected = new LongAdder();
+    private final LongAdder reconciliationsSkipped = new LongAdder();
+    private volatile LocalDateTime lastReconciledAt;
+    private volatile Map<String, Long> lastDrift = Map.of();
+
+    public TicketStatusCounters(TicketRepository ticketRepository, TicketCounterProperties counterProperties) {
+        this.ticketRepository = ticketRepository;
+        this.counterProperties = counterProperties;
+    }
+
+    /**
+     * Loads the counts once the application has started. A database failure is logged and the counts are
+     * loaded by the first request for them instead.
+     */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            ensureLoaded();
+        } catch (DataAccessException e) {
+            logger.warn("Ticket status counters could not be loaded at startup, they will be loaded on first use: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of tickets with the given status, in any case.
+     */
+
+    public long getCount(String ticketStatus) {
+        ensureLoaded();
+        AtomicLong count = counts.get(ticketStatus.toUpperCase());
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Returns the number of tickets per status.
+     */
+
+    public Map<String, Long> getCounts() {
+        ensureLoaded();
+        return snapshot();
+    }
+
+    // Uncommitted changes are not counted, so a rollback has nothing to undo
+    @Override
+    public void onTicketChange(TicketState before, TicketState after) {
+    }
+
+    @Override
+    public void onTicketCommitted(TicketState before, TicketState after) {
+        String beforeStatus = statusOf(before);
+        String afterStatus = statusOf(after);
+        if (beforeStatus != null && beforeStatus.equals(afterStatus)) {
+            return;
+        }
+        // Counted before loading as well: the load corrects by the difference to the database
+        changeSequence.incrementAndGet();
+        if (beforeStatus != null) {
+            counter(beforeStatus).decrementAndGet();
+        }
+        if (afterStatus != null) {
+            counter(afterStatus).incrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ticket.counters.reconcile-interval:PT10M}",
+            initialDelayString = "${ticket.counters.reconcile-interval:PT10M}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (DataAccessException e) {
+            logger.warn("Ticket status counters not reconciled, the database is not available: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compares the counts with the database and corrects them, returning the difference found per status
+     * (database count minus counted). The database is read again if a change is committed during the read,
+     * since the change may or may not be part of the result. After the configured attempts the counts are
+     * left for the next reconciliation.
+     */
+
+    public synchronized Map<String, Long> reconcile() {
+        for (int attempt = 1; attempt <= counterProperties.getReconcileAttempts(); attempt++) {
+            long sequence = changeSequence.get();
+            Map<String, Long> counted = snapshot();
+            Map<String, Long> actual = new TreeMap<>();
+            for (Object[] row : ticketRepository.countTicketsByStatus()) {
+                actual.put((String) row[0], ((Number) row[1]).longValue());
+            }
+            boolean lastAttempt = attempt == counterProperties.getReconcileAttempts();
+            // The first load is applied on its last attempt regardless; the next reconciliation corrects it
+            if (changeSequence.get() != sequence && (loaded || !lastAttempt)) {
+                continue;
+            }
+            Map<String, Long> drift = new TreeMap<>();
+            Set<String> statuses = new HashSet<>(actual.keySet());
+            statuses.addAll(counted.keySet());
+            for (String status : statuses) {
+                long difference = actual.getOrDefault(status, 0L) - counted.getOrDefault(status, 0L);
+                if (difference != 0) {
+                    // Added rather than set, so a change counted after the check is kept
+                    counter(status).addAndGet(difference);
+                    drift.put(status, difference);
+                }
+            }
+            recordReconciliation(drift);
+            return drift;
+        }
+        reconciliationsSkipped.increment();
+        logger.warn("Ticket status counters not reconciled, tickets kept changing while the database was read");
+        return Map.of();
+    }
+
+    private void recordReconciliation(Map<String, Long> drift) {
+        reconciliations.increment();
+        lastReconciledAt = LocalDateTime.now();
+        lastDrift = drift;
+        // The first load always differs from the empty counts
+        if (loaded && !drift.isEmpty()) {
+            driftsCorrected.increment();
+            logger.warn("Ticket status counters differed from the database and were corrected: " + drift);
+        }
+        loaded = true;
+    }
+
+    /**
+     * Returns the counts and the reconciliation history.
+     */
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("counts", getCounts());
+        metrics.put("reconciliations", reconciliations.sum());
+        metrics.put("driftsCorrected", driftsCorrected.sum());
+        metrics.put("reconciliationsSkipped", reconciliationsSkipped.sum());
+        metrics.put("lastReconciledAt", lastReconciledAt);
+        metrics.put("lastDrift", lastDrift);
+        return metrics;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reconcile();
+                }
+            }
+        }
+    }
+
+    private Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counts.forEach((status, count) -> snapshot.put(status, count.get()));
+        return snapshot;
+    }
+
+    private AtomicLong counter(String status) {
+        return counts.computeIfAbsent(status, key -> new AtomicLong());
+    }
+
+    private static String statusOf(TicketState state) {
+        return state != null && state.ticketStatus() != null ? state.ticketStatus().toUpperCase() : null;
+    }
+}
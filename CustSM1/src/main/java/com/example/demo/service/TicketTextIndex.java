@@ -0,0 +1,470 @@
+package com.example.demo.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleFragmenter;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.config.TextIndexProperties;
+import com.example.demo.exceptions.TextIndexUnavailableException;
+import com.example.demo.model.TicketState;
+import com.example.demo.model.TicketTextHit;
+import com.example.demo.repo.TicketRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * TicketTextIndex Class
+ * Lucene index on local disk over ticket descriptions, employee comments and customer feedback, so text search
+ * is answered without touching MySQL. Every ticket write marks the ticket dirty once its transaction completes;
+ * a single background worker reloads dirty tickets by primary key in batches and updates their documents, so
+ * bursts of writes coalesce and a rolled back write simply restores the committed text. A full rebuild streams
+ * all tickets on the same worker and is started on demand or at startup when the index is empty. Searches use
+ * the last refreshed snapshot and never wait for the worker.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class TicketTextIndex implements TicketChangeListener {
+
+    public static final String DESCRIPTION = "ticketDescription";
+    public static final String EMPLOYEE_COMMENT = "employeeComment";
+    public static final String CUSTOMER_FEEDBACK = "customerFeedback";
+
+    private static final String TICKET_ID = "ticketId";
+    private static final String CUSTOMER_ID = "customerId";
+    private static final String EMPLOYEE_ID = "employeeId";
+    private static final String TICKET_TYPE = "ticketType";
+    private static final String TICKET_STATUS = "ticketStatus";
+
+    private static final String[] TEXT_FIELDS = {DESCRIPTION, EMPLOYEE_COMMENT, CUSTOMER_FEEDBACK};
+
+    // Descriptions say what the ticket is about, so their matches rank above comments and feedback
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(DESCRIPTION, 2.0f, EMPLOYEE_COMMENT, 1.0f,
+            CUSTOMER_FEEDBACK, 1.0f);
+
+    private static final int UPDATE_BATCH_SIZE = 500;
+
+    private static final Logger logger = Logger.getLogger(TicketTextIndex.class);
+
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate readTransaction;
+    private final TextIndexProperties properties;
+
+    public TicketTextIndex(TicketRepository ticketRepository, PlatformTransactionManager transactionManager,
+            TextIndexProperties properties) {
+        this.ticketRepository = ticketRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ticket-text-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<Integer> dirtyTickets = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong updatedDocuments = new AtomicLong();
+    private final AtomicLong failedUpdates = new AtomicLong();
+
+    private volatile Directory directory;
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+    private volatile LocalDateTime lastRebuildAt;
+    private volatile long lastRebuildMillis;
+    private volatile long lastRebuildDocuments;
+
+    /**
+     * Opens the index directory, creating it if needed. If it cannot be opened, text search stays unavailable
+     * and the rest of the application is unaffected.
+     */
+
+    @PostConstruct
+    public void open() {
+        try {
+            Path path = Paths.get(properties.getDirectory());
+            Files.createDirectories(path);
+            openWriter(FSDirectory.open(path));
+            logger.info("Ticket text index opened at " + path.toAbsolutePath() + " with " + writer.getDocStats().numDocs
+                    + " documents");
+        } catch (IOException e) {
+            logger.error("Ticket text index could not be opened, text search is unavailable: " + e.getMessage());
+        }
+    }
+
+    private void openWriter(Directory indexDirectory) throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        IndexWriter indexWriter = new IndexWriter(indexDirectory, config);
+        directory = indexDirectory;
+        writer = indexWriter;
+        searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (writer != null && properties.isRebuildIfEmpty() && writer.getDocStats().numDocs == 0) {
+            logger.info("Ticket text index is empty, rebuilding it from the database");
+            rebuild();
+        }
+    }
+
+    @Override
+    public void onTicketChange(TicketState before, TicketState after) {
+        int ticketId = after != null ? after.ticketId() : before.ticketId();
+        // Read the ticket once its transaction is over, so the index follows what was committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    markDirty(ticketId);
+                }
+            });
+        } else {
+            markDirty(ticketId);
+        }
+    }
+
+    private void markDirty(int ticketId) {
+        // Nothing is queued while the index is unavailable; it has to be rebuilt once it opens again
+        if (writer == null) {
+            return;
+        }
+        dirtyTickets.add(ticketId);
+        if (drainScheduled.compareAndSet(false, true)) {
+            submit(this::applyDirtyTickets);
+        }
+    }
+
+    /**
+     * Starts a rebuild from the database on the index worker. Returns false if a rebuild is already running.
+     * @throws TextIndexUnavailableException - Thrown if the index could not be opened.
+     */
+
+    public boolean rebuild() {
+        requireAvailable();
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        submit(() -> {
+            try {
+                rebuildNow();
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Waits until the updates and rebuilds queued so far have been applied.
+     */
+
+    public void flush() throws InterruptedException {
+        try {
+            worker.submit(() -> { }).get(1, TimeUnit.MINUTES);
+        } catch (ExecutionException | TimeoutException | RejectedExecutionException e) {
+            logger.warn("Ticket text index flush did not complete: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the tickets whose text matches the query, most relevant first, with highlighted fragments. The
+     * query uses Lucene syntax (words, "phrases", AND/OR/NOT, field:term) over the three text fields.
+     * @throws IllegalArgumentException - Thrown if the query is blank or cannot be parsed.
+     * @throws TextIndexUnavailableException - Thrown if the index could not be opened.
+     */
+
+    public List<TicketTextHit> search(String queryText, String ticketType, String ticketStatus, Integer limit) {
+        requireAvailable();
+        if (queryText == null || queryText.isBlank()) {
+            throw new IllegalArgumentException("Search text must not be empty");
+        }
+        int maxResults = limit == null ? properties.getMaxResults() : Math.min(limit, properties.getMaxResults());
+        if (maxResults < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        Query textQuery;
+        try {
+            textQuery = new MultiFieldQueryParser(TEXT_FIELDS, analyzer, FIELD_BOOSTS).parse(queryText);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid search text: " + e.getMessage());
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (ticketType != null) {
+            query.add(new TermQuery(new Term(TICKET_TYPE, normalize(ticketType))), BooleanClause.Occur.FILTER);
+        }
+        if (ticketStatus != null) {
+            query.add(new TermQuery(new Term(TICKET_STATUS, normalize(ticketStatus))), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query.build(), maxResults);
+                List<TicketTextHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    Document document = searcher.storedFields().document(scoreDoc.doc);
+                    hits.add(new TicketTextHit(Integer.parseInt(document.get(TICKET_ID)), scoreDoc.score,
+                            document.getField(CUSTOMER_ID).numericValue().intValue(),
+                            document.getField(EMPLOYEE_ID).numericValue().intValue(),
+                            document.get(TICKET_TYPE), document.get(TICKET_STATUS),
+                            highlight(textQuery, document)));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new TextIndexUnavailableException("Ticket text index could not be read: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the size of the index, queued updates and the outcome of the last rebuild.
+     */
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        IndexWriter indexWriter = writer;
+        status.put("available", indexWriter != null);
+        status.put("documents", indexWriter == null ? 0 : indexWriter.getDocStats().numDocs);
+        status.put("pendingUpdates", dirtyTickets.size());
+        status.put("updatedDocuments", updatedDocuments.get());
+        status.put("failedUpdates", failedUpdates.get());
+        status.put("rebuilding", rebuilding.get());
+        status.put("lastRebuildAt", lastRebuildAt);
+        status.put("lastRebuildMillis", lastRebuildMillis);
+        status.put("lastRebuildDocuments", lastRebuildDocuments);
+        return status;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+        try {
+            if (searcherManager != null) {
+                searcherManager.close();
+            }
+            if (writer != null) {
+                writer.close();
+            }
+            if (directory != null) {
+                directory.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Ticket text index did not close cleanly: " + e.getMessage());
+        }
+    }
+
+    private void applyDirtyTickets() {
+        drainScheduled.set(false);
+        IndexWriter indexWriter = writer;
+        if (indexWriter == null) {
+            dirtyTickets.clear();
+            return;
+        }
+        List<Integer> ticketIds = new ArrayList<>(dirtyTickets);
+        dirtyTickets.removeAll(ticketIds);
+        if (ticketIds.isEmpty()) {
+            return;
+        }
+        try {
+            for (int from = 0; from < ticketIds.size(); from += UPDATE_BATCH_SIZE) {
+                List<Integer> batch = ticketIds.subList(from, Math.min(from + UPDATE_BATCH_SIZE, ticketIds.size()));
+                List<Object[]> rows = readTransaction.execute(status -> ticketRepository.findTextIndexRows(batch));
+                Set<Integer> missing = new HashSet<>(batch);
+                for (Object[] row : rows) {
+                    Document document = toDocument(row);
+                    missing.remove((Integer) row[0]);
+                    indexWriter.updateDocument(new Term(TICKET_ID, document.get(TICKET_ID)), document);
+                }
+                // Deleted tickets
+                for (Integer ticketId : missing) {
+                    indexWriter.deleteDocuments(new Term(TICKET_ID, String.valueOf(ticketId)));
+                }
+            }
+            indexWriter.commit();
+            searcherManager.maybeRefresh();
+            updatedDocuments.addAndGet(ticketIds.size());
+        } catch (IOException | DataAccessException | TransactionException e) {
+            // Keep the tickets queued; they are retried with the next change or replaced by a rebuild
+            dirtyTickets.addAll(ticketIds);
+            failedUpdates.incrementAndGet();
+            logger.warn("Ticket text index update of " + ticketIds.size() + " tickets failed: " + e.getMessage());
+        }
+    }
+
+    private void rebuildNow() {
+        long start = System.nanoTime();
+        // Queued changes are replaced by the rebuild, and queued again if it fails; changes from now on are
+        // applied after the rebuild, so none are lost
+        List<Integer> replaced = new ArrayList<>(dirtyTickets);
+        dirtyTickets.removeAll(replaced);
+        try {
+            writer.deleteAll();
+            long documents = readTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<Object[]> rows = ticketRepository.streamTextIndexRows()) {
+                    for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                        writer.addDocument(toDocument(row));
+                        count++;
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                return count;
+            });
+            writer.commit();
+            searcherManager.maybeRefresh();
+            lastRebuildAt = LocalDateTime.now();
+            lastRebuildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            lastRebuildDocuments = documents;
+            logger.info("Ticket text index rebuilt with " + documents + " tickets in " + lastRebuildMillis + " ms");
+        } catch (IOException | RuntimeException e) {
+            logger.error("Ticket text index rebuild failed, keeping the previous index: " + e.getMessage());
+            discardUncommittedChanges();
+            if (writer != null) {
+                dirtyTickets.addAll(replaced);
+            }
+        }
+    }
+
+    // IndexWriter.rollback closes the writer, so a new one is opened on the last commit
+    private void discardUncommittedChanges() {
+        try {
+            writer.rollback();
+            searcherManager.close();
+            openWriter(directory);
+        } catch (IOException e) {
+            writer = null;
+            logger.error("Ticket text index could not be reopened, text search is unavailable: " + e.getMessage());
+        }
+    }
+
+    private Document toDocument(Object[] row) {
+        Document document = new Document();
+        document.add(new StringField(TICKET_ID, String.valueOf(row[0]), Field.Store.YES));
+        document.add(new StoredField(CUSTOMER_ID, (Integer) row[1]));
+        document.add(new StoredField(EMPLOYEE_ID, (Integer) row[2]));
+        if (row[3] != null) {
+            document.add(new StringField(TICKET_TYPE, normalize((String) row[3]), Field.Store.YES));
+        }
+        if (row[4] != null) {
+            document.add(new StringField(TICKET_STATUS, normalize((String) row[4]), Field.Store.YES));
+        }
+        for (int i = 0; i < TEXT_FIELDS.length; i++) {
+            String text = (String) row[5 + i];
+            if (text != null && !text.isBlank()) {
+                document.add(new TextField(TEXT_FIELDS[i], text, Field.Store.YES));
+            }
+        }
+        return document;
+    }
+
+    private Map<String, String> highlight(Query textQuery, Document document) throws IOException {
+        Map<String, String> highlights = new LinkedHashMap<>();
+        for (String field : TEXT_FIELDS) {
+            String text = document.get(field);
+            if (text == null) {
+                continue;
+            }
+            Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"),
+                    new SimpleHTMLEncoder(), new QueryScorer(textQuery, field));
+            highlighter.setTextFragmenter(new SimpleFragmenter(properties.getFragmentSize()));
+            try {
+                String fragment = highlighter.getBestFragment(analyzer, field, text);
+                if (fragment != null) {
+                    highlights.put(field, fragment);
+                }
+            } catch (InvalidTokenOffsetsException e) {
+                logger.warn("Could not highlight " + field + " of ticket " + document.get(TICKET_ID));
+            }
+        }
+        return highlights;
+    }
+
+    private void submit(Runnable task) {
+        try {
+            worker.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Ticket text index is shutting down, update not applied");
+        }
+    }
+
+    private void requireAvailable() {
+        if (writer == null) {
+            throw new TextIndexUnavailableException("Ticket text index is not available");
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+}
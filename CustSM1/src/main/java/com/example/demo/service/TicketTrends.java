@@ -0,0 +1,247 @@
+package com.example.demo.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.config.TicketTrendProperties;
+import com.example.demo.model.Constants;
+import com.example.demo.model.TicketState;
+import com.example.demo.model.TrendBucket;
+import com.example.demo.repo.TicketRepository;
+
+/**
+ * TicketTrends Class
+ * Counts the tickets raised, first responded to and closed per minute, hour and day, for wallboards that poll
+ * often. Each granularity is a fixed ring of buckets: a bucket is reused for a later period once its own has
+ * fallen out of the window, so memory stays constant and reading trends runs no query. Raised and closed
+ * tickets are counted from committed changes; TicketService reports first responses, which
+ * {@link TicketState} does not carry. At startup the rings are seeded from the ticket timestamps in the
+ * database. Buckets follow the server's local time.
+ *
+ * @author Srihari.P
+ */
+
+@Service
+public class TicketTrends implements TicketChangeListener {
+
+    private enum Granularity {
+        MINUTE(60), HOUR(3600), DAY(86400);
+
+        private final long seconds;
+
+        Granularity(long seconds) {
+            this.seconds = seconds;
+        }
+    }
+
+    private enum Event {
+        RAISED, RESPONDED, CLOSED
+    }
+
+    private static final Logger logger = Logger.getLogger(TicketTrends.class);
+
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final TrendRing[] rings = new TrendRing[Granularity.values().length];
+
+    public TicketTrends(TicketRepository ticketRepository, PlatformTransactionManager transactionManager,
+            TicketTrendProperties trendProperties) {
+        this.ticketRepository = ticketRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        rings[Granularity.MINUTE.ordinal()] = new TrendRing(Granularity.MINUTE, trendProperties.getMinutes());
+        rings[Granularity.HOUR.ordinal()] = new TrendRing(Granularity.HOUR, trendProperties.getHours());
+        rings[Granularity.DAY.ordinal()] = new TrendRing(Granularity.DAY, trendProperties.getDays());
+    }
+
+    /**
+     * The buckets of one granularity. A period is the number of whole buckets since the epoch, in local time,
+     * and is kept in the slot period modulo the ring size.
+     */
+
+    private static final class TrendRing {
+
+        private final Granularity granularity;
+        private final long[] periods;
+        private final long[][] counts;
+
+        private TrendRing(Granularity granularity, int size) {
+            if (size < 1) {
+                throw new IllegalArgumentException("ticket.trends must keep at least one bucket per granularity");
+            }
+            this.granularity = granularity;
+            this.periods = new long[size];
+            this.counts = new long[size][Event.values().length];
+            Arrays.fill(periods, Long.MIN_VALUE);
+        }
+
+        private long periodOf(LocalDateTime time) {
+            return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), granularity.seconds);
+        }
+
+        private LocalDateTime startOf(long period) {
+            return LocalDateTime.ofEpochSecond(period * granularity.seconds, 0, ZoneOffset.UTC);
+        }
+
+        private synchronized void add(LocalDateTime time, Event event, long count) {
+            long period = periodOf(time);
+            int slot = (int) Math.floorMod(period, (long) periods.length);
+            if (periods[slot] > period) {
+                // The slot already holds a later period, so this one is out of the window
+                return;
+            }
+            if (periods[slot] < period) {
+                periods[slot] = period;
+                Arrays.fill(counts[slot], 0);
+            }
+            counts[slot][event.ordinal()] += count;
+        }
+
+        private synchronized List<TrendBucket> buckets(LocalDateTime now, int size) {
+            long current = periodOf(now);
+            List<TrendBucket> buckets = new ArrayList<>(size);
+            for (long period = current - size + 1; period <= current; period++) {
+                int slot = (int) Math.floorMod(period, (long) periods.length);
+                long[] slotCounts = periods[slot] == period ? counts[slot] : new long[Event.values().length];
+                buckets.add(new TrendBucket(startOf(period), slotCounts[Event.RAISED.ordinal()],
+                        slotCounts[Event.RESPONDED.ordinal()], slotCounts[Event.CLOSED.ordinal()]));
+            }
+            return buckets;
+        }
+
+        private LocalDateTime windowStart(LocalDateTime now) {
+            return startOf(periodOf(now) - periods.length + 1);
+        }
+    }
+
+    /**
+     * Seeds the buckets from the database once the application has started. A database failure is logged and
+     * the trends start from the changes committed from then on.
+     */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            LocalDateTime until = LocalDateTime.now();
+            LocalDateTime since = Arrays.stream(rings)
+                    .map(ring -> ring.windowStart(until))
+                    .min(LocalDateTime::compareTo)
+                    .orElse(until);
+            // Later timestamps are counted as they commit; one committed during the read may be counted twice
+            long tickets = readTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<Object[]> rows = ticketRepository.streamTrendRows(since)) {
+                    for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                        seed(row, since, until);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            logger.info("Ticket trends seeded with " + tickets + " tickets changed since " + since);
+        } catch (DataAccessException | TransactionException e) {
+            logger.warn("Ticket trends could not be seeded at startup: " + e.getMessage());
+        }
+    }
+
+    private void seed(Object[] row, LocalDateTime since, LocalDateTime until) {
+        seed(Event.RAISED, (LocalDateTime) row[0], since, until);
+        seed(Event.RESPONDED, (LocalDateTime) row[1], since, until);
+        // A reopened or reactivated ticket keeps its old resolve time; only closed tickets count as closed
+        if (Constants.CLOSED.equalsIgnoreCase((String) row[3])) {
+            seed(Event.CLOSED, (LocalDateTime) row[2], since, until);
+        }
+    }
+
+    private void seed(Event event, LocalDateTime time, LocalDateTime since, LocalDateTime until) {
+        if (time != null && !time.isBefore(since) && time.isBefore(until)) {
+            record(event, time, 1);
+        }
+    }
+
+    /**
+     * Returns the latest buckets of the given granularity, oldest first and ending with the current one. All
+     * kept buckets are returned when periods is null.
+     */
+
+    public List<TrendBucket> getTrends(String granularity, Integer periods) {
+        TrendRing ring = rings[parseGranularity(granularity).ordinal()];
+        int size = ring.periods.length;
+        if (periods != null && (periods < 1 || periods > size)) {
+            throw new IllegalArgumentException("periods must be between 1 and " + size + " for " + granularity);
+        }
+        return ring.buckets(LocalDateTime.now(), periods != null ? periods : size);
+    }
+
+    private static Granularity parseGranularity(String granularity) {
+        try {
+            return Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid granularity: " + granularity + ", expected minute, hour or day");
+        }
+    }
+
+    /**
+     * Counts the given number of first responses once the current transaction commits; they are discarded if
+     * it rolls back. Outside a transaction they are counted straight away.
+     */
+
+    public void recordResponsesAfterCommit(int responses) {
+        if (responses == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(Event.RESPONDED, LocalDateTime.now(), responses);
+                }
+            });
+        } else {
+            record(Event.RESPONDED, LocalDateTime.now(), responses);
+        }
+    }
+
+    // Uncommitted changes are not counted, so a rollback has nothing to undo
+    @Override
+    public void onTicketChange(TicketState before, TicketState after) {
+    }
+
+    @Override
+    public void onTicketCommitted(TicketState before, TicketState after) {
+        if (after == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (before == null) {
+            record(Event.RAISED, now, 1);
+        }
+        if (Constants.CLOSED.equalsIgnoreCase(after.ticketStatus())
+                && (before == null || !Constants.CLOSED.equalsIgnoreCase(before.ticketStatus()))) {
+            record(Event.CLOSED, now, 1);
+        }
+    }
+
+    private void record(Event event, LocalDateTime time, long count) {
+        for (TrendRing ring : rings) {
+            ring.add(time, event, count);
+        }
+    }
+}
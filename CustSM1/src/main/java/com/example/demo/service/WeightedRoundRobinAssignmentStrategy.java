@@ -0,0 +1,62 @@
+package com.example.demo.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.example.demo.config.AssignmentProperties;
+import com.example.demo.model.EmployeeWorkload;
+
+/**
+ * WeightedRoundRobinAssignmentStrategy Class
+ * Hands tickets to the employees of a department in turn, ignoring their current workload. An employee with
+ * weight N receives N tickets per round. Each department has its own atomic cursor, so concurrent requests
+ * never receive the same turn.
+ *
+ * @author Srihari.P
+ */
+
+@Component
+public class WeightedRoundRobinAssignmentStrategy implements AssignmentStrategy {
+
+    public static final String NAME = "weighted-round-robin";
+
+    private final AssignmentProperties assignmentProperties;
+
+    private final Map<String, AtomicLong> cursors = new ConcurrentHashMap<>();
+
+    public WeightedRoundRobinAssignmentStrategy(AssignmentProperties assignmentProperties) {
+        this.assignmentProperties = assignmentProperties;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Optional<EmployeeWorkload> select(String department, List<EmployeeWorkload> candidates) {
+        long totalWeight = candidates.stream().mapToLong(this::weightOf).sum();
+        if (totalWeight == 0) {
+            return Optional.empty();
+        }
+
+        long turn = cursors.computeIfAbsent(department, dept -> new AtomicLong()).getAndIncrement();
+        long position = Math.floorMod(turn, totalWeight);
+        for (EmployeeWorkload candidate : candidates) {
+            position -= weightOf(candidate);
+            if (position < 0) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private int weightOf(EmployeeWorkload workload) {
+        return Math.max(0, assignmentProperties.getWeights().getOrDefault(workload.employeeId(), 1));
+    }
+}
@@ -0,0 +1,12 @@
+-- Database guard behind OpenTicketRegistry: at most one OPEN or PENDING ticket per customer and ticket type.
+-- OPEN_TICKET_KEY is NULL for closed tickets, and a unique index allows any number of NULLs.
+--
+-- Existing duplicates make the index creation fail. List them first with:
+--   SELECT CUSTOMER_ID, TICKET_TYPE, COUNT(*) FROM TICKET
+--   WHERE UPPER(TICKET_STATUS) IN ('OPEN', 'PENDING') GROUP BY CUSTOMER_ID, TICKET_TYPE HAVING COUNT(*) > 1;
+
+ALTER TABLE TICKET
+    ADD COLUMN OPEN_TICKET_KEY VARCHAR(120)
+        GENERATED ALWAYS AS (CASE WHEN UPPER(TICKET_STATUS) IN ('OPEN', 'PENDING')
+                                  THEN CONCAT(CUSTOMER_ID, ':', TICKET_TYPE) END) STORED,
+    ADD UNIQUE INDEX UX_TICKET_OPEN_KEY (OPEN_TICKET_KEY);
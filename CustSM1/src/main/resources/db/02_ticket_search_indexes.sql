@@ -0,0 +1,17 @@
+-- Composite indexes behind /ticket/search. Search pages are ordered by TICKET_ID, and InnoDB appends the
+-- primary key to every secondary index, so each index below also serves "equality filters, then TICKET_ID > ?"
+-- without a filesort when all of its columns are filtered on.
+--
+-- TICKET_STATUS and the other text filters are compared with '=', which is case-insensitive under the default
+-- utf8mb4 collation and, unlike UPPER(...), can use these indexes.
+
+CREATE INDEX IX_TICKET_STATUS_TYPE ON TICKET (TICKET_STATUS, TICKET_TYPE);
+
+CREATE INDEX IX_TICKET_EMPLOYEE_STATUS ON TICKET (EMPLOYEE_ID, TICKET_STATUS);
+
+CREATE INDEX IX_TICKET_TYPE_PRIORITY ON TICKET (TICKET_TYPE, TICKET_PRIORITY);
+
+CREATE INDEX IX_TICKET_RAISEDATE ON TICKET (TICKET_RAISEDATE);
+
+-- City and state filters resolve the matching customers first, then join TICKET on its CUSTOMER_ID foreign key
+CREATE INDEX IX_CUSTOMER_STATE_CITY ON CUSTOMER (CUSTOMER_STATE, CUSTOMER_CITY);
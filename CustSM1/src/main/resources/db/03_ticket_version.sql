@@ -0,0 +1,11 @@
+-- Row version behind optimistic locking and the ticket ETags. Hibernate increments it on every entity update;
+-- TicketBatchRepository increments it in its own UPDATE statements. Existing tickets start at version 0.
+
+ALTER TABLE TICKET
+    ADD COLUMN VERSION BIGINT NOT NULL DEFAULT 0;
+
+-- ETag checks of the customer and employee ticket lists read TICKET_ID and VERSION from these indexes alone
+-- (InnoDB appends TICKET_ID), without touching the ticket rows
+CREATE INDEX IX_TICKET_CUSTOMER_VERSION ON TICKET (CUSTOMER_ID, VERSION);
+
+CREATE INDEX IX_TICKET_EMPLOYEE_VERSION ON TICKET (EMPLOYEE_ID, VERSION);
@@ -0,0 +1,11 @@
+-- Reopen chains: a reopened ticket points to the closed ticket it reopens and records how many reopens lead up
+-- to it. Existing tickets keep no parent and a count of 0, as TicketService cannot tell which were reopens.
+
+ALTER TABLE TICKET
+    ADD COLUMN PARENT_TICKET_ID INT NULL,
+    ADD COLUMN REOPEN_COUNT INT NOT NULL DEFAULT 0,
+    ADD CONSTRAINT FK_TICKET_PARENT FOREIGN KEY (PARENT_TICKET_ID) REFERENCES TICKET (TICKET_ID) ON DELETE SET NULL;
+
+-- Serves the downward step of /ticket/{id}/chain and, with TICKET_TYPE and REOPEN_COUNT included, the reopen
+-- statistics without reading ticket rows. Replaces the plain index MySQL would create for the foreign key.
+CREATE INDEX IX_TICKET_PARENT ON TICKET (PARENT_TICKET_ID, TICKET_TYPE, REOPEN_COUNT);
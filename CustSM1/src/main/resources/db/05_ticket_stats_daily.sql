@@ -0,0 +1,19 @@
+-- Daily ticket rollup behind the count-by-state, count-by-city and count-by-department analytics. One row per
+-- raise date and combination of customer state and city, employee department, ticket type, priority and
+-- status, holding the number of tickets currently in that group. TicketDailyStats keeps it current in the
+-- transaction of each ticket write; the backfill (POST /ticket/stats/backfill) rebuilds a range of days.
+--
+-- Missing values are stored as '' because primary key columns cannot be NULL. Priority and status are stored
+-- in upper case, so the groups do not depend on the case a ticket was written in.
+
+CREATE TABLE TICKET_STATS_DAILY (
+    STAT_DATE DATE NOT NULL,
+    CUSTOMER_STATE VARCHAR(100) NOT NULL DEFAULT '',
+    CUSTOMER_CITY VARCHAR(100) NOT NULL DEFAULT '',
+    EMPLOYEE_DEPT VARCHAR(100) NOT NULL DEFAULT '',
+    TICKET_TYPE VARCHAR(50) NOT NULL DEFAULT '',
+    TICKET_PRIORITY VARCHAR(20) NOT NULL DEFAULT '',
+    TICKET_STATUS VARCHAR(20) NOT NULL DEFAULT '',
+    TICKET_COUNT INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (STAT_DATE, CUSTOMER_STATE, CUSTOMER_CITY, EMPLOYEE_DEPT, TICKET_TYPE, TICKET_PRIORITY, TICKET_STATUS)
+);
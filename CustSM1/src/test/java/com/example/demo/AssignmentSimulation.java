@@ -0,0 +1,208 @@
+package com.example.demo;
+
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.example.demo.config.AssignmentProperties;
+import com.example.demo.exceptions.DuplicateTicketException;
+import com.example.demo.exceptions.EmployeeNotFoundException;
+import com.example.demo.model.Customer;
+import com.example.demo.model.Ticket;
+import com.example.demo.service.TicketService;
+
+/**
+ * Replays a stream of ticket create and close events through TicketService.addTicket and
+ * TicketService.closeTicketByCustomer against an InMemoryTicketStore, with the real workload index, open ticket
+ * registry, department locks and assignment strategies. The resulting Report shows how evenly the chosen
+ * strategy spread the tickets, how long each addTicket call took and how many repository queries it cost, so
+ * strategies can be compared and assignment regressions caught without a database.
+ */
+class AssignmentSimulation {
+
+    enum EventType { CREATE, CLOSE }
+
+    /**
+     * One recorded or generated event: a customer raising or closing a ticket of the given type.
+     */
+    record Event(EventType type, int customerId, String ticketType) {
+    }
+
+    /**
+     * Result of one replay. The assignment excess is the average number of active tickets the chosen employee
+     * held beyond the least loaded employee of the department at the time of assignment; a strategy that always
+     * picks a least loaded employee scores 0.
+     */
+    record Report(String strategy, int created, int closed, int duplicates, int unassigned,
+            Map<Integer, Integer> activeByEmployee, int minActive, int maxActive, double activeStdDev,
+            double meanAssignmentExcess,
+            double p50Micros, double p90Micros, double p99Micros, double queriesPerTicket,
+            Map<String, Long> queriesByMethod) {
+
+        int spread() {
+            return maxActive - minActive;
+        }
+    }
+
+    private final String strategy;
+
+    private final InMemoryTicketStore store = new InMemoryTicketStore();
+
+    AssignmentSimulation(String strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Adds the given number of employees to each department, numbered from 1 upwards.
+     */
+    AssignmentSimulation employees(int perDepartment, String... departments) {
+        int employeeId = 1;
+        for (String department : departments) {
+            for (int i = 0; i < perDepartment; i++) {
+                store.employee(employeeId++, department);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Replays the events in order and reports on the create events.
+     */
+    Report replay(List<Event> events) {
+        AssignmentProperties assignmentProperties = new AssignmentProperties();
+        assignmentProperties.setDefaultStrategy(strategy);
+        TicketService ticketService = ticketService(assignmentProperties);
+
+        Map<String, Integer> openTickets = new HashMap<>();
+        List<Long> latencies = new ArrayList<>();
+        int closed = 0;
+        int duplicates = 0;
+        int unassigned = 0;
+        long createQueries = 0;
+        long assignmentExcess = 0;
+
+        for (Event event : events) {
+            String key = event.customerId() + ":" + event.ticketType();
+            if (event.type() == EventType.CLOSE) {
+                Integer ticketId = openTickets.remove(key);
+                if (ticketId != null) {
+                    ticketService.closeTicketByCustomer(ticketId);
+                    closed++;
+                }
+                continue;
+            }
+            Map<Integer, Integer> activeBefore = store.activeTicketsByEmployee(event.ticketType());
+            long queriesBefore = store.totalCalls();
+            long start = System.nanoTime();
+            try {
+                Ticket saved = ticketService.addTicket(ticket(event));
+                latencies.add(System.nanoTime() - start);
+                openTickets.put(key, saved.getTicketId());
+                assignmentExcess += activeBefore.get(saved.getEmployeeId())
+                        - activeBefore.values().stream().mapToInt(Integer::intValue).min().orElse(0);
+            } catch (DuplicateTicketException e) {
+                duplicates++;
+            } catch (EmployeeNotFoundException e) {
+                unassigned++;
+            }
+            createQueries += store.totalCalls() - queriesBefore;
+        }
+
+        Map<Integer, Integer> active = store.activeTicketsByEmployee();
+        double mean = active.values().stream().mapToInt(Integer::intValue).average().orElse(0);
+        double variance = active.values().stream().mapToDouble(count -> (count - mean) * (count - mean))
+                .average().orElse(0);
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Report(strategy, sorted.length, closed, duplicates, unassigned, active,
+                active.values().stream().mapToInt(Integer::intValue).min().orElse(0),
+                active.values().stream().mapToInt(Integer::intValue).max().orElse(0), Math.sqrt(variance),
+                sorted.length == 0 ? 0 : (double) assignmentExcess / sorted.length,
+                percentileMicros(sorted, 50), percentileMicros(sorted, 90), percentileMicros(sorted, 99),
+                sorted.length == 0 ? 0 : (double) createQueries / sorted.length, store.callsByMethod());
+    }
+
+    /**
+     * Generates a reproducible stream of events. Each event closes one of the open tickets with the given
+     * probability and otherwise raises a ticket for a random customer and department.
+     */
+    static List<Event> synthetic(long seed, int count, int customers, double closeProbability, String... departments) {
+        Random random = new Random(seed);
+        List<Event> events = new ArrayList<>(count);
+        List<Event> open = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (!open.isEmpty() && random.nextDouble() < closeProbability) {
+                Event raised = open.remove(random.nextInt(open.size()));
+                events.add(new Event(EventType.CLOSE, raised.customerId(), raised.ticketType()));
+            } else {
+                Event raised = new Event(EventType.CREATE, 1 + random.nextInt(customers),
+                        departments[random.nextInt(departments.length)]);
+                events.add(raised);
+                open.add(raised);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Reads recorded events from a classpath CSV with lines of the form {@code CREATE,customerId,ticketType}.
+     * Blank lines and lines starting with '#' are skipped.
+     */
+    static List<Event> recorded(String resource) {
+        InputStream input = AssignmentSimulation.class.getResourceAsStream(resource);
+        if (input == null) {
+            throw new IllegalArgumentException("Recorded events not found: " + resource);
+        }
+        List<Event> events = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = Arrays.stream(line.split(",")).map(String::trim).toArray(String[]::new);
+                events.add(new Event(EventType.valueOf(fields[0]), Integer.parseInt(fields[1]), fields[2]));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return events;
+    }
+
+    private TicketService ticketService(AssignmentProperties assignmentProperties) {
+        return TicketServiceFixtures.newTicketService(store.ticketRepository(), store.customerRepository(),
+                new TicketServiceFixtures.Collaborators().assignmentProperties(assignmentProperties));
+    }
+
+    private static Ticket ticket(Event event) {
+        Customer customer = new Customer();
+        customer.setCustomerId(event.customerId());
+        Ticket ticket = new Ticket();
+        ticket.setCustomer(customer);
+        ticket.setTicketType(event.ticketType());
+        ticket.setTicketDescription("Simulated " + event.ticketType() + " ticket");
+        return ticket;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted nanosecond latencies, in microseconds.
+     */
+    private static double percentileMicros(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.example.demo.AssignmentSimulation.Event;
+import com.example.demo.AssignmentSimulation.EventType;
+import com.example.demo.AssignmentSimulation.Report;
+import com.example.demo.service.CapacityCappedAssignmentStrategy;
+import com.example.demo.service.DispatchQueueAssignmentStrategy;
+import com.example.demo.service.LeastLoadedAssignmentStrategy;
+import com.example.demo.service.WeightedRoundRobinAssignmentStrategy;
+
+class AssignmentSimulationTest {
+
+    private static final Logger logger = Logger.getLogger(AssignmentSimulationTest.class);
+
+    private static final String[] DEPARTMENTS = {"OUTAGE", "BILLING_AND_ACCOUNTS", "TECHNICAL_SUPPORT"};
+
+    private static final List<Event> EVENTS = AssignmentSimulation.synthetic(42, 5000, 2000, 0.4, DEPARTMENTS);
+
+    // A saved ticket costs one customer lookup and one insert; the one-off index and registry loads come on top
+    private static final double MAX_QUERIES_PER_TICKET = 2.05;
+
+    @ParameterizedTest
+    @ValueSource(strings = {DispatchQueueAssignmentStrategy.NAME, LeastLoadedAssignmentStrategy.NAME,
+            WeightedRoundRobinAssignmentStrategy.NAME, CapacityCappedAssignmentStrategy.NAME})
+    void replay_KeepsQueriesPerTicketConstant(String strategy) {
+        Report report = simulate(strategy, EVENTS);
+
+        assertEquals(countCreates(EVENTS), report.created() + report.duplicates() + report.unassigned());
+        assertTrue(report.queriesPerTicket() <= MAX_QUERIES_PER_TICKET,
+                strategy + " used " + report.queriesPerTicket() + " queries per ticket: " + report.queriesByMethod());
+        // Duplicates of open tickets are rejected in memory
+        assertFalse(report.queriesByMethod().containsKey("TicketRepository.existsActiveTicket"));
+        // Workloads come from the index, never from a grouped query per ticket
+        assertEquals(DEPARTMENTS.length, report.queriesByMethod().get("TicketRepository.findEmployeeWorkloadsByDept"));
+    }
+
+    @Test
+    void replay_DispatchQueueAlwaysPicksLeastActiveEmployee() {
+        Report dispatchQueue = simulate(DispatchQueueAssignmentStrategy.NAME, EVENTS);
+
+        assertEquals(0.0, dispatchQueue.meanAssignmentExcess());
+        // least-loaded balances lifetime totals, so closed tickets let active load drift apart
+        for (String strategy : List.of(LeastLoadedAssignmentStrategy.NAME, WeightedRoundRobinAssignmentStrategy.NAME)) {
+            Report report = simulate(strategy, EVENTS);
+            assertTrue(dispatchQueue.activeStdDev() <= report.activeStdDev(),
+                    strategy + " stddev " + report.activeStdDev() + " vs " + dispatchQueue.activeStdDev());
+        }
+    }
+
+    @Test
+    void replay_RecordedEvents() {
+        List<Event> events = AssignmentSimulation.recorded("/simulation/recorded-events.csv");
+
+        Report report = simulate(DispatchQueueAssignmentStrategy.NAME, events);
+
+        // Customer 101 raises a second OUTAGE ticket while the first is open
+        assertEquals(1, report.duplicates());
+        assertEquals(4, report.closed());
+        assertEquals(20, report.created());
+        assertTrue(report.spread() <= 1, "Active tickets per employee " + report.activeByEmployee());
+    }
+
+    private static Report simulate(String strategy, List<Event> events) {
+        Report report = new AssignmentSimulation(strategy).employees(10, DEPARTMENTS).replay(events);
+        logger.info(String.format("%s: %d created, %d closed, %d duplicates, %d unassigned, active %d..%d "
+                + "(stddev %.2f), assignment excess %.2f, addTicket p50 %.1f us p90 %.1f us p99 %.1f us, %.2f queries per ticket",
+                report.strategy(), report.created(), report.closed(), report.duplicates(), report.unassigned(),
+                report.minActive(), report.maxActive(), report.activeStdDev(),
+                report.meanAssignmentExcess(), report.p50Micros(),
+                report.p90Micros(), report.p99Micros(), report.queriesPerTicket()));
+        return report;
+    }
+
+    private static long countCreates(List<Event> events) {
+        return events.stream().filter(event -> event.type() == EventType.CREATE).count();
+    }
+}
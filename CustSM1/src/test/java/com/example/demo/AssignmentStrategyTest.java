@@ -0,0 +1,157 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.demo.config.AssignmentProperties;
+import com.example.demo.model.EmployeeWorkload;
+import com.example.demo.service.AssignmentStrategy;
+import com.example.demo.service.CapacityCappedAssignmentStrategy;
+import com.example.demo.service.DispatchQueueAssignmentStrategy;
+import com.example.demo.service.EmployeeWorkloadIndex;
+import com.example.demo.service.LeastLoadedAssignmentStrategy;
+import com.example.demo.service.TicketAssignmentService;
+import com.example.demo.service.WeightedRoundRobinAssignmentStrategy;
+
+@ExtendWith(MockitoExtension.class)
+class AssignmentStrategyTest {
+
+    private static final int THREADS = 32;
+    private static final int ASSIGNMENTS = 8000;
+
+    @Mock
+    private EmployeeWorkloadIndex workloadIndex;
+
+    private AssignmentProperties assignmentProperties;
+    private LeastLoadedAssignmentStrategy leastLoaded;
+    private WeightedRoundRobinAssignmentStrategy weightedRoundRobin;
+    private CapacityCappedAssignmentStrategy capacityCapped;
+
+    @BeforeEach
+    void setUp() {
+        assignmentProperties = new AssignmentProperties();
+        leastLoaded = new LeastLoadedAssignmentStrategy();
+        weightedRoundRobin = new WeightedRoundRobinAssignmentStrategy(assignmentProperties);
+        capacityCapped = new CapacityCappedAssignmentStrategy(assignmentProperties, leastLoaded);
+    }
+
+    @Test
+    void leastLoaded_PrefersFewerTotalThenOpenTickets() {
+        List<EmployeeWorkload> candidates = List.of(
+                new EmployeeWorkload(1, "OUTAGE", 5, 0, 5, 0, 0, 5),
+                new EmployeeWorkload(2, "OUTAGE", 3, 2, 1, 0, 0, 3),
+                new EmployeeWorkload(3, "OUTAGE", 3, 1, 2, 0, 0, 3));
+
+        assertEquals(3, leastLoaded.select("OUTAGE", candidates).orElseThrow().employeeId());
+    }
+
+    @Test
+    void capacityCapped_SkipsEmployeesAtCapacity() {
+        assignmentProperties.setCapacity(2);
+        List<EmployeeWorkload> candidates = List.of(
+                new EmployeeWorkload(1, "OUTAGE", 2, 1, 1, 0, 0, 2),
+                new EmployeeWorkload(2, "OUTAGE", 9, 0, 1, 0, 0, 9));
+
+        assertEquals(2, capacityCapped.select("OUTAGE", candidates).orElseThrow().employeeId());
+    }
+
+    @Test
+    void capacityCapped_FallsBackToLeastLoadedWhenDepartmentIsFull() {
+        assignmentProperties.setCapacity(1);
+        List<EmployeeWorkload> candidates = List.of(
+                new EmployeeWorkload(1, "OUTAGE", 2, 1, 1, 0, 0, 2),
+                new EmployeeWorkload(2, "OUTAGE", 9, 0, 1, 0, 0, 9));
+
+        assertEquals(1, capacityCapped.select("OUTAGE", candidates).orElseThrow().employeeId());
+    }
+
+    @Test
+    void weightedRoundRobin_SpreadsParallelAssignmentsByWeight() throws InterruptedException {
+        assignmentProperties.setWeights(Map.of(3, 2));
+        List<EmployeeWorkload> candidates = List.of(
+                EmployeeWorkload.empty(1, "OUTAGE"),
+                EmployeeWorkload.empty(2, "OUTAGE"),
+                EmployeeWorkload.empty(3, "OUTAGE"));
+
+        Map<Integer, AtomicInteger> assigned = runInParallel(weightedRoundRobin, candidates);
+
+        // Weights 1:1:2 over 8000 turns
+        assertEquals(2000, assigned.get(1).get());
+        assertEquals(2000, assigned.get(2).get());
+        assertEquals(4000, assigned.get(3).get());
+    }
+
+    @Test
+    void leastLoaded_SpreadsParallelAssignmentsBetweenTiedEmployees() throws InterruptedException {
+        List<EmployeeWorkload> candidates = List.of(
+                EmployeeWorkload.empty(1, "OUTAGE"),
+                EmployeeWorkload.empty(2, "OUTAGE"),
+                EmployeeWorkload.empty(3, "OUTAGE"),
+                EmployeeWorkload.empty(4, "OUTAGE"));
+
+        Map<Integer, AtomicInteger> assigned = runInParallel(leastLoaded, candidates);
+
+        candidates.forEach(candidate -> assertEquals(ASSIGNMENTS / candidates.size(),
+                assigned.get(candidate.employeeId()).get()));
+    }
+
+    @Test
+    void assignmentService_UsesStrategyConfiguredForTicketType() {
+        assignmentProperties.setStrategies(Map.of("OUTAGE", WeightedRoundRobinAssignmentStrategy.NAME));
+        TicketAssignmentService assignmentService = new TicketAssignmentService(workloadIndex,
+                List.of(new DispatchQueueAssignmentStrategy(), leastLoaded, weightedRoundRobin, capacityCapped),
+                assignmentProperties);
+        when(workloadIndex.getDepartmentWorkloads("OUTAGE")).thenReturn(List.of(
+                new EmployeeWorkload(1, "OUTAGE", 9, 0, 9, 0, 0, 9),
+                EmployeeWorkload.empty(2, "OUTAGE")));
+
+        // Round-robin ignores load, so the busier employee 1 gets the first turn
+        assertEquals(1, assignmentService.selectEmployee("OUTAGE").orElseThrow());
+        assertEquals(2, assignmentService.selectEmployee("OUTAGE").orElseThrow());
+        assertTrue(assignmentService.strategyFor("BILLING_AND_ACCOUNTS") instanceof DispatchQueueAssignmentStrategy);
+    }
+
+    @Test
+    void assignmentService_RejectsUnknownStrategy() {
+        assignmentProperties.setStrategies(Map.of("OUTAGE", "fastest"));
+        // Every other strategy is there, including the default, so only the OUTAGE mapping can fail
+        List<AssignmentStrategy> strategies = List.of(new DispatchQueueAssignmentStrategy(), leastLoaded,
+                weightedRoundRobin, capacityCapped);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new TicketAssignmentService(workloadIndex, strategies, assignmentProperties));
+        assertTrue(exception.getMessage().startsWith("Unknown ticket assignment strategy: fastest"),
+                exception.getMessage());
+    }
+
+    private Map<Integer, AtomicInteger> runInParallel(AssignmentStrategy strategy, List<EmployeeWorkload> candidates)
+            throws InterruptedException {
+        Map<Integer, AtomicInteger> assigned = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < ASSIGNMENTS; i++) {
+            executor.submit(() -> {
+                int employeeId = strategy.select("OUTAGE", candidates).orElseThrow().employeeId();
+                assigned.computeIfAbsent(employeeId, id -> new AtomicInteger()).incrementAndGet();
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        return assigned;
+    }
+}
@@ -33,6 +33,7 @@ import com.example.demo.repo.CustomerRepository;
 import com.example.demo.service.CustomerService;
 import com.example.demo.service.EmailService;
 import com.example.demo.service.OtpService;
+import com.example.demo.service.TicketDailyStats;
  
 class CustomerServiceTest {
  
@@ -47,6 +48,9 @@ class CustomerServiceTest {
     
     @Mock
     private OtpService otpService;
+
+    @Mock
+    private TicketDailyStats ticketDailyStats;
     
     @InjectMocks
     private CustomerService customerService;
@@ -154,6 +158,26 @@ class CustomerServiceTest {
         verify(customerRepository).save(customer);
     }
     
+    @Test
+    void testUpdateCustomer_MovesTicketStatisticsToNewLocation() {
+        // Built here because openMocks replaces the mocks that @InjectMocks passed to the constructor
+        customerService = new CustomerService(customerRepository, bencoder, emailService, otpService, ticketDailyStats);
+        Customer former = new Customer();
+        former.setCustomerId(1);
+        former.setCustomerState("Tamil Nadu");
+        former.setCustomerCity("Chennai");
+        Customer moved = new Customer();
+        moved.setCustomerId(1);
+        moved.setCustomerState("Karnataka");
+        moved.setCustomerCity("Bengaluru");
+        when(customerRepository.findById(1)).thenReturn(Optional.of(former));
+
+        customerService.updateCustomer(moved);
+
+        verify(ticketDailyStats).moveCustomerTickets(1, "Tamil Nadu", "Chennai", "Karnataka", "Bengaluru");
+        verify(customerRepository).save(moved);
+    }
+
     @Test
     void testDeleteCustomer() {
         customerService.deleteCustomer(1);
@@ -0,0 +1,82 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.demo.config.DashboardProperties;
+import com.example.demo.model.DashboardSummary;
+import com.example.demo.repo.CustomerRepository;
+import com.example.demo.repo.EmployeeRepository;
+import com.example.demo.service.DashboardService;
+import com.example.demo.service.TicketStatusCounters;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private TicketStatusCounters statusCounters;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private final DashboardProperties properties = new DashboardProperties();
+
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        when(statusCounters.getCounts()).thenReturn(Map.of("OPEN", 4L, "PENDING", 6L, "CLOSED", 10L));
+        when(customerRepository.countAllCustomers()).thenReturn(25L);
+        List<Object[]> staff = new ArrayList<>();
+        staff.add(new Object[]{"employee", 12L});
+        staff.add(new Object[]{"manager", 3L});
+        staff.add(new Object[]{"admin", 1L});
+        when(employeeRepository.countByDesignation()).thenReturn(staff);
+        dashboardService = new DashboardService(statusCounters, customerRepository, employeeRepository, properties);
+    }
+
+    @Test
+    void getSummary_CombinesCountsAndServesThemFromCache() {
+        DashboardSummary summary = dashboardService.getSummary();
+
+        assertEquals(4, summary.openTickets());
+        assertEquals(6, summary.pendingTickets());
+        assertEquals(10, summary.closedTickets());
+        assertEquals(20, summary.totalTickets());
+        assertEquals(25, summary.customers());
+        assertEquals(12, summary.employees());
+        assertEquals(3, summary.managers());
+        assertEquals(1, summary.admins());
+        assertSame(summary, dashboardService.getSummary());
+        verify(customerRepository, times(1)).countAllCustomers();
+        verify(employeeRepository, times(1)).countByDesignation();
+    }
+
+    @Test
+    void getSummary_IsComputedAgainOnceExpired() {
+        properties.setSummaryTtl(Duration.ZERO);
+
+        dashboardService.getSummary();
+        dashboardService.getSummary();
+
+        verify(customerRepository, times(2)).countAllCustomers();
+        verify(employeeRepository, times(2)).countByDesignation();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.example.demo.config.AssignmentProperties;
+import com.example.demo.model.Customer;
+import com.example.demo.model.EmployeeWorkload;
+import com.example.demo.model.Ticket;
+import com.example.demo.repo.CustomerRepository;
+import com.example.demo.repo.EmployeeRepository;
+import com.example.demo.repo.EmployeeWorkloadProjection;
+import com.example.demo.repo.TicketBatchRepository;
+import com.example.demo.repo.TicketRepository;
+import com.example.demo.service.DepartmentLocks;
+import com.example.demo.service.DispatchQueueAssignmentStrategy;
+import com.example.demo.service.EmailService;
+import com.example.demo.service.EmployeeWorkloadIndex;
+import com.example.demo.service.LeastLoadedAssignmentStrategy;
+import com.example.demo.service.TicketService;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DepartmentLocksTest {
+
+    private static final int SUBMITTERS = 64;
+    private static final int TICKETS_PER_SUBMITTER = 10;
+    private static final int EMPLOYEES = 8;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private TicketBatchRepository ticketBatchRepository;
+
+    private AssignmentProperties assignmentProperties;
+
+    @BeforeEach
+    void setUp() {
+        assignmentProperties = new AssignmentProperties();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {DispatchQueueAssignmentStrategy.NAME, LeastLoadedAssignmentStrategy.NAME})
+    void addTicket_KeepsLoadEvenUnderConcurrentSubmitters(String strategy) throws InterruptedException {
+        assignmentProperties.setDefaultStrategy(strategy);
+        EmployeeWorkloadIndex workloadIndex = new EmployeeWorkloadIndex(ticketRepository);
+        TicketService ticketService = ticketService(workloadIndex);
+
+        // Employees start unevenly loaded: employee 1 has no tickets, employee 8 has seven
+        List<EmployeeWorkloadProjection> rows = new ArrayList<>();
+        for (int employeeId = 1; employeeId <= EMPLOYEES; employeeId++) {
+            rows.add(WorkloadRow.of(employeeId, "OUTAGE", employeeId - 1, 0, employeeId - 1));
+        }
+        when(ticketRepository.findEmployeeWorkloadsByDept("OUTAGE")).thenReturn(rows);
+        when(customerRepository.findById(anyInt())).thenAnswer(invocation -> {
+            Customer customer = new Customer();
+            customer.setCustomerId(invocation.getArgument(0));
+            return Optional.of(customer);
+        });
+        Map<Integer, AtomicInteger> saved = new ConcurrentHashMap<>();
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> {
+            Ticket ticket = invocation.getArgument(0);
+            saved.computeIfAbsent(ticket.getEmployeeId(), id -> new AtomicInteger()).incrementAndGet();
+            // Widen the window between deciding and updating the index
+            Thread.yield();
+            return ticket;
+        });
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(SUBMITTERS);
+        for (int submitter = 0; submitter < SUBMITTERS; submitter++) {
+            int firstCustomer = submitter * TICKETS_PER_SUBMITTER;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < TICKETS_PER_SUBMITTER; i++) {
+                    try {
+                        ticketService.addTicket(ticket(firstCustomer + i));
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertEquals(0, failures.get());
+        List<EmployeeWorkload> workloads = workloadIndex.getDepartmentWorkloads("OUTAGE");
+        int min = workloads.stream().mapToInt(EmployeeWorkload::totalTickets).min().orElseThrow();
+        int max = workloads.stream().mapToInt(EmployeeWorkload::totalTickets).max().orElseThrow();
+        // 640 new tickets on top of 28 existing ones: every employee ends with 83 or 84
+        assertTrue(max - min <= 1, "Load spread " + min + ".." + max);
+        for (EmployeeWorkload workload : workloads) {
+            assertEquals(workload.employeeId() - 1 + saved.get(workload.employeeId()).get(), workload.totalTickets());
+        }
+    }
+
+    @Test
+    void withLocks_LocksDepartmentsInStripeOrder() throws InterruptedException {
+        assignmentProperties.setLockStripes(4);
+        DepartmentLocks departmentLocks = new DepartmentLocks(assignmentProperties);
+        List<String> forward = List.of("OUTAGE", "BILLING_AND_ACCOUNTS", "TECHNICAL_SUPPORT");
+        List<String> backward = List.of("TECHNICAL_SUPPORT", "BILLING_AND_ACCOUNTS", "OUTAGE");
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(SUBMITTERS);
+        for (int i = 0; i < 1000; i++) {
+            List<String> departments = i % 2 == 0 ? forward : backward;
+            executor.submit(() -> departmentLocks.withLocks(departments, () -> {
+                // Also holding the single-department lock must not deadlock
+                departmentLocks.withLock("OUTAGE", () -> {
+                    assertEquals(1, inside.incrementAndGet());
+                    inside.decrementAndGet();
+                    return null;
+                });
+                return completed.incrementAndGet();
+            }));
+        }
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(1000, completed.get());
+    }
+
+    private TicketService ticketService(EmployeeWorkloadIndex workloadIndex) {
+        return TicketServiceFixtures.newTicketService(ticketRepository, customerRepository,
+                new TicketServiceFixtures.Collaborators()
+                        .emailService(emailService)
+                        .employeeRepository(employeeRepository)
+                        .ticketBatchRepository(ticketBatchRepository)
+                        .assignmentProperties(assignmentProperties)
+                        .workloadIndex(workloadIndex));
+    }
+
+    private static Ticket ticket(int customerId) {
+        Customer customer = new Customer();
+        customer.setCustomerId(customerId);
+        Ticket ticket = new Ticket();
+        ticket.setCustomer(customer);
+        ticket.setTicketType("OUTAGE");
+        return ticket;
+    }
+}
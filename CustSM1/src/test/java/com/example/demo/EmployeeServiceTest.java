@@ -39,7 +39,9 @@ import com.example.demo.model.Employee;
 import com.example.demo.repo.EmployeeRepository;
 import com.example.demo.service.EmailService;
 import com.example.demo.service.EmployeeService;
+import com.example.demo.service.EmployeeWorkloadIndex;
 import com.example.demo.service.OtpService;
+import com.example.demo.service.TicketDailyStats;
 
 @ExtendWith(MockitoExtension.class)
 class EmployeeServiceTest {
@@ -59,6 +61,12 @@ class EmployeeServiceTest {
     @Mock
     private BCryptPasswordEncoder bencoder;
 
+    @Mock
+    private EmployeeWorkloadIndex workloadIndex;
+
+    @Mock
+    private TicketDailyStats ticketDailyStats;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -185,6 +193,36 @@ class EmployeeServiceTest {
         verify(employeeRepository, times(1)).save(any(Employee.class));
     }
 
+    @Test
+    void testStaffChanges_ReloadWorkloadIndexAndMoveTicketStatistics() {
+        // Built here because openMocks replaces the mocks that @InjectMocks passed to the constructor
+        employeeService = new EmployeeService(encoder, emailService, otpService, employeeRepository, workloadIndex,
+                ticketDailyStats);
+        Employee former = new Employee();
+        former.setEmployeeId(1);
+        former.setEmployeeDept("OUTAGE");
+        emp = new Employee();
+        emp.setEmployeeId(1);
+        emp.setEmployeeDept("BILLING_AND_ACCOUNTS");
+        when(employeeRepository.findById(1)).thenReturn(Optional.of(former));
+
+        employeeService.updateEmployee(emp);
+
+        verify(workloadIndex).reloadDepartmentsAfterCommit("OUTAGE", "BILLING_AND_ACCOUNTS");
+        verify(ticketDailyStats).moveEmployeeTickets(1, "OUTAGE", "BILLING_AND_ACCOUNTS");
+
+        employeeService.deleteEmployee(1);
+
+        verify(workloadIndex).reloadDepartmentsAfterCommit("OUTAGE");
+        verify(ticketDailyStats).moveEmployeeTickets(1, "OUTAGE", null);
+
+        emp.setEmployeePassword("securePass");
+        emp.setEmployeeEmail("alice@example.com");
+        employeeService.addEmployee(emp);
+
+        verify(workloadIndex).reloadDepartmentsAfterCommit("BILLING_AND_ACCOUNTS");
+    }
+
 
     @Test
     void testDeleteEmployee() {
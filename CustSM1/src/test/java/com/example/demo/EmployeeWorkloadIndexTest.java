@@ -0,0 +1,234 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.model.DispatchQueueEntry;
+import com.example.demo.model.EmployeeWorkload;
+import com.example.demo.model.TicketState;
+import com.example.demo.repo.EmployeeWorkloadProjection;
+import com.example.demo.repo.TicketRepository;
+import com.example.demo.service.EmployeeWorkloadIndex;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeWorkloadIndexTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @InjectMocks
+    private EmployeeWorkloadIndex workloadIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(ticketRepository.findEmployeeWorkloads()).thenReturn(List.of(
+                new WorkloadRow(1, "OUTAGE", 2, 1, 1, 0, 0, 2),
+                new WorkloadRow(2, "OUTAGE", 0, 0, 0, 0, 0, 0),
+                new WorkloadRow(3, "BILLING_AND_ACCOUNTS", 1, 0, 1, 1, 0, 0)));
+        workloadIndex.reload();
+    }
+
+    @Test
+    void getDepartmentWorkloads_GroupsByDepartment() {
+        List<EmployeeWorkload> outage = workloadIndex.getDepartmentWorkloads("OUTAGE");
+
+        assertEquals(2, outage.size());
+        assertEquals(1, outage.get(0).employeeId());
+        assertEquals(2, outage.get(0).totalTickets());
+        assertEquals(2, outage.get(1).employeeId());
+    }
+
+    @Test
+    void getDepartmentWorkloads_LoadsMissingDepartmentOnce() {
+        when(ticketRepository.findEmployeeWorkloadsByDept("OTHER")).thenReturn(List.of(
+                WorkloadRow.of(4, "OTHER", 1, 1, 0)));
+
+        assertEquals(4, workloadIndex.getDepartmentWorkloads("OTHER").get(0).employeeId());
+        assertEquals(1, workloadIndex.getDepartmentWorkloads("OTHER").size());
+        verify(ticketRepository, times(1)).findEmployeeWorkloadsByDept("OTHER");
+    }
+
+    @Test
+    void onTicketChange_TracksCreateStatusChangeAndReassign() {
+        TicketState created = new TicketState(10, 2, 5, "OUTAGE", "PENDING", "HIGH");
+        workloadIndex.onTicketChange(null, created);
+
+        TicketState opened = new TicketState(10, 2, 5, "OUTAGE", "OPEN", "HIGH");
+        workloadIndex.onTicketChange(created, opened);
+
+        EmployeeWorkload employee2 = workloadIndex.getWorkload(2).orElseThrow();
+        assertEquals(1, employee2.totalTickets());
+        assertEquals(1, employee2.openTickets());
+        assertEquals(0, employee2.pendingTickets());
+        assertEquals(1, employee2.highPriorityTickets());
+
+        TicketState reassigned = new TicketState(10, 1, 5, "OUTAGE", "OPEN", "HIGH");
+        workloadIndex.onTicketChange(opened, reassigned);
+
+        assertEquals(0, workloadIndex.getWorkload(2).orElseThrow().totalTickets());
+        assertEquals(3, workloadIndex.getWorkload(1).orElseThrow().totalTickets());
+        assertEquals(2, workloadIndex.getWorkload(1).orElseThrow().openTickets());
+
+        workloadIndex.onTicketChange(reassigned, null);
+        assertEquals(2, workloadIndex.getWorkload(1).orElseThrow().totalTickets());
+    }
+
+    @Test
+    void dispatch_OrdersByActiveThenTotalThenLowPriority() {
+        when(ticketRepository.findEmployeeWorkloadsByDept("OTHER")).thenReturn(List.of(
+                new WorkloadRow(4, "OTHER", 9, 1, 0, 0, 0, 9),
+                new WorkloadRow(5, "OTHER", 3, 1, 1, 0, 0, 3),
+                new WorkloadRow(6, "OTHER", 3, 0, 1, 2, 0, 1),
+                new WorkloadRow(7, "OTHER", 3, 0, 1, 1, 0, 2)));
+
+        List<DispatchQueueEntry> queue = workloadIndex.getDispatchQueue("OTHER");
+
+        assertEquals(List.of(7, 6, 4, 5), queue.stream().map(DispatchQueueEntry::employeeId).toList());
+        assertEquals(1, queue.get(0).position());
+        assertEquals(1, queue.get(0).activeTickets());
+        assertEquals(7, workloadIndex.dispatch("OTHER").orElseThrow().employeeId());
+    }
+
+    @Test
+    void dispatch_RotatesEmployeesWithEqualWorkloads() {
+        // Employees 1 and 2 hold 2 and 0 tickets; give employee 2 the same load as employee 1
+        workloadIndex.onTicketChange(null, new TicketState(20, 2, 5, "OUTAGE", "OPEN", "HIGH"));
+        workloadIndex.onTicketChange(null, new TicketState(21, 2, 6, "OUTAGE", "PENDING", "HIGH"));
+
+        int first = workloadIndex.dispatch("OUTAGE").orElseThrow().employeeId();
+        int second = workloadIndex.dispatch("OUTAGE").orElseThrow().employeeId();
+
+        assertEquals(3, first + second);
+        assertNotNull(workloadIndex.getDispatchQueue("OUTAGE").get(1).lastAssignedAt());
+    }
+
+    @Test
+    void dispatch_FollowsTicketTransitions() {
+        assertEquals(2, workloadIndex.dispatch("OUTAGE").orElseThrow().employeeId());
+
+        // Employee 2 takes three tickets, then employee 1 closes both of theirs
+        for (int ticketId = 30; ticketId < 33; ticketId++) {
+            workloadIndex.onTicketChange(null, new TicketState(ticketId, 2, 5, "OUTAGE", "PENDING", "LOW"));
+        }
+        assertEquals(1, workloadIndex.dispatch("OUTAGE").orElseThrow().employeeId());
+
+        workloadIndex.onTicketChange(new TicketState(40, 1, 5, "OUTAGE", "OPEN", "HIGH"),
+                new TicketState(40, 1, 5, "OUTAGE", "CLOSED", "HIGH"));
+        workloadIndex.onTicketChange(new TicketState(41, 1, 5, "OUTAGE", "PENDING", "HIGH"),
+                new TicketState(41, 1, 5, "OUTAGE", "CLOSED", "HIGH"));
+
+        List<DispatchQueueEntry> queue = workloadIndex.getDispatchQueue("OUTAGE");
+        assertEquals(1, queue.get(0).employeeId());
+        assertEquals(0, queue.get(0).activeTickets());
+        assertEquals(3, queue.get(1).activeTickets());
+    }
+
+    @Test
+    void dispatch_HeadMatchesFullScanInLargeDepartment() {
+        List<EmployeeWorkloadProjection> rows = new ArrayList<>();
+        for (int employeeId = 100; employeeId < 600; employeeId++) {
+            rows.add(WorkloadRow.of(employeeId, "LARGE", 0, 0, 0));
+        }
+        when(ticketRepository.findEmployeeWorkloadsByDept("LARGE")).thenReturn(rows);
+
+        Random random = new Random(7);
+        for (int ticketId = 0; ticketId < 5000; ticketId++) {
+            int employeeId = 100 + random.nextInt(500);
+            String status = random.nextBoolean() ? "OPEN" : "CLOSED";
+            workloadIndex.onTicketChange(null, new TicketState(ticketId, employeeId, 1, "LARGE", status, "LOW"));
+
+            if (ticketId % 250 == 0) {
+                int minActive = workloadIndex.getDepartmentWorkloads("LARGE").stream()
+                        .mapToInt(workload -> workload.openTickets() + workload.pendingTickets())
+                        .min().orElseThrow();
+                assertEquals(minActive, workloadIndex.getDispatchQueue("LARGE").get(0).activeTickets());
+            }
+        }
+    }
+
+    @Test
+    void reloadDepartmentsAfterCommit_MakesNewAndMovedEmployeesEligible() {
+        // Employee 2 is busy, so a new hire with no tickets is next in line once the department reloads
+        workloadIndex.onTicketChange(null, new TicketState(20, 2, 5, "OUTAGE", "OPEN", "HIGH"));
+        workloadIndex.onTicketChange(null, new TicketState(21, 2, 6, "OUTAGE", "OPEN", "HIGH"));
+        workloadIndex.onTicketChange(null, new TicketState(22, 2, 7, "OUTAGE", "OPEN", "HIGH"));
+        when(ticketRepository.findEmployeeWorkloadsByDept("OUTAGE")).thenReturn(List.of(
+                WorkloadRow.of(1, "OUTAGE", 2, 1, 1),
+                WorkloadRow.of(2, "OUTAGE", 3, 3, 0),
+                WorkloadRow.of(3, "OUTAGE", 1, 0, 1),
+                WorkloadRow.of(4, "OUTAGE", 0, 0, 0)));
+        when(ticketRepository.findEmployeeWorkloadsByDept("BILLING_AND_ACCOUNTS")).thenReturn(List.of());
+
+        // Employee 4 is hired into OUTAGE and employee 3 moves there from BILLING_AND_ACCOUNTS
+        workloadIndex.reloadDepartmentsAfterCommit("OUTAGE", "BILLING_AND_ACCOUNTS", null);
+
+        assertEquals(4, workloadIndex.dispatch("OUTAGE").orElseThrow().employeeId());
+        assertEquals(List.of(1, 2, 3, 4), workloadIndex.getDepartmentWorkloads("OUTAGE").stream()
+                .map(EmployeeWorkload::employeeId).sorted().toList());
+        assertEquals(4, workloadIndex.getDispatchQueue("OUTAGE").size());
+        assertTrue(workloadIndex.getDepartments().stream().noneMatch("BILLING_AND_ACCOUNTS"::equals));
+    }
+
+    @Test
+    void reload_KeepsChangesOfTransactionsInFlight() {
+        TicketState rolledBack = new TicketState(30, 2, 5, "OUTAGE", "OPEN", "HIGH");
+        TicketState committed = new TicketState(31, 2, 6, "OUTAGE", "PENDING", "LOW");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            workloadIndex.onTicketChange(null, rolledBack);
+            workloadIndex.onTicketChange(null, committed);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        // Ticket 31 commits while the first read runs, so the database is read again and now includes it
+        when(ticketRepository.findEmployeeWorkloads()).thenAnswer(invocation -> {
+            workloadIndex.onTicketCommitted(null, committed);
+            return List.of(new WorkloadRow(1, "OUTAGE", 2, 1, 1, 0, 0, 2),
+                    new WorkloadRow(2, "OUTAGE", 1, 0, 1, 1, 0, 0));
+        }).thenReturn(List.of(new WorkloadRow(1, "OUTAGE", 2, 1, 1, 0, 0, 2),
+                new WorkloadRow(2, "OUTAGE", 1, 0, 1, 1, 0, 0)));
+
+        workloadIndex.reload();
+
+        // Ticket 30 is not committed yet, so it is replayed onto what was read
+        EmployeeWorkload employee = workloadIndex.getWorkload(2).orElseThrow();
+        assertEquals(2, employee.totalTickets());
+        assertEquals(1, employee.openTickets());
+        assertEquals(1, employee.pendingTickets());
+        verify(ticketRepository, times(3)).findEmployeeWorkloads();
+
+        // Its rollback takes it out of the reloaded index again
+        workloadIndex.onTicketChange(rolledBack, null);
+        assertEquals(new EmployeeWorkload(2, "OUTAGE", 1, 0, 1, 1, 0, 0), workloadIndex.getWorkload(2).orElseThrow());
+    }
+
+    @Test
+    void verifyAgainstDatabase_ReportsDrift() {
+        assertTrue(workloadIndex.verifyAgainstDatabase().isEmpty());
+
+        // A ticket the database never saw
+        workloadIndex.onTicketChange(null, new TicketState(11, 3, 5, "BILLING_AND_ACCOUNTS", "PENDING", "LOW"));
+
+        List<Map<String, Object>> mismatches = workloadIndex.verifyAgainstDatabase();
+        assertEquals(1, mismatches.size());
+        assertEquals(3, mismatches.get(0).get("employeeId"));
+        verify(ticketRepository, times(3)).findEmployeeWorkloads();
+    }
+}
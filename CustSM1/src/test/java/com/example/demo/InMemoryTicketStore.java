@@ -0,0 +1,193 @@
+package com.example.demo;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.demo.model.Constants;
+import com.example.demo.model.Customer;
+import com.example.demo.model.Ticket;
+import com.example.demo.repo.CustomerRepository;
+import com.example.demo.repo.EmployeeWorkloadProjection;
+import com.example.demo.repo.TicketRepository;
+
+/**
+ * Test stand-in for the TICKET and CUSTOMER tables. Hands out TicketRepository and CustomerRepository proxies
+ * that answer the queries used by ticket creation, close and assignment from memory and count every call,
+ * so a caller can measure queries per operation. Any other repository method fails, which shows when a
+ * change adds a query the stand-in does not know.
+ */
+class InMemoryTicketStore {
+
+    private final Map<Integer, Ticket> tickets = new ConcurrentHashMap<>();
+
+    private final Map<Integer, String> employeeDepartments = new TreeMap<>();
+
+    private final AtomicInteger ticketIds = new AtomicInteger();
+
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+
+    private final TicketRepository ticketRepository = proxy(TicketRepository.class, this::handleTicketQuery);
+
+    private final CustomerRepository customerRepository = proxy(CustomerRepository.class, this::handleCustomerQuery);
+
+    /**
+     * Adds an assignable employee to the given department.
+     */
+    InMemoryTicketStore employee(int employeeId, String department) {
+        employeeDepartments.put(employeeId, department);
+        return this;
+    }
+
+    TicketRepository ticketRepository() {
+        return ticketRepository;
+    }
+
+    CustomerRepository customerRepository() {
+        return customerRepository;
+    }
+
+    Optional<Ticket> ticket(int ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId));
+    }
+
+    /**
+     * Returns the number of repository calls made so far.
+     */
+    long totalCalls() {
+        return calls.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Returns the repository calls made so far per method.
+     */
+    Map<String, Long> callsByMethod() {
+        Map<String, Long> result = new TreeMap<>();
+        calls.forEach((method, count) -> result.put(method, count.sum()));
+        return result;
+    }
+
+    /**
+     * Returns the OPEN and PENDING tickets held by each employee, including employees without tickets.
+     */
+    Map<Integer, Integer> activeTicketsByEmployee() {
+        return activeTicketsByEmployee(null);
+    }
+
+    /**
+     * Returns the OPEN and PENDING tickets held by each employee of the department, or of every department if
+     * the department is null.
+     */
+    Map<Integer, Integer> activeTicketsByEmployee(String department) {
+        Map<Integer, Integer> active = new LinkedHashMap<>();
+        employeeDepartments.forEach((employeeId, dept) -> {
+            if (department == null || department.equals(dept)) {
+                active.put(employeeId, 0);
+            }
+        });
+        tickets.values().stream()
+                .filter(ticket -> isActive(ticket.getTicketStatus()) && active.containsKey(ticket.getEmployeeId()))
+                .forEach(ticket -> active.merge(ticket.getEmployeeId(), 1, Integer::sum));
+        return active;
+    }
+
+    private Object handleTicketQuery(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "save":
+                Ticket ticket = (Ticket) args[0];
+                if (ticket.getTicketId() == 0) {
+                    ticket.setTicketId(ticketIds.incrementAndGet());
+                }
+                tickets.put(ticket.getTicketId(), ticket);
+                return ticket;
+            case "findById":
+                return Optional.ofNullable(tickets.get((Integer) args[0]));
+            case "findActiveTicketKeys":
+                return tickets.values().stream()
+                        .filter(open -> isActive(open.getTicketStatus()))
+                        .map(open -> new Object[]{open.getCustomer().getCustomerId(), open.getTicketType()})
+                        .toList();
+            case "existsActiveTicket":
+                return tickets.values().stream()
+                        .anyMatch(open -> isActive(open.getTicketStatus())
+                                && open.getCustomer().getCustomerId() == (Integer) args[0]
+                                && open.getTicketType().equals(args[1]));
+            case "findEmployeeWorkloads":
+                return workloads(null);
+            case "findEmployeeWorkloadsByDept":
+                return workloads((String) args[0]);
+            default:
+                throw new UnsupportedOperationException("TicketRepository." + method.getName()
+                        + " is not supported by the in-memory stand-in");
+        }
+    }
+
+    private Object handleCustomerQuery(Method method, Object[] args) {
+        if (!"findById".equals(method.getName())) {
+            throw new UnsupportedOperationException("CustomerRepository." + method.getName()
+                    + " is not supported by the in-memory stand-in");
+        }
+        // Every customer exists
+        Customer customer = new Customer();
+        customer.setCustomerId((Integer) args[0]);
+        customer.setCustomerFirstname("Customer" + args[0]);
+        customer.setCustomerEmail("customer" + args[0] + "@example.com");
+        return Optional.of(customer);
+    }
+
+    private List<EmployeeWorkloadProjection> workloads(String department) {
+        Map<Integer, long[]> counts = new HashMap<>();
+        employeeDepartments.forEach((employeeId, dept) -> {
+            if (department == null || department.equals(dept)) {
+                counts.put(employeeId, new long[3]);
+            }
+        });
+        for (Ticket ticket : tickets.values()) {
+            long[] employeeCounts = counts.get(ticket.getEmployeeId());
+            if (employeeCounts != null) {
+                employeeCounts[0]++;
+                employeeCounts[1] += Constants.OPEN.equalsIgnoreCase(ticket.getTicketStatus()) ? 1 : 0;
+                employeeCounts[2] += Constants.PENDING.equalsIgnoreCase(ticket.getTicketStatus()) ? 1 : 0;
+            }
+        }
+        List<EmployeeWorkloadProjection> rows = new ArrayList<>();
+        counts.forEach((employeeId, employeeCounts) -> rows.add(WorkloadRow.of(employeeId,
+                employeeDepartments.get(employeeId), employeeCounts[0], employeeCounts[1], employeeCounts[2])));
+        return rows;
+    }
+
+    private static boolean isActive(String status) {
+        return Constants.OPEN.equalsIgnoreCase(status) || Constants.PENDING.equalsIgnoreCase(status);
+    }
+
+    private interface QueryHandler {
+        Object handle(Method method, Object[] args);
+    }
+
+    private <T> T proxy(Class<T> repositoryType, QueryHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "InMemory" + repositoryType.getSimpleName();
+                };
+            }
+            calls.computeIfAbsent(repositoryType.getSimpleName() + "." + method.getName(), name -> new LongAdder())
+                    .increment();
+            return handler.handle(method, args);
+        };
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType}, invocationHandler));
+    }
+}
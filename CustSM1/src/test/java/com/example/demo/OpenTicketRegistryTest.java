@@ -0,0 +1,143 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.demo.model.TicketState;
+import com.example.demo.repo.TicketRepository;
+import com.example.demo.service.OpenTicketRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OpenTicketRegistryTest {
+
+    private static final int THREADS = 32;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @InjectMocks
+    private OpenTicketRegistry openTicketRegistry;
+
+    @BeforeEach
+    void setUp() {
+        when(ticketRepository.findActiveTicketKeys()).thenReturn(List.<Object[]>of(new Object[]{1, "OUTAGE"}));
+    }
+
+    @Test
+    void reserve_RejectsKeyThatIsAlreadyOpen() {
+        assertFalse(openTicketRegistry.reserve(1, "OUTAGE"));
+        assertTrue(openTicketRegistry.reserve(1, "TECHNICAL_SUPPORT"));
+        assertFalse(openTicketRegistry.reserve(1, "TECHNICAL_SUPPORT"));
+
+        // Loaded once by the first reservation, and open keys are trusted without a query
+        verify(ticketRepository, times(1)).findActiveTicketKeys();
+        verify(ticketRepository, never()).existsActiveTicket(anyInt(), anyString());
+    }
+
+    @Test
+    void onTicketChange_ReleasesOnCloseAndReservesOnReopen() {
+        openTicketRegistry.reload();
+        TicketState open = new TicketState(10, 2, 1, "OUTAGE", "OPEN", "HIGH");
+        TicketState closed = new TicketState(10, 2, 1, "OUTAGE", "CLOSED", "HIGH");
+
+        openTicketRegistry.onTicketChange(open, closed);
+        assertFalse(openTicketRegistry.isOpen(1, "OUTAGE"));
+
+        openTicketRegistry.onTicketChange(closed, open);
+        assertTrue(openTicketRegistry.isOpen(1, "OUTAGE"));
+
+        openTicketRegistry.onTicketChange(open, null);
+        assertTrue(openTicketRegistry.reserve(1, "OUTAGE"));
+    }
+
+    @Test
+    void onTicketChange_RollbackOfCloseRestoresKey() {
+        openTicketRegistry.reload();
+        TicketState open = new TicketState(10, 2, 1, "OUTAGE", "OPEN", "HIGH");
+        TicketState closed = new TicketState(10, 2, 1, "OUTAGE", "CLOSED", "HIGH");
+
+        openTicketRegistry.onTicketChange(open, closed);
+        // Compensation after a rollback swaps before and after
+        openTicketRegistry.onTicketChange(closed, open);
+
+        assertFalse(openTicketRegistry.reserve(1, "OUTAGE"));
+    }
+
+    @Test
+    void reserve_RechecksOnlyKeysHeldThroughAnotherInstance() {
+        assertTrue(openTicketRegistry.reserve(1, "TECHNICAL_SUPPORT"));
+        // The database rejected the ticket: another instance holds the key
+        openTicketRegistry.markHeldElsewhere(1, "TECHNICAL_SUPPORT");
+        when(ticketRepository.existsActiveTicket(1, "TECHNICAL_SUPPORT")).thenReturn(true);
+
+        assertFalse(openTicketRegistry.reserve(1, "TECHNICAL_SUPPORT"));
+
+        // Its ticket was closed through the other instance, so the key is taken over once
+        when(ticketRepository.existsActiveTicket(1, "TECHNICAL_SUPPORT")).thenReturn(false);
+        assertTrue(openTicketRegistry.reserve(1, "TECHNICAL_SUPPORT"));
+        assertFalse(openTicketRegistry.reserve(1, "TECHNICAL_SUPPORT"));
+        verify(ticketRepository, times(2)).existsActiveTicket(1, "TECHNICAL_SUPPORT");
+
+        // Committed here, the key is trusted again
+        openTicketRegistry.onTicketCommitted(null, new TicketState(11, 2, 1, "TECHNICAL_SUPPORT", "PENDING", "HIGH"));
+        assertFalse(openTicketRegistry.reserve(1, "TECHNICAL_SUPPORT"));
+        verify(ticketRepository, times(2)).existsActiveTicket(1, "TECHNICAL_SUPPORT");
+    }
+
+    @Test
+    void reload_KeepsKeysReservedBeforeTheirTicketsCommit() {
+        assertTrue(openTicketRegistry.reserve(2, "OUTAGE"));
+
+        // The startup load finds the registry already loaded by the reservation
+        openTicketRegistry.loadOnStartup();
+        assertFalse(openTicketRegistry.reserve(2, "OUTAGE"));
+        verify(ticketRepository, times(1)).findActiveTicketKeys();
+
+        // An explicit reload does not drop the uncommitted reservation either
+        openTicketRegistry.reload();
+        assertFalse(openTicketRegistry.reserve(2, "OUTAGE"));
+        assertTrue(openTicketRegistry.isOpen(1, "OUTAGE"));
+    }
+
+    @Test
+    void reserve_OnlyOneOfManyConcurrentSubmissionsWins() throws InterruptedException {
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            executor.submit(() -> {
+                start.await();
+                if (openTicketRegistry.reserve(5, "BILLING_AND_ACCOUNTS")) {
+                    reserved.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1, reserved.get());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.config.TicketStatsProperties;
+import com.example.demo.model.TicketState;
+import com.example.demo.model.TicketStatsKey;
+import com.example.demo.repo.TicketStatsRepository;
+import com.example.demo.repo.TicketStatsRepository.TicketOrigin;
+import com.example.demo.service.TicketDailyStats;
+
+@ExtendWith(MockitoExtension.class)
+class TicketDailyStatsTest {
+
+    private static final LocalDate MAY_1 = LocalDate.of(2025, 5, 1);
+    private static final LocalDate MAY_2 = LocalDate.of(2025, 5, 2);
+
+    @Mock
+    private TicketStatsRepository statsRepository;
+
+    private TicketDailyStats dailyStats;
+
+    @BeforeEach
+    void setUp() {
+        dailyStats = new TicketDailyStats(statsRepository, new TicketStatsProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(dailyStats);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void changes_AreNettedAndWrittenAsGroupDeltasBeforeCommit() {
+        when(statsRepository.findTicketOrigins(Set.of(3))).thenReturn(Map.of(3, new TicketOrigin(MAY_1, "Karnataka", "Mysuru")));
+        when(statsRepository.findTicketOrigins(Set.of(1, 2))).thenReturn(Map.of(
+                1, new TicketOrigin(MAY_2, "Karnataka", "Bengaluru"),
+                2, new TicketOrigin(MAY_1, "Karnataka", "Bengaluru")));
+        when(statsRepository.findEmployeeDepartments(anyCollection())).thenReturn(Map.of(101, "OUTAGE", 102, "OUTAGE"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        // Ticket 1 is raised and closed, ticket 2 moves within its department, ticket 3 is deleted
+        dailyStats.onTicketChange(null, state(1, 101, "PENDING"));
+        dailyStats.onTicketChange(state(1, 101, "PENDING"), state(1, 101, "Closed"));
+        dailyStats.onTicketChange(state(2, 101, "PENDING"), state(2, 102, "PENDING"));
+        dailyStats.onTicketChange(state(3, 101, "OPEN"), null);
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        ArgumentCaptor<Map<TicketStatsKey, Integer>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(statsRepository).addToGroups(deltas.capture());
+        assertEquals(Map.of(
+                TicketStatsKey.of(MAY_2, "Karnataka", "Bengaluru", "OUTAGE", "OUTAGE", "HIGH", "CLOSED"), 1,
+                TicketStatsKey.of(MAY_1, "Karnataka", "Mysuru", "OUTAGE", "OUTAGE", "HIGH", "OPEN"), -1),
+                deltas.getValue());
+    }
+
+    @Test
+    void changesOutsideTransactions_AreIgnoredAndBackfillChecksItsRange() {
+        dailyStats.onTicketChange(state(1, 101, "CLOSED"), state(1, 101, "PENDING"));
+
+        verifyNoInteractions(statsRepository);
+        assertThrows(IllegalArgumentException.class, () -> dailyStats.backfill(MAY_1, null));
+        assertThrows(IllegalArgumentException.class, () -> dailyStats.backfill(MAY_2, MAY_1));
+        when(statsRepository.backfill(any(), any())).thenReturn(12);
+        assertEquals(12, dailyStats.backfill(MAY_1, MAY_2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void customerAndEmployeeMoves_MoveTheirTicketsToTheNewGroups() {
+        TicketStatsKey open = TicketStatsKey.of(MAY_1, "Tamil Nadu", "Chennai", "OUTAGE", "OUTAGE", "HIGH", "OPEN");
+        TicketStatsKey closed = TicketStatsKey.of(MAY_2, "Tamil Nadu", "Chennai", "OUTAGE", "OUTAGE", "HIGH", "CLOSED");
+        when(statsRepository.findCustomerTicketGroups(7)).thenReturn(Map.of(open, 2, closed, 1));
+        when(statsRepository.findEmployeeTicketGroups(101)).thenReturn(Map.of(open, 2));
+
+        dailyStats.moveCustomerTickets(7, "Tamil Nadu", "Chennai", "Karnataka", "Bengaluru");
+        dailyStats.moveEmployeeTickets(101, "OUTAGE", null);
+        // Unchanged locations and departments cost no query
+        dailyStats.moveCustomerTickets(8, "Kerala", "Kochi", "Kerala", "Kochi");
+        dailyStats.moveEmployeeTickets(102, "OUTAGE", "OUTAGE");
+
+        ArgumentCaptor<Map<TicketStatsKey, Integer>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(statsRepository, times(2)).addToGroups(deltas.capture());
+        assertEquals(Map.of(
+                open, -2, closed, -1,
+                TicketStatsKey.of(MAY_1, "Karnataka", "Bengaluru", "OUTAGE", "OUTAGE", "HIGH", "OPEN"), 2,
+                TicketStatsKey.of(MAY_2, "Karnataka", "Bengaluru", "OUTAGE", "OUTAGE", "HIGH", "CLOSED"), 1),
+                deltas.getAllValues().get(0));
+        assertEquals(Map.of(open, -2, TicketStatsKey.of(MAY_1, "Tamil Nadu", "Chennai", null, "OUTAGE", "HIGH", "OPEN"), 2),
+                deltas.getAllValues().get(1));
+        verify(statsRepository, never()).findCustomerTicketGroups(8);
+        verify(statsRepository, never()).findEmployeeTicketGroups(102);
+    }
+
+    private static TicketState state(int ticketId, int employeeId, String status) {
+        return new TicketState(ticketId, employeeId, 5, "OUTAGE", status, "HIGH");
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.config.TicketEventProperties;
+import com.example.demo.exceptions.EventStreamLimitException;
+import com.example.demo.model.TicketEvent;
+import com.example.demo.model.TicketState;
+import com.example.demo.service.TicketEventBus;
+import com.example.demo.service.TicketEventStreams;
+
+class TicketEventStreamsTest {
+
+    private final TicketEventBus eventBus = new TicketEventBus();
+
+    private final TicketEventProperties properties = new TicketEventProperties();
+
+    private TicketEventStreams eventStreams;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBufferSize(4);
+        properties.setMaxSubscribers(3);
+        eventStreams = new TicketEventStreams(eventBus, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventStreams.shutdown();
+    }
+
+    @Test
+    void streams_DeliverOnlyTheirCustomerOrEmployeeEventsInOrder() throws InterruptedException {
+        RecordingEmitter customerStream = new RecordingEmitter(2);
+        RecordingEmitter employeeStream = new RecordingEmitter(2);
+        eventStreams.subscribe(TicketEventStreams.CUSTOMER, customerStream, event -> event.customerId() == 5);
+        eventStreams.subscribe(TicketEventStreams.EMPLOYEE, employeeStream, event -> event.concernsEmployee(9));
+
+        eventBus.onTicketCommitted(null, state(1, 5, 9, "PENDING"));
+        eventBus.onTicketCommitted(null, state(2, 6, 7, "PENDING"));
+        // Ticket 1 moves from employee 9 to employee 7 and is closed
+        eventBus.onTicketCommitted(state(1, 5, 9, "PENDING"), state(1, 5, 7, "CLOSED"));
+
+        assertTrue(customerStream.await());
+        assertTrue(employeeStream.await());
+        List<TicketEvent> customerEvents = customerStream.events();
+        assertEquals(List.of(TicketEvent.CREATED, TicketEvent.UPDATED),
+                customerEvents.stream().map(TicketEvent::change).toList());
+        assertEquals("PENDING", customerEvents.get(1).previousStatus());
+        assertEquals(9, employeeStream.events().get(1).previousEmployeeId());
+        assertTrue(waitFor(() -> eventStreams.getMetrics().get("eventsDelivered").equals(4L)));
+    }
+
+    @Test
+    void streams_IgnoreUncommittedChanges() throws InterruptedException {
+        RecordingEmitter stream = new RecordingEmitter(1);
+        eventStreams.subscribe(TicketEventStreams.CUSTOMER, stream, event -> true);
+
+        eventBus.onTicketChange(null, state(1, 5, 9, "PENDING"));
+        eventBus.onTicketCommitted(null, state(2, 5, 9, "PENDING"));
+
+        assertTrue(stream.await());
+        assertEquals(List.of(2), stream.events().stream().map(TicketEvent::ticketId).toList());
+    }
+
+    @Test
+    void slowStream_DropsBufferedEventsAndIsToldToResync() throws InterruptedException {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stream = new RecordingEmitter(5) {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                sending.countDown();
+                try {
+                    // The client stalls on the first event until the buffer has overflowed
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(builder);
+            }
+        };
+        eventStreams.subscribe(TicketEventStreams.CUSTOMER, stream, event -> true);
+
+        // Ticket 1 is being sent, 2 to 5 fill the buffer, 6 overflows it and 7 to 10 are buffered again
+        eventBus.onTicketCommitted(null, state(1, 5, 9, "PENDING"));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        for (int ticketId = 2; ticketId <= 10; ticketId++) {
+            eventBus.onTicketCommitted(null, state(ticketId, 5, 9, "PENDING"));
+        }
+        release.countDown();
+
+        assertTrue(stream.await());
+        assertEquals(List.of(1, 7, 8, 9, 10), stream.events().stream().map(TicketEvent::ticketId).toList());
+        assertTrue(stream.sent().contains("event:resync"));
+        assertEquals(5L, eventStreams.getMetrics().get("eventsDropped"));
+        assertTrue(waitFor(() -> eventStreams.getMetrics().get("resyncsSent").equals(1L)));
+    }
+
+    @Test
+    void failedStream_IsClosedAndLimitRefusesExtraStreams() throws InterruptedException {
+        RecordingEmitter broken = new RecordingEmitter(1) {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        eventStreams.subscribe(TicketEventStreams.EMPLOYEE, broken, event -> true);
+        eventStreams.subscribe(TicketEventStreams.EMPLOYEE, new RecordingEmitter(0), event -> true);
+        eventStreams.subscribe(TicketEventStreams.CUSTOMER, new RecordingEmitter(0), event -> true);
+        assertThrows(EventStreamLimitException.class,
+                () -> eventStreams.subscribe(TicketEventStreams.CUSTOMER, new RecordingEmitter(0), event -> true));
+
+        eventStreams.sendHeartbeats();
+
+        assertTrue(waitFor(() -> (Integer) eventStreams.getMetrics().get("activeStreams") == 2));
+        assertEquals(1L, eventStreams.getMetrics().get("activeEmployeeStreams"));
+        assertEquals(1L, eventStreams.getMetrics().get("refused"));
+        assertEquals(3, eventStreams.getMetrics().get("peakStreams"));
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private static TicketState state(int ticketId, int customerId, int employeeId, String status) {
+        return new TicketState(ticketId, employeeId, customerId, "OUTAGE", status, "HIGH");
+    }
+
+    /**
+     * Emitter that records what is sent to it instead of writing to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Object> data = new CopyOnWriteArrayList<>();
+        private final CountDownLatch expectedEvents;
+
+        RecordingEmitter(int expectedEvents) {
+            this.expectedEvents = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            builder.build().forEach(part -> {
+                data.add(part.getData());
+                if (part.getData() instanceof TicketEvent) {
+                    expectedEvents.countDown();
+                }
+            });
+        }
+
+        boolean await() throws InterruptedException {
+            return expectedEvents.await(5, TimeUnit.SECONDS);
+        }
+
+        List<TicketEvent> events() {
+            return data.stream().filter(TicketEvent.class::isInstance).map(TicketEvent.class::cast).toList();
+        }
+
+        String sent() {
+            return data.toString();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.demo.model.Customer;
+import com.example.demo.model.Ticket;
+import com.example.demo.repo.TicketRepository;
+import com.example.demo.service.TicketExportService;
+import com.example.demo.service.TicketExportService.Format;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class TicketExportServiceTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private TicketExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new TicketExportService(ticketRepository, entityManager, objectMapper);
+    }
+
+    @Test
+    void export_WritesOneJsonTicketPerLineAndDetachesThem() throws IOException {
+        Ticket first = ticket(1, "Power cut");
+        Ticket second = ticket(2, "No signal");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(ticketRepository.streamAllTickets()).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long written = exportService.export(Format.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, written);
+        assertEquals(2, lines.length);
+        JsonNode json = objectMapper.readTree(lines[1]);
+        assertEquals(2, json.get("ticketId").asInt());
+        assertEquals(7, json.get("customer").get("customerId").asInt());
+        // Only the customer's ID and name are exported, never their credentials or contact details
+        for (String line : lines) {
+            assertFalse(line.contains("customerPassword"));
+            assertFalse(line.contains("secret-hash"));
+            assertFalse(line.contains("customer@example.com"));
+        }
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+        // The database cursor is released once the export is written
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void export_WritesCsvWithQuotedFields() throws IOException {
+        when(ticketRepository.streamAllTickets()).thenReturn(Stream.of(ticket(3, "Router \"blinks\", then stops")));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exportService.export(Format.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("ticketId,customerId,employeeId"));
+        assertEquals("3,7,4,OUTAGE,PENDING,HIGH,2024-05-01T10:15,,,,,\"Router \"\"blinks\"\", then stops\"", lines[1]);
+        verify(entityManager, times(1)).detach(any(Ticket.class));
+    }
+
+    @Test
+    void formatOf_DefaultsToNdjsonAndRejectsUnknownFormats() {
+        assertEquals(Format.NDJSON, Format.of(null));
+        assertEquals(Format.CSV, Format.of("csv"));
+        assertThrows(IllegalArgumentException.class, () -> Format.of("xml"));
+    }
+
+    private static Ticket ticket(int ticketId, String description) {
+        Customer customer = new Customer();
+        customer.setCustomerId(7);
+        customer.setCustomerPassword("secret-hash");
+        customer.setCustomerEmail("customer@example.com");
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(ticketId);
+        ticket.setCustomer(customer);
+        ticket.setEmployeeId(4);
+        ticket.setTicketType("OUTAGE");
+        ticket.setTicketStatus("PENDING");
+        ticket.setTicketPriority("HIGH");
+        ticket.setTicketRaiseDate(LocalDateTime.of(2024, 5, 1, 10, 15));
+        ticket.setTicketDescription(description);
+        return ticket;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.demo.config.IntakeProperties;
+import com.example.demo.exceptions.DuplicateTicketException;
+import com.example.demo.exceptions.IntakeQueueFullException;
+import com.example.demo.exceptions.IntakeUnavailableException;
+import com.example.demo.model.Constants;
+import com.example.demo.model.Ticket;
+import com.example.demo.service.TicketIntakeService;
+import com.example.demo.service.TicketService;
+
+@ExtendWith(MockitoExtension.class)
+class TicketIntakeServiceTest {
+
+    @Mock
+    private TicketService ticketService;
+
+    private TicketIntakeService intakeService;
+
+    @BeforeEach
+    void setUp() {
+        IntakeProperties intakeProperties = new IntakeProperties();
+        intakeProperties.setWorkers(1);
+        intakeProperties.setQueueCapacity(1);
+        intakeService = new TicketIntakeService(ticketService, intakeProperties);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        intakeService.shutdown();
+    }
+
+    @Test
+    void submit_SavesTicketThenAssignsAndNotifiesOnWorker() {
+        Ticket ticket = ticket(1);
+        Ticket assigned = ticket(1);
+        assigned.setEmployeeId(7);
+        when(ticketService.acceptTicket(ticket)).thenReturn(ticket);
+        when(ticketService.assignAcceptedTicket(1)).thenReturn(assigned);
+
+        Ticket result = intakeService.submit(ticket);
+
+        assertEquals(1, result.getTicketId());
+        verify(ticketService, timeout(5000)).sendTicketRaisedEmail(assigned);
+        Map<String, Object> metrics = intakeService.getMetrics();
+        assertEquals(1L, metrics.get("accepted"));
+        assertEquals(1L, metrics.get("assigned"));
+    }
+
+    @Test
+    void submit_RefusesWhenWorkersAndQueueAreFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        Ticket first = ticket(1);
+        Ticket second = ticket(2);
+        Ticket third = ticket(3);
+        when(ticketService.acceptTicket(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ticketService.assignAcceptedTicket(any(Integer.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return ticket(invocation.getArgument(0));
+        });
+
+        // One ticket on the worker and one in the queue
+        intakeService.submit(first);
+        intakeService.submit(second);
+
+        assertThrows(IntakeQueueFullException.class, () -> intakeService.submit(third));
+        verify(ticketService, never()).acceptTicket(third);
+        assertEquals(1L, intakeService.getMetrics().get("refused"));
+
+        release.countDown();
+        verify(ticketService, timeout(5000).times(2)).assignAcceptedTicket(any(Integer.class));
+    }
+
+    @Test
+    void submit_ReturnsSlotWhenTicketIsRejected() {
+        Ticket duplicate = ticket(1);
+        when(ticketService.acceptTicket(duplicate)).thenThrow(new DuplicateTicketException("duplicate"));
+
+        for (int attempt = 0; attempt < 5; attempt++) {
+            assertThrows(DuplicateTicketException.class, () -> intakeService.submit(duplicate));
+        }
+        assertEquals(2, intakeService.getMetrics().get("availableSlots"));
+    }
+
+    @Test
+    void submit_LeavesTicketUnassignedWithoutEmail() {
+        Ticket ticket = ticket(1);
+        when(ticketService.acceptTicket(ticket)).thenReturn(ticket);
+        when(ticketService.assignAcceptedTicket(1)).thenReturn(ticket);
+
+        intakeService.submit(ticket);
+
+        verify(ticketService, timeout(5000)).assignAcceptedTicket(1);
+        verify(ticketService, times(0)).sendTicketRaisedEmail(any());
+    }
+
+    @Test
+    void submit_RefusedAfterShutdown() throws InterruptedException {
+        intakeService.shutdown();
+
+        assertThrows(IntakeUnavailableException.class, () -> intakeService.submit(ticket(1)));
+    }
+
+    @Test
+    void resumeUnassignedTickets_QueuesTicketsFromPreviousRun() {
+        when(ticketService.findUnassignedTickets()).thenReturn(List.of(ticket(4), ticket(5)));
+        when(ticketService.assignAcceptedTicket(any(Integer.class)))
+                .thenAnswer(invocation -> ticket(invocation.getArgument(0)));
+
+        intakeService.resumeUnassignedTickets();
+
+        verify(ticketService, timeout(5000)).assignAcceptedTicket(4);
+        verify(ticketService, timeout(5000)).assignAcceptedTicket(5);
+    }
+
+    private static Ticket ticket(int ticketId) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(ticketId);
+        ticket.setTicketType("OUTAGE");
+        ticket.setTicketStatus(Constants.PENDING);
+        return ticket;
+    }
+}
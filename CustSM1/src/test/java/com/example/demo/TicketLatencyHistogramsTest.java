@@ -0,0 +1,106 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.demo.config.TicketLatencyProperties;
+import com.example.demo.model.Employee;
+import com.example.demo.model.LatencyPercentiles;
+import com.example.demo.model.LatencySample;
+import com.example.demo.model.LatencySample.Kind;
+import com.example.demo.repo.EmployeeRepository;
+import com.example.demo.repo.TicketRepository;
+import com.example.demo.service.TicketLatencyHistograms;
+
+@ExtendWith(MockitoExtension.class)
+class TicketLatencyHistogramsTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TicketLatencyHistograms latencyHistograms;
+
+    @BeforeEach
+    void setUp() {
+        latencyHistograms = new TicketLatencyHistograms(ticketRepository, employeeRepository, transactionManager,
+                new TicketLatencyProperties());
+    }
+
+    @Test
+    void loadOnStartup_CountsResponsesAndOnlyClosedTicketsAsResolved() {
+        LocalDateTime raised = LocalDateTime.of(2024, 3, 1, 9, 0);
+        when(ticketRepository.streamLatencyRows(any(LocalDateTime.class))).thenReturn(Stream.of(
+                new Object[]{7, raised, raised.plusMinutes(10), raised.plusHours(4), "CLOSED"},
+                new Object[]{7, raised, raised.plusMinutes(30), null, "PENDING"},
+                // Reopened: its resolve time is from before the reopen
+                new Object[]{7, raised, raised.plusMinutes(20), raised.plusHours(1), "OPEN"}));
+
+        latencyHistograms.loadOnStartup();
+
+        Map<String, LatencyPercentiles> percentiles = latencyHistograms.getEmployeePercentiles(7);
+        LatencyPercentiles response = percentiles.get(TicketLatencyHistograms.RESPONSE);
+        assertEquals(3, response.count());
+        assertClose(1200, response.p50Seconds());
+        assertClose(1800, response.maxSeconds());
+        LatencyPercentiles resolution = percentiles.get(TicketLatencyHistograms.RESOLUTION);
+        assertEquals(1, resolution.count());
+        assertClose(14400, resolution.p99Seconds());
+        assertEquals(0, latencyHistograms.getEmployeePercentiles(8).get(TicketLatencyHistograms.RESPONSE).count());
+    }
+
+    @Test
+    void departmentAndManagerPercentiles_MergeTheirEmployeesHistograms() {
+        for (int i = 1; i <= 90; i++) {
+            latencyHistograms.record(new LatencySample(1, Kind.RESPONSE, 60));
+        }
+        for (int i = 1; i <= 10; i++) {
+            latencyHistograms.record(new LatencySample(2, Kind.RESPONSE, 3600));
+        }
+        latencyHistograms.recordAfterCommit(List.of(new LatencySample(3, Kind.RESOLUTION, 86400)));
+        when(employeeRepository.findEmployeesByDomain("Network")).thenReturn(List.of(1, 2));
+        Employee first = new Employee();
+        first.setEmployeeId(1);
+        Employee third = new Employee();
+        third.setEmployeeId(3);
+        when(employeeRepository.findByEmployeeManagerId(50)).thenReturn(List.of(first, third));
+
+        LatencyPercentiles department = latencyHistograms.getDepartmentPercentiles("Network")
+                .get(TicketLatencyHistograms.RESPONSE);
+        assertEquals(100, department.count());
+        assertClose(60, department.p50Seconds());
+        assertClose(60, department.p90Seconds());
+        assertClose(3600, department.p99Seconds());
+
+        Map<String, Object> manager = latencyHistograms.getManagerPercentiles(50);
+        @SuppressWarnings("unchecked")
+        Map<String, LatencyPercentiles> team = (Map<String, LatencyPercentiles>) manager.get("team");
+        assertEquals(90, team.get(TicketLatencyHistograms.RESPONSE).count());
+        assertEquals(1, team.get(TicketLatencyHistograms.RESOLUTION).count());
+        assertEquals(2, ((Map<?, ?>) manager.get("employees")).size());
+    }
+
+    // Histograms keep two significant digits
+    private static void assertClose(long expected, long actual) {
+        assertTrue(Math.abs(expected - actual) <= expected / 100 + 1, "expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.demo.config.AssignmentProperties;
+import com.example.demo.config.RebalanceProperties;
+import com.example.demo.model.Employee;
+import com.example.demo.model.RebalanceReport;
+import com.example.demo.model.TicketMove;
+import com.example.demo.repo.EmployeeRepository;
+import com.example.demo.repo.TicketBatchRepository;
+import com.example.demo.repo.TicketRepository;
+import com.example.demo.service.DepartmentLocks;
+import com.example.demo.service.EmailService;
+import com.example.demo.service.EmployeeWorkloadIndex;
+import com.example.demo.service.TicketRebalancer;
+
+@ExtendWith(MockitoExtension.class)
+class TicketRebalancerTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketBatchRepository ticketBatchRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    private EmployeeWorkloadIndex workloadIndex;
+
+    private RebalanceProperties rebalanceProperties;
+
+    private TicketRebalancer rebalancer;
+
+    @BeforeEach
+    void setUp() {
+        // Employee 1 holds 14 PENDING tickets, employees 2 and 3 hold 2 and 5
+        when(ticketRepository.findEmployeeWorkloads()).thenReturn(List.of(
+                WorkloadRow.of(1, "OUTAGE", 14, 0, 14),
+                WorkloadRow.of(2, "OUTAGE", 2, 0, 2),
+                WorkloadRow.of(3, "OUTAGE", 5, 1, 4)));
+        workloadIndex = new EmployeeWorkloadIndex(ticketRepository);
+        workloadIndex.reload();
+
+        rebalanceProperties = new RebalanceProperties();
+        rebalanceProperties.setOverloadThreshold(10);
+        rebalancer = new TicketRebalancer(workloadIndex, ticketRepository, ticketBatchRepository, employeeRepository,
+                emailService, new DepartmentLocks(new AssignmentProperties()), List.of(workloadIndex),
+                rebalanceProperties);
+    }
+
+    @Test
+    void rebalance_MovesPendingTicketsToLeastLoadedPeers() {
+        when(ticketRepository.findPendingTicketStates(List.of(1))).thenReturn(pendingTickets(1, 14));
+        when(ticketBatchRepository.reassignAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(employeeRepository.findAllById(any())).thenReturn(List.of(employee(1), employee(2)));
+
+        RebalanceReport report = rebalancer.rebalance();
+
+        // Employee 2 is the least loaded peer for every move; employee 1 stops at the threshold
+        assertEquals(4, report.ticketsMoved());
+        assertEquals(List.of(2, 2, 2, 2), report.moves().stream().map(TicketMove::toEmployeeId).toList());
+        assertEquals(List.of(100, 101, 102, 103), report.moves().stream().map(move -> move.ticket().ticketId()).toList());
+        assertEquals(10, workloadIndex.getWorkload(1).orElseThrow().pendingTickets());
+        assertEquals(6, workloadIndex.getWorkload(2).orElseThrow().pendingTickets());
+
+        RebalanceReport.DepartmentSpread spread = report.departments().get(0);
+        assertEquals(2, spread.minActiveBefore());
+        assertEquals(14, spread.maxActiveBefore());
+        assertEquals(5, spread.minActiveAfter());
+        assertEquals(10, spread.maxActiveAfter());
+
+        // One batched update and one email per employee involved
+        verify(ticketBatchRepository, times(1)).reassignAll(anyList());
+        verify(emailService, times(1)).sendEmail(eq("employee1@example.com"), eq("Ticket Queue Rebalanced"), any());
+        verify(emailService, times(1)).sendEmail(eq("employee2@example.com"), eq("Ticket Queue Rebalanced"), any());
+    }
+
+    @Test
+    void rebalance_SkipsMovesOfTicketsThatChangedMeanwhile() {
+        when(ticketRepository.findPendingTicketStates(List.of(1))).thenReturn(pendingTickets(1, 14));
+        // The first planned ticket was closed before the update ran
+        when(ticketBatchRepository.reassignAll(anyList())).thenAnswer(invocation -> {
+            List<TicketMove> planned = invocation.getArgument(0);
+            return planned.subList(1, planned.size());
+        });
+        when(employeeRepository.findAllById(any())).thenReturn(List.of());
+
+        RebalanceReport report = rebalancer.rebalance();
+
+        assertEquals(3, report.ticketsMoved());
+        assertEquals(1, report.movesSkipped());
+        assertEquals(11, workloadIndex.getWorkload(1).orElseThrow().pendingTickets());
+        assertEquals(5, workloadIndex.getWorkload(2).orElseThrow().pendingTickets());
+    }
+
+    @Test
+    void rebalance_DoesNothingWithoutOverloadedEmployees() {
+        rebalanceProperties.setOverloadThreshold(20);
+
+        RebalanceReport report = rebalancer.rebalance();
+
+        assertEquals(0, report.ticketsMoved());
+        verify(ticketRepository, never()).findPendingTicketStates(any());
+        verify(ticketBatchRepository, never()).reassignAll(anyList());
+        verify(emailService, never()).sendEmail(any(), any(), any());
+    }
+
+    @Test
+    void getReports_KeepsMostRecentRunsFirst() {
+        rebalanceProperties.setOverloadThreshold(20);
+        rebalanceProperties.setReportHistory(2);
+
+        rebalancer.rebalance();
+        rebalancer.rebalance();
+        RebalanceReport latest = rebalancer.rebalance();
+
+        assertEquals(2, rebalancer.getReports().size());
+        assertEquals(latest, rebalancer.getReports().get(0));
+    }
+
+    private static List<Object[]> pendingTickets(int employeeId, int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{100 + i, employeeId, 500 + i, "OUTAGE", "PENDING", "HIGH"});
+        }
+        return rows;
+    }
+
+    private static Employee employee(int employeeId) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(employeeId);
+        employee.setEmployeeFirstName("Employee" + employeeId);
+        employee.setEmployeeEmail("employee" + employeeId + "@example.com");
+        return employee;
+    }
+}
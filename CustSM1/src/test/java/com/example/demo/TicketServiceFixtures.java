@@ -0,0 +1,143 @@
+package com.example.demo;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import com.example.demo.config.AssignmentProperties;
+import com.example.demo.config.TicketCacheProperties;
+import com.example.demo.config.TicketPageProperties;
+import com.example.demo.repo.CustomerRepository;
+import com.example.demo.repo.EmployeeRepository;
+import com.example.demo.repo.TicketBatchRepository;
+import com.example.demo.repo.TicketRepository;
+import com.example.demo.repo.TicketStatsRepository;
+import com.example.demo.service.CapacityCappedAssignmentStrategy;
+import com.example.demo.service.DepartmentLocks;
+import com.example.demo.service.DispatchQueueAssignmentStrategy;
+import com.example.demo.service.EmailService;
+import com.example.demo.service.EmployeeWorkloadIndex;
+import com.example.demo.service.LeastLoadedAssignmentStrategy;
+import com.example.demo.service.OpenTicketRegistry;
+import com.example.demo.service.TicketAssignmentService;
+import com.example.demo.service.TicketLatencyHistograms;
+import com.example.demo.service.TicketNotifier;
+import com.example.demo.service.TicketReadCache;
+import com.example.demo.service.TicketService;
+import com.example.demo.service.TicketStatusCounters;
+import com.example.demo.service.TicketTrends;
+import com.example.demo.service.WeightedRoundRobinAssignmentStrategy;
+
+/**
+ * Builds a TicketService wired as in the application: the workload index, assignment strategies, open ticket
+ * registry and department locks are real and read the given repositories, and the collaborators a test does
+ * not set are mocks.
+ */
+final class TicketServiceFixtures {
+
+    private TicketServiceFixtures() {
+    }
+
+    static final class Collaborators {
+
+        private EmailService emailService = mock(EmailService.class);
+        private EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+        private TicketBatchRepository ticketBatchRepository = mock(TicketBatchRepository.class);
+        private AssignmentProperties assignmentProperties = new AssignmentProperties();
+        // Built over the ticket repository when not set
+        private EmployeeWorkloadIndex workloadIndex;
+        private OpenTicketRegistry openTicketRegistry;
+        private TicketReadCache readCache = new TicketReadCache(new TicketCacheProperties());
+        private TicketNotifier ticketNotifier = mock(TicketNotifier.class);
+        private TicketStatusCounters statusCounters = mock(TicketStatusCounters.class);
+        private TicketStatsRepository statsRepository = mock(TicketStatsRepository.class);
+        private TicketLatencyHistograms latencyHistograms = mock(TicketLatencyHistograms.class);
+        private TicketTrends ticketTrends = mock(TicketTrends.class);
+
+        Collaborators emailService(EmailService emailService) {
+            this.emailService = emailService;
+            return this;
+        }
+
+        Collaborators employeeRepository(EmployeeRepository employeeRepository) {
+            this.employeeRepository = employeeRepository;
+            return this;
+        }
+
+        Collaborators ticketBatchRepository(TicketBatchRepository ticketBatchRepository) {
+            this.ticketBatchRepository = ticketBatchRepository;
+            return this;
+        }
+
+        Collaborators assignmentProperties(AssignmentProperties assignmentProperties) {
+            this.assignmentProperties = assignmentProperties;
+            return this;
+        }
+
+        Collaborators workloadIndex(EmployeeWorkloadIndex workloadIndex) {
+            this.workloadIndex = workloadIndex;
+            return this;
+        }
+
+        Collaborators openTicketRegistry(OpenTicketRegistry openTicketRegistry) {
+            this.openTicketRegistry = openTicketRegistry;
+            return this;
+        }
+
+        Collaborators readCache(TicketReadCache readCache) {
+            this.readCache = readCache;
+            return this;
+        }
+
+        Collaborators ticketNotifier(TicketNotifier ticketNotifier) {
+            this.ticketNotifier = ticketNotifier;
+            return this;
+        }
+
+        Collaborators statusCounters(TicketStatusCounters statusCounters) {
+            this.statusCounters = statusCounters;
+            return this;
+        }
+
+        Collaborators statsRepository(TicketStatsRepository statsRepository) {
+            this.statsRepository = statsRepository;
+            return this;
+        }
+
+        Collaborators latencyHistograms(TicketLatencyHistograms latencyHistograms) {
+            this.latencyHistograms = latencyHistograms;
+            return this;
+        }
+
+        Collaborators ticketTrends(TicketTrends ticketTrends) {
+            this.ticketTrends = ticketTrends;
+            return this;
+        }
+    }
+
+    static TicketService newTicketService(TicketRepository ticketRepository, CustomerRepository customerRepository) {
+        return newTicketService(ticketRepository, customerRepository, new Collaborators());
+    }
+
+    static TicketService newTicketService(TicketRepository ticketRepository, CustomerRepository customerRepository,
+            Collaborators collaborators) {
+        AssignmentProperties assignmentProperties = collaborators.assignmentProperties;
+        EmployeeWorkloadIndex workloadIndex = collaborators.workloadIndex != null
+                ? collaborators.workloadIndex : new EmployeeWorkloadIndex(ticketRepository);
+        OpenTicketRegistry openTicketRegistry = collaborators.openTicketRegistry != null
+                ? collaborators.openTicketRegistry : new OpenTicketRegistry(ticketRepository);
+        LeastLoadedAssignmentStrategy leastLoaded = new LeastLoadedAssignmentStrategy();
+        TicketAssignmentService assignmentService = new TicketAssignmentService(workloadIndex,
+                List.of(new DispatchQueueAssignmentStrategy(), leastLoaded,
+                        new WeightedRoundRobinAssignmentStrategy(assignmentProperties),
+                        new CapacityCappedAssignmentStrategy(assignmentProperties, leastLoaded)),
+                assignmentProperties);
+        return new TicketService(ticketRepository, customerRepository, collaborators.emailService,
+                collaborators.employeeRepository, workloadIndex, assignmentService, collaborators.ticketBatchRepository,
+                openTicketRegistry, new DepartmentLocks(assignmentProperties),
+                List.of(workloadIndex, openTicketRegistry, collaborators.readCache, collaborators.statusCounters),
+                new TicketPageProperties(), collaborators.readCache, collaborators.ticketNotifier,
+                collaborators.statusCounters, collaborators.statsRepository, collaborators.latencyHistograms,
+                collaborators.ticketTrends);
+    }
+}
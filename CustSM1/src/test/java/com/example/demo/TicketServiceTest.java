@@ -1,18 +1,26 @@
 package com.example.demo;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,22 +29,54 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
+import com.example.demo.config.TicketCacheProperties;
+import com.example.demo.config.TicketCounterProperties;
 import com.example.demo.exceptions.DuplicateTicketException;
 import com.example.demo.exceptions.EmployeeNotFoundException;
 import com.example.demo.exceptions.InvalidTicketStatusException;
 import com.example.demo.exceptions.TicketNotFoundException;
+import com.example.demo.exceptions.TicketVersionConflictException;
+import com.example.demo.model.BulkTicketResult;
+import com.example.demo.model.Constants;
 import com.example.demo.model.Customer;
 import com.example.demo.model.Employee;
+import com.example.demo.model.LatencySample;
 import com.example.demo.model.Ticket;
+import com.example.demo.model.TicketBulkUpdate;
+import com.example.demo.model.TicketBulkUpdateResult;
+import com.example.demo.model.TicketChainEntry;
+import com.example.demo.model.TicketFilter;
+import com.example.demo.model.TicketPage;
+import com.example.demo.model.TicketSearchCriteria;
+import com.example.demo.model.TicketSearchResult;
+import com.example.demo.model.TicketState;
+import com.example.demo.model.TicketSummary;
+import com.example.demo.model.TicketUpdateNotice;
 import com.example.demo.repo.CustomerRepository;
 import com.example.demo.repo.EmployeeRepository;
+import com.example.demo.repo.TicketBatchRepository;
 import com.example.demo.repo.TicketRepository;
+import com.example.demo.repo.TicketStatsRepository;
 import com.example.demo.service.EmailService;
+import com.example.demo.service.EmployeeWorkloadIndex;
+import com.example.demo.service.OpenTicketRegistry;
+import com.example.demo.service.TicketCursor;
+import com.example.demo.service.TicketETags;
+import com.example.demo.service.TicketLatencyHistograms;
+import com.example.demo.service.TicketNotifier;
+import com.example.demo.service.TicketReadCache;
 import com.example.demo.service.TicketService;
+import com.example.demo.service.TicketStatusCounters;
+import com.example.demo.service.TicketTrends;
 
  class TicketServiceTest {
 
@@ -53,6 +93,21 @@ import com.example.demo.service.TicketService;
 
     @Mock
     private EmployeeRepository employeeRepository;
+
+    @Mock
+    private TicketBatchRepository ticketBatchRepository;
+
+    @Mock
+    private TicketNotifier ticketNotifier;
+
+    @Mock
+    private TicketStatsRepository statsRepository;
+
+    @Mock
+    private TicketLatencyHistograms latencyHistograms;
+
+    @Mock
+    private TicketTrends ticketTrends;
     
     @Mock
     private Ticket existticket;
@@ -74,7 +129,14 @@ import com.example.demo.service.TicketService;
 
     private int roundRobinIndex = 0;
 
-    @InjectMocks
+    private EmployeeWorkloadIndex workloadIndex;
+
+    private OpenTicketRegistry openTicketRegistry;
+
+    private TicketReadCache readCache;
+
+    private TicketStatusCounters statusCounters;
+
     private TicketService ticketService;
     
     private static final String TICKET_MESSAGE = "ticket Count:";
@@ -82,6 +144,23 @@ import com.example.demo.service.TicketService;
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        workloadIndex = new EmployeeWorkloadIndex(ticketRepository);
+        openTicketRegistry = new OpenTicketRegistry(ticketRepository);
+        readCache = new TicketReadCache(new TicketCacheProperties());
+        statusCounters = new TicketStatusCounters(ticketRepository, new TicketCounterProperties());
+        ticketService = TicketServiceFixtures.newTicketService(ticketRepository, customerRepository,
+                new TicketServiceFixtures.Collaborators()
+                        .emailService(emailService)
+                        .employeeRepository(employeeRepository)
+                        .ticketBatchRepository(ticketBatchRepository)
+                        .workloadIndex(workloadIndex)
+                        .openTicketRegistry(openTicketRegistry)
+                        .readCache(readCache)
+                        .ticketNotifier(ticketNotifier)
+                        .statusCounters(statusCounters)
+                        .statsRepository(statsRepository)
+                        .latencyHistograms(latencyHistograms)
+                        .ticketTrends(ticketTrends));
     }
     
     @Test
@@ -89,15 +168,50 @@ import com.example.demo.service.TicketService;
         // Mock the repository to return a list of tickets
         List<Ticket> mockTickets = new ArrayList<>();
         mockTickets.add(new Ticket());
-        when(ticketRepository.findAll()).thenReturn(mockTickets);
+        when(ticketRepository.findTicketPage(eq(0), isNull(), isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(mockTickets);
 
         // Call the service method
-        List<Ticket> result = ticketService.showTicket();
+        TicketPage result = ticketService.showTicket();
 
-        // Verify the result
+        // Verify the result: one capped page instead of the whole table
         assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(ticketRepository, times(1)).findAll();
+        assertEquals(1, result.tickets().size());
+        assertNull(result.nextCursor());
+        verify(ticketRepository, times(1)).findTicketPage(eq(0), isNull(), isNull(), isNull(), isNull(),
+                eq(PageRequest.of(0, 201)));
+        verify(ticketRepository, never()).findAll();
+    }
+
+    @Test
+    void testShowTicketPage_ReturnsCursorAfterLastTicket() {
+        List<Ticket> rows = new ArrayList<>();
+        for (int ticketId = 11; ticketId <= 14; ticketId++) {
+            Ticket ticket = new Ticket();
+            ticket.setTicketId(ticketId);
+            rows.add(ticket);
+        }
+        TicketFilter filter = new TicketFilter("open", "OUTAGE", null, null);
+        when(ticketRepository.findTicketPage(10, "open", "OUTAGE", null, null, PageRequest.of(0, 4)))
+                .thenReturn(rows);
+
+        TicketPage page = ticketService.showTicketPage(filter, TicketCursor.encode(10), 3);
+
+        // The fourth row only signals that another page follows
+        assertEquals(List.of(11, 12, 13), page.tickets().stream().map(Ticket::getTicketId).toList());
+        assertEquals(13, TicketCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testShowTicketPage_CapsPageSizeAndRejectsBadCursor() {
+        when(ticketRepository.findTicketPage(eq(0), isNull(), isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+
+        ticketService.showTicketPage(TicketFilter.NONE, null, 100000);
+
+        verify(ticketRepository).findTicketPage(eq(0), isNull(), isNull(), isNull(), isNull(), eq(PageRequest.of(0, 201)));
+        assertThrows(IllegalArgumentException.class, () -> ticketService.showTicketPage(TicketFilter.NONE, "not-a-cursor", 10));
+        assertThrows(IllegalArgumentException.class, () -> ticketService.showTicketPage(TicketFilter.NONE, null, 0));
     }
     
     @Test
@@ -108,46 +222,180 @@ import com.example.demo.service.TicketService;
         when(ticketRepository.findById(1)).thenReturn(Optional.of(mockTicket));
 
         // Call the service method
-        Ticket result = ticketService.searchTicketByTicketId(1);
+        TicketSummary result = ticketService.searchTicketByTicketId(1);
 
         // Verify the result
         assertNotNull(result);
-        assertEquals(1, result.getTicketId());
+        assertEquals(1, result.ticketId());
+        verify(ticketRepository, times(1)).findById(1);
+    }
+
+    @Test
+    void testSearchTicketByTicketId_ServesRepeatLookupsFromCacheUntilTicketChanges() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(1);
+        ticket.setTicketStatus("PENDING");
+        when(ticketRepository.findById(1)).thenReturn(Optional.of(ticket));
+
+        ticketService.searchTicketByTicketId(1);
+        ticketService.searchTicketByTicketId(1);
         verify(ticketRepository, times(1)).findById(1);
+        assertEquals(1L, readCache.getMetrics().get("hits"));
+
+        // Closing the ticket invalidates its entry, so the next lookup reloads it
+        ticketService.closeTicketByCustomer(1);
+        TicketSummary result = ticketService.searchTicketByTicketId(1);
+
+        assertEquals("CLOSED", result.ticketStatus());
+        assertEquals(2L, readCache.getMetrics().get("misses"));
+    }
+
+    @Test
+    void testSearchTicketByTicketId_DoesNotCacheMissingTickets() {
+        when(ticketRepository.findById(2)).thenReturn(Optional.empty());
+
+        assertThrows(TicketNotFoundException.class, () -> ticketService.searchTicketByTicketId(2));
+        assertThrows(TicketNotFoundException.class, () -> ticketService.searchTicketByTicketId(2));
+
+        verify(ticketRepository, times(2)).findById(2);
+        assertEquals(0L, readCache.getMetrics().get("size"));
     }
+    @Test
+    void testGetTicketETag_MatchesLoadedTicketAndChangesWithVersion() {
+        Customer customer = new Customer();
+        customer.setCustomerId(7);
+        customer.setCustomerFirstname("Asha");
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(3);
+        ticket.setCustomer(customer);
+        ticket.setVersion(4);
+        when(ticketRepository.findVersionRowsByTicketId(3))
+                .thenReturn(List.<Object[]>of(new Object[]{3, 4L, 7, "Asha", null}));
+
+        // The version row gives the same ETag as the ticket it stands for
+        String eTag = ticketService.getTicketETag(3);
+        assertEquals(TicketETags.of(ticket), eTag);
+
+        ticket.setVersion(5);
+        assertNotEquals(TicketETags.of(ticket), eTag);
+
+        // Once the ticket is cached its ETag is computed without a query
+        when(ticketRepository.findById(3)).thenReturn(Optional.of(ticket));
+        ticketService.searchTicketByTicketId(3);
+        assertEquals(TicketETags.of(ticket), ticketService.getTicketETag(3));
+        verify(ticketRepository, times(1)).findVersionRowsByTicketId(3);
+
+        when(ticketRepository.findVersionRowsByTicketId(9)).thenReturn(List.of());
+        assertThrows(TicketNotFoundException.class, () -> ticketService.getTicketETag(9));
+    }
+
+    @Test
+    void testUpdateTicketDetails_RejectsStaleIfMatch() {
+        Customer customer = new Customer();
+        customer.setCustomerId(1);
+        Ticket existingTicket = new Ticket();
+        existingTicket.setTicketId(1);
+        existingTicket.setCustomer(customer);
+        existingTicket.setTicketType("TECHNICAL_SUPPORT");
+        existingTicket.setTicketStatus("PENDING");
+        existingTicket.setTicketPriority("MEDIUM");
+        existingTicket.setVersion(2);
+        String staleETag = TicketETags.of(existingTicket);
+        existingTicket.setVersion(3);
+        String currentETag = TicketETags.of(existingTicket);
+        when(ticketRepository.findById(1)).thenReturn(Optional.of(existingTicket));
+        when(ticketRepository.save(existingTicket)).thenReturn(existingTicket);
+        Ticket updatedTicket = new Ticket();
+        updatedTicket.setTicketType("TECHNICAL_SUPPORT");
+        updatedTicket.setTicketStatus("PENDING");
+        updatedTicket.setTicketPriority("MEDIUM");
+        updatedTicket.setCustomerRating(4);
+
+        assertThrows(TicketVersionConflictException.class,
+                () -> ticketService.updateTicketDetails(1, updatedTicket, staleETag));
+        verify(ticketRepository, never()).save(any(Ticket.class));
+
+        ticketService.updateTicketDetails(1, updatedTicket, "W/\"x\", " + currentETag);
+        verify(ticketRepository, times(1)).save(existingTicket);
+    }
+
+    @Test
+    void testSearchTickets_SkipsCountUnlessRequested() {
+        List<Ticket> rows = new ArrayList<>();
+        for (int ticketId = 5; ticketId <= 7; ticketId++) {
+            Customer customer = new Customer();
+            customer.setCustomerId(40 + ticketId);
+            customer.setCustomerPassword("secret");
+            Ticket ticket = new Ticket();
+            ticket.setTicketId(ticketId);
+            ticket.setCustomer(customer);
+            rows.add(ticket);
+        }
+        when(ticketRepository.findBy(ArgumentMatchers.<Specification<Ticket>>any(), any())).thenReturn(rows);
+        TicketSearchCriteria criteria = new TicketSearchCriteria("PENDING", "OUTAGE", null, null, "Pune", null,
+                null, null);
+
+        TicketSearchResult result = ticketService.searchTickets(criteria, null, 2, false);
+
+        assertEquals(List.of(5, 6), result.tickets().stream().map(TicketSummary::ticketId).toList());
+        assertEquals(46, result.tickets().get(1).customer().customerId());
+        assertEquals(6, TicketCursor.decode(result.nextCursor()));
+        assertNull(result.total());
+        verify(ticketRepository, never()).count(ArgumentMatchers.<Specification<Ticket>>any());
+
+        when(ticketRepository.count(ArgumentMatchers.<Specification<Ticket>>any())).thenReturn(3L);
+        assertEquals(3L, ticketService.searchTickets(criteria, null, 2, true).total());
+    }
+
+    @Test
+    void testSearchTickets_RejectsEmptyRaiseDateRange() {
+        LocalDateTime now = LocalDateTime.now();
+        TicketSearchCriteria criteria = new TicketSearchCriteria(null, null, null, null, null, null, now, now);
+
+        assertThrows(IllegalArgumentException.class, () -> ticketService.searchTickets(criteria, null, 10, false));
+    }
+
     @Test
      void testSearchTicketByCustomerId() {
         // Arrange
         int customerId = 123;
-        List<Ticket> mockTickets = new ArrayList<>();
-        mockTickets.add(new Ticket()); // Add some mock tickets
-        mockTickets.add(new Ticket());
+        List<TicketSummary> mockTickets = new ArrayList<>();
+        mockTickets.add(summary(1, customerId)); // Add some mock tickets
+        mockTickets.add(summary(2, customerId));
 
         // Mock the repository to return the mock tickets
-        when(ticketRepository.findByCustomer_CustomerId(customerId)).thenReturn(mockTickets);
+        when(ticketRepository.findSummariesByCustomerId(customerId)).thenReturn(mockTickets);
 
         // Act
-        List<Ticket> result = ticketService.searchTicketByCustomerId(customerId);
+        List<TicketSummary> result = ticketService.searchTicketByCustomerId(customerId);
 
         // Assert
         assertEquals(mockTickets, result); // Verify the result is as expected
-        verify(ticketRepository, times(1)).findByCustomer_CustomerId(customerId); // Verify the repository method was called
+        verify(ticketRepository, times(1)).findSummariesByCustomerId(customerId); // Verify the repository method was called
+        verify(ticketRepository, never()).findByCustomer_CustomerId(anyInt()); // No entities or customer selects
     }
 
     @Test
     void testSearchTicketByEmployeeId() {
         // Mock the repository to return a list of tickets
-        List<Ticket> mockTickets = new ArrayList<>();
-        mockTickets.add(new Ticket());
-        when(ticketRepository.findByEmployeeId(1)).thenReturn(mockTickets);
+        List<TicketSummary> mockTickets = new ArrayList<>();
+        mockTickets.add(summary(1, 123));
+        when(ticketRepository.findSummariesByEmployeeId(1)).thenReturn(mockTickets);
 
         // Call the service method
-        List<Ticket> result = ticketService.searchTicketByEmployeeId(1);
+        List<TicketSummary> result = ticketService.searchTicketByEmployeeId(1);
 
         // Verify the result
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(ticketRepository, times(1)).findByEmployeeId(1);
+        assertEquals(123, result.get(0).customer().customerId());
+        verify(ticketRepository, times(1)).findSummariesByEmployeeId(1);
+        verify(ticketRepository, never()).findByEmployeeId(anyInt());
+    }
+
+    private static TicketSummary summary(int ticketId, int customerId) {
+        return new TicketSummary(ticketId, 1, "OUTAGE", "No power", LocalDateTime.now(), Constants.PENDING, "HIGH",
+                null, null, null, null, null, null, 0, customerId, "Asha", "Rao");
     }
     
     @Test
@@ -163,9 +411,8 @@ import com.example.demo.service.TicketService;
         ticket.setCustomer(customer);
         ticket.setTicketType("TECHNICAL_SUPPORT");
 
-        // Mock the repository to return an empty list for existing tickets
-        when(ticketRepository.findByCustomer_CustomerIdAndTicketTypeAndTicketStatusIn(
-                eq(1), eq("TECHNICAL_SUPPORT"), anyList())).thenReturn(new ArrayList<>());
+        // Mock the repository to return no open ticket keys
+        when(ticketRepository.findActiveTicketKeys()).thenReturn(new ArrayList<>());
 
         // Mock the repository to return the saved ticket
         when(ticketRepository.save(ticket)).thenReturn(ticket);
@@ -180,6 +427,8 @@ import com.example.demo.service.TicketService;
         employee.setEmployeeDept("TECHNICAL_SUPPORT");
         employees.add(employee);
         when(employeeRepository.findByEmployeeDesignation("Employee")).thenReturn(employees);
+        when(ticketRepository.findEmployeeWorkloadsByDept("TECHNICAL_SUPPORT")).thenReturn(List.of(
+                WorkloadRow.of(1, "TECHNICAL_SUPPORT", 0, 0, 0)));
 
         // Mock the ticket repository to return counts for employees
         when(ticketRepository.countByEmployeeId(1)).thenReturn(0);
@@ -247,6 +496,133 @@ import com.example.demo.service.TicketService;
         assertEquals(mockLeastOpenEmployees.get(0), assignedEmployee);
     }
     
+    @Test
+    void testAddTicket_AssignsLeastLoadedEmployeeFromIndex() {
+        Customer customer = new Customer();
+        customer.setCustomerId(1);
+        customer.setCustomerFirstname("John");
+        customer.setCustomerEmail("john@example.com");
+
+        Ticket ticket = new Ticket();
+        ticket.setCustomer(customer);
+        ticket.setTicketType("TECHNICAL_SUPPORT");
+
+        when(customerRepository.findById(1)).thenReturn(Optional.of(customer));
+        when(ticketRepository.save(ticket)).thenReturn(ticket);
+
+        // Employee 2 has as many tickets as employee 1 but fewer OPEN and PENDING ones
+        when(ticketRepository.findEmployeeWorkloadsByDept("TECHNICAL_SUPPORT")).thenReturn(List.of(
+                WorkloadRow.of(1, "TECHNICAL_SUPPORT", 4, 3, 1),
+                WorkloadRow.of(2, "TECHNICAL_SUPPORT", 4, 1, 2)));
+
+        Ticket result = ticketService.addTicket(ticket);
+
+        assertEquals(2, result.getEmployeeId());
+        assertEquals(5, workloadIndex.getWorkload(2).orElseThrow().totalTickets());
+        assertEquals(3, workloadIndex.getWorkload(2).orElseThrow().pendingTickets());
+        verify(ticketRepository, times(0)).countByEmployeeId(anyInt());
+        verify(ticketRepository, times(0)).countByEmployeeIdAndTicketStatus(anyInt(), any());
+        verify(ticketRepository, times(0)).countByEmployeeIdAndTicketPriority(anyInt(), any());
+
+        // A second ticket for the same department is assigned without another workload query
+        Customer other = new Customer();
+        other.setCustomerId(2);
+        other.setCustomerEmail("jane@example.com");
+        Ticket second = new Ticket();
+        second.setCustomer(other);
+        second.setTicketType("TECHNICAL_SUPPORT");
+        when(customerRepository.findById(2)).thenReturn(Optional.of(other));
+        when(ticketRepository.save(second)).thenReturn(second);
+
+        ticketService.addTicket(second);
+
+        assertEquals(1, second.getEmployeeId());
+        verify(ticketRepository, times(1)).findEmployeeWorkloadsByDept("TECHNICAL_SUPPORT");
+        verify(employeeRepository, times(0)).findByEmployeeDesignation(any());
+    }
+    
+    @Test
+    void testAddTickets_ReportsResultPerItem() {
+        Customer john = new Customer();
+        john.setCustomerId(1);
+        john.setCustomerEmail("john@example.com");
+        Customer jane = new Customer();
+        jane.setCustomerId(2);
+        jane.setCustomerEmail("jane@example.com");
+
+        List<Ticket> batch = new ArrayList<>();
+        batch.add(bulkTicket(1, "TECHNICAL_SUPPORT"));
+        batch.add(bulkTicket(2, "TECHNICAL_SUPPORT"));
+        batch.add(bulkTicket(1, "TECHNICAL_SUPPORT"));
+        batch.add(bulkTicket(2, "OUTAGE"));
+        batch.add(bulkTicket(9, "OUTAGE"));
+
+        when(customerRepository.findAllById(any())).thenReturn(List.of(john, jane));
+        when(ticketRepository.findActiveTicketKeys())
+                .thenReturn(List.<Object[]>of(new Object[]{2, "OUTAGE"}));
+        when(ticketRepository.findEmployeeWorkloadsByDept("TECHNICAL_SUPPORT")).thenReturn(List.of(
+                WorkloadRow.of(1, "TECHNICAL_SUPPORT", 0, 0, 0),
+                WorkloadRow.of(2, "TECHNICAL_SUPPORT", 0, 0, 0)));
+
+        List<BulkTicketResult> results = ticketService.addTickets(batch);
+
+        assertEquals(5, results.size());
+        assertEquals(BulkTicketResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(BulkTicketResult.Status.CREATED, results.get(1).getStatus());
+        assertEquals(BulkTicketResult.Status.DUPLICATE, results.get(2).getStatus());
+        assertEquals(BulkTicketResult.Status.DUPLICATE, results.get(3).getStatus());
+        assertEquals(BulkTicketResult.Status.REJECTED, results.get(4).getStatus());
+
+        // Both new tickets were placed against one snapshot, so they went to different employees
+        assertEquals(3, results.get(0).getEmployeeId() + results.get(1).getEmployeeId());
+        verify(ticketBatchRepository, times(1)).insertAll(List.of(batch.get(0), batch.get(1)));
+        verify(ticketRepository, times(1)).findActiveTicketKeys();
+        verify(ticketRepository, times(0)).save(any());
+        verify(emailService, times(2)).sendEmail(any(), eq("Tickets Raised Successfully"), any());
+    }
+
+    @Test
+    void testAcceptTicket_SavesUnassignedThenAssignAcceptedTicketAssigns() {
+        Customer customer = new Customer();
+        customer.setCustomerId(1);
+        customer.setCustomerEmail("john@example.com");
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(10);
+        ticket.setCustomer(customer);
+        ticket.setTicketType("OUTAGE");
+
+        when(customerRepository.findById(1)).thenReturn(Optional.of(customer));
+        when(ticketRepository.save(ticket)).thenReturn(ticket);
+        when(ticketRepository.findById(10)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.findEmployeeWorkloadsByDept("OUTAGE")).thenReturn(List.of(
+                WorkloadRow.of(3, "OUTAGE", 0, 0, 0)));
+
+        Ticket accepted = ticketService.acceptTicket(ticket);
+
+        assertEquals(Constants.UNASSIGNED_EMPLOYEE_ID, accepted.getEmployeeId());
+        assertEquals(Constants.PENDING, accepted.getTicketStatus());
+        verify(emailService, times(0)).sendEmail(any(), any(), any());
+
+        Ticket assigned = ticketService.assignAcceptedTicket(10);
+
+        assertEquals(3, assigned.getEmployeeId());
+        assertEquals(1, workloadIndex.getWorkload(3).orElseThrow().pendingTickets());
+        verify(ticketRepository, times(2)).save(ticket);
+
+        // A second run for the same ticket leaves it as it is
+        ticketService.assignAcceptedTicket(10);
+        verify(ticketRepository, times(2)).save(ticket);
+    }
+
+    private Ticket bulkTicket(int customerId, String ticketType) {
+        Customer customer = new Customer();
+        customer.setCustomerId(customerId);
+        Ticket ticket = new Ticket();
+        ticket.setCustomer(customer);
+        ticket.setTicketType(ticketType);
+        return ticket;
+    }
+    
     @Test
      void testAddTicket_DuplicateTicketException() {
         // Create a Customer object
@@ -260,11 +636,9 @@ import com.example.demo.service.TicketService;
         ticket.setCustomer(customer);
         ticket.setTicketType("TECHNICAL_SUPPORT");
 
-        // Mock the repository to return a non-empty list for existing tickets
-        List<Ticket> existingTickets = new ArrayList<>();
-        existingTickets.add(new Ticket());
-        when(ticketRepository.findByCustomer_CustomerIdAndTicketTypeAndTicketStatusIn(
-                eq(1), eq("TECHNICAL_SUPPORT"), anyList())).thenReturn(existingTickets);
+        // Mock the repository to return an open ticket key for this customer and type
+        when(ticketRepository.findActiveTicketKeys())
+                .thenReturn(List.<Object[]>of(new Object[]{1, "TECHNICAL_SUPPORT"}));
 
         // Call the service method and expect an exception
         Exception exception = assertThrows(DuplicateTicketException.class, () -> {
@@ -273,6 +647,38 @@ import com.example.demo.service.TicketService;
 
         // Verify the exception message
         assertEquals("A ticket of type TECHNICAL_SUPPORT is already open. Please wait until it is resolved.", exception.getMessage());
+        // A key committed or loaded here is trusted without asking the database
+        verify(ticketRepository, never()).existsActiveTicket(anyInt(), anyString());
+    }
+
+    @Test
+    void testAddTicket_KeyHeldThroughAnotherInstanceIsRecheckedOnNextSubmission() {
+        Customer customer = new Customer();
+        customer.setCustomerId(1);
+        customer.setCustomerEmail("john@example.com");
+        Ticket ticket = new Ticket();
+        ticket.setCustomer(customer);
+        ticket.setTicketType("TECHNICAL_SUPPORT");
+        when(ticketRepository.findActiveTicketKeys()).thenReturn(new ArrayList<>());
+        when(customerRepository.findById(1)).thenReturn(Optional.of(customer));
+        when(ticketRepository.findEmployeeWorkloadsByDept("TECHNICAL_SUPPORT")).thenReturn(List.of(
+                WorkloadRow.of(1, "TECHNICAL_SUPPORT", 0, 0, 0)));
+        // Another instance inserted the same key first
+        when(ticketRepository.save(any(Ticket.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("Duplicate entry '1:TECHNICAL_SUPPORT' for key '"
+                        + OpenTicketRegistry.OPEN_KEY_INDEX + "'")))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(DuplicateTicketException.class, () -> ticketService.addTicket(ticket));
+
+        // Still held elsewhere: the next submission asks the database and is rejected
+        when(ticketRepository.existsActiveTicket(1, "TECHNICAL_SUPPORT")).thenReturn(true);
+        assertThrows(DuplicateTicketException.class, () -> ticketService.addTicket(ticket));
+
+        // Closed through the other instance: the next submission takes the key over
+        when(ticketRepository.existsActiveTicket(1, "TECHNICAL_SUPPORT")).thenReturn(false);
+        assertEquals(1, ticketService.addTicket(ticket).getEmployeeId());
+        verify(ticketRepository, times(2)).existsActiveTicket(1, "TECHNICAL_SUPPORT");
     }
     
     @Test
@@ -288,9 +694,8 @@ import com.example.demo.service.TicketService;
         ticket.setCustomer(customer);
         ticket.setTicketType("TECHNICAL_SUPPORT");
 
-        // Mock the repository to return an empty list for existing tickets
-        when(ticketRepository.findByCustomer_CustomerIdAndTicketTypeAndTicketStatusIn(
-                eq(1), eq("TECHNICAL_SUPPORT"), anyList())).thenReturn(new ArrayList<>());
+        // Mock the repository to return no open ticket keys
+        when(ticketRepository.findActiveTicketKeys()).thenReturn(new ArrayList<>());
 
         // Mock the customer repository to return an empty optional
         when(customerRepository.findById(1)).thenReturn(Optional.empty());
@@ -316,9 +721,8 @@ import com.example.demo.service.TicketService;
         ticket.setCustomer(customer);
         ticket.setTicketType("TECHNICAL_SUPPORT");
 
-        // Mock the repository to return an empty list for existing tickets
-        when(ticketRepository.findByCustomer_CustomerIdAndTicketTypeAndTicketStatusIn(
-                eq(1), eq("TECHNICAL_SUPPORT"), anyList())).thenReturn(new ArrayList<>());
+        // Mock the repository to return no open ticket keys
+        when(ticketRepository.findActiveTicketKeys()).thenReturn(new ArrayList<>());
 
         // Mock the customer repository to return the customer
         when(customerRepository.findById(1)).thenReturn(Optional.of(customer));
@@ -494,7 +898,8 @@ import com.example.demo.service.TicketService;
         employee.setEmployeeId(1);
         employee.setEmployeeDept("TECHNICAL_SUPPORT");
         employees.add(employee);
-        when(employeeRepository.findByEmployeeDept("TECHNICAL_SUPPORT")).thenReturn(employees);
+        when(ticketRepository.findEmployeeWorkloadsByDept("TECHNICAL_SUPPORT")).thenReturn(List.of(
+                WorkloadRow.of(employee.getEmployeeId(), employee.getEmployeeDept(), 0, 0, 0)));
 
         // Call the service method
         Ticket result = ticketService.reopenTicket(1);
@@ -507,6 +912,102 @@ import com.example.demo.service.TicketService;
         verify(ticketRepository, times(1)).save(any(Ticket.class));  // Ensure save() was called once with any Ticket
     }
 
+
+    @Test
+    void testReopenTicket_LinksNewTicketToClosedParent() {
+        Customer customer = new Customer();
+        customer.setCustomerId(4);
+        Ticket closed = new Ticket();
+        closed.setTicketId(5);
+        closed.setCustomer(customer);
+        closed.setTicketStatus("CLOSED");
+        closed.setTicketType("OUTAGE");
+        closed.setParentTicketId(3);
+        closed.setReopenCount(1);
+        when(ticketRepository.findById(5)).thenReturn(Optional.of(closed));
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ticketRepository.findEmployeeWorkloadsByDept("OUTAGE")).thenReturn(List.of(WorkloadRow.of(8, "OUTAGE", 0, 0, 0)));
+
+        Ticket result = ticketService.reopenTicket(5);
+
+        assertEquals(5, result.getParentTicketId());
+        assertEquals(2, result.getReopenCount());
+    }
+
+    @Test
+    void testReopenTicket_RejectsWhenCustomerHasActiveTicketOfSameType() {
+        Customer customer = new Customer();
+        customer.setCustomerId(4);
+        Ticket closed = new Ticket();
+        closed.setTicketId(5);
+        closed.setCustomer(customer);
+        closed.setTicketStatus("CLOSED");
+        closed.setTicketType("OUTAGE");
+        when(ticketRepository.findById(5)).thenReturn(Optional.of(closed));
+        when(ticketRepository.findActiveTicketKeys()).thenReturn(List.<Object[]>of(new Object[]{4, "OUTAGE"}));
+
+        assertThrows(DuplicateTicketException.class, () -> ticketService.reopenTicket(5));
+
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        // The other ticket still holds the key
+        assertTrue(openTicketRegistry.isOpen(4, "OUTAGE"));
+    }
+
+    @Test
+    void testUpdateTicketDetails_RejectsReactivationOrTypeChangeOntoActiveType() {
+        Customer customer = new Customer();
+        customer.setCustomerId(4);
+        Ticket closed = new Ticket();
+        closed.setTicketId(5);
+        closed.setCustomer(customer);
+        closed.setTicketStatus("CLOSED");
+        closed.setTicketType("OUTAGE");
+        closed.setTicketPriority("HIGH");
+        Ticket pending = new Ticket();
+        pending.setTicketId(6);
+        pending.setCustomer(customer);
+        pending.setTicketStatus("PENDING");
+        pending.setTicketType("BILLING_AND_ACCOUNTS");
+        pending.setTicketPriority("LOW");
+        when(ticketRepository.findById(5)).thenReturn(Optional.of(closed));
+        when(ticketRepository.findById(6)).thenReturn(Optional.of(pending));
+        when(ticketRepository.findActiveTicketKeys()).thenReturn(List.<Object[]>of(new Object[]{4, "OUTAGE"}));
+
+        Ticket reactivation = new Ticket();
+        reactivation.setTicketType("OUTAGE");
+        reactivation.setTicketStatus("OPEN");
+        reactivation.setTicketPriority("HIGH");
+        assertThrows(DuplicateTicketException.class, () -> ticketService.updateTicketDetails(5, reactivation));
+
+        Ticket typeChange = new Ticket();
+        typeChange.setTicketType("OUTAGE");
+        typeChange.setTicketStatus("PENDING");
+        typeChange.setTicketPriority("LOW");
+        assertThrows(DuplicateTicketException.class, () -> ticketService.updateTicketDetails(6, typeChange));
+
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        assertEquals("CLOSED", closed.getTicketStatus());
+        assertEquals("BILLING_AND_ACCOUNTS", pending.getTicketType());
+    }
+
+    @Test
+    void testGetTicketChain_MapsRowsInChainOrder() {
+        LocalDateTime raised = LocalDateTime.of(2025, 3, 1, 9, 0);
+        when(ticketRepository.findTicketChain(7)).thenReturn(List.of(
+                new Object[]{3, null, 0, "OUTAGE", "CLOSED", "HIGH", 8, Timestamp.valueOf(raised), Timestamp.valueOf(raised.plusDays(1))},
+                new Object[]{7, 3, 1, "OUTAGE", "PENDING", "HIGH", 8, raised.plusDays(2), null}));
+
+        List<TicketChainEntry> chain = ticketService.getTicketChain(7);
+
+        assertEquals(List.of(3, 7), chain.stream().map(TicketChainEntry::ticketId).toList());
+        assertNull(chain.get(0).parentTicketId());
+        assertEquals(raised.plusDays(1), chain.get(0).resolveTime());
+        assertEquals(3, chain.get(1).parentTicketId());
+        assertEquals(1, chain.get(1).depth());
+
+        when(ticketRepository.findTicketChain(9)).thenReturn(List.of());
+        assertThrows(TicketNotFoundException.class, () -> ticketService.getTicketChain(9));
+    }
     
     @Test
    void testReopenTicket_TicketNotFoundException() {
@@ -556,7 +1057,7 @@ import com.example.demo.service.TicketService;
         List<Object[]> results = new ArrayList<>();
         results.add(new Object[]{"Location1", 10});
         results.add(new Object[]{"Location2", 5});
-        when(ticketRepository.getTicketCountByLocation()).thenReturn(results);
+        when(statsRepository.countByState()).thenReturn(results);
 
         // Call the service method
         List<Map<String, Object>> result = ticketService.getTicketCountByLocation();
@@ -568,7 +1069,7 @@ import com.example.demo.service.TicketService;
         assertEquals(10, result.get(0).get(TICKET_MESSAGE));
         assertEquals("Location2", result.get(1).get("location"));
         assertEquals(5, result.get(1).get(TICKET_MESSAGE));
-        verify(ticketRepository, times(1)).getTicketCountByLocation();
+        verify(statsRepository, times(1)).countByState();
     }
     @Test
     void testGetTicketCountByCity() {
@@ -576,7 +1077,7 @@ import com.example.demo.service.TicketService;
         List<Object[]> results = new ArrayList<>();
         results.add(new Object[]{"City1", 10});
         results.add(new Object[]{"City2", 5});
-        when(ticketRepository.getTicketCountByCity()).thenReturn(results);
+        when(statsRepository.countByCity()).thenReturn(results);
 
         // Call the service method
         List<Map<String, Object>> result = ticketService.getTicketCountByCity();
@@ -588,7 +1089,7 @@ import com.example.demo.service.TicketService;
         assertEquals(10, result.get(0).get(TICKET_MESSAGE));
         assertEquals("City2", result.get(1).get("city"));
         assertEquals(5, result.get(1).get(TICKET_MESSAGE));
-        verify(ticketRepository, times(1)).getTicketCountByCity();
+        verify(statsRepository, times(1)).countByCity();
     }
     
     @Test
@@ -597,7 +1098,7 @@ import com.example.demo.service.TicketService;
         List<Object[]> results = new ArrayList<>();
         results.add(new Object[]{"Dept1", 10});
         results.add(new Object[]{"Dept2", 5});
-        when(ticketRepository.countTicketsByEmployeeDept()).thenReturn(results);
+        when(statsRepository.countByDept()).thenReturn(results);
 
         // Call the service method
         List<Map<String, Object>> result = ticketService.getTicketCountByDept();
@@ -609,46 +1110,54 @@ import com.example.demo.service.TicketService;
         assertEquals(10, result.get(0).get(TICKET_MESSAGE));
         assertEquals("Dept2", result.get(1).get("employeeDept"));
         assertEquals(5, result.get(1).get(TICKET_MESSAGE));
-        verify(ticketRepository, times(1)).countTicketsByEmployeeDept();
+        verify(statsRepository, times(1)).countByDept();
     }
     
     @Test
      void testGetOpenTicketCount() {
         // Mock the repository to return the count
-        when(ticketRepository.countTicketsByOpenStatus()).thenReturn(10L);
+        when(ticketRepository.countTicketsByStatus()).thenReturn(statusCounts());
 
         // Call the service method
         long result = ticketService.getOpenTicketCount();
 
         // Verify the result
         assertEquals(10, result);
-        verify(ticketRepository, times(1)).countTicketsByOpenStatus();
+        verify(ticketRepository, times(1)).countTicketsByStatus();
     }
     
     @Test
      void testGetClosedTicketCount() {
         // Mock the repository to return the count
-        when(ticketRepository.countTicketsByClosedStatus()).thenReturn(5L);
+        when(ticketRepository.countTicketsByStatus()).thenReturn(statusCounts());
 
         // Call the service method
         long result = ticketService.getClosedTicketCount();
 
         // Verify the result
         assertEquals(5, result);
-        verify(ticketRepository, times(1)).countTicketsByClosedStatus();
+        verify(ticketRepository, times(1)).countTicketsByStatus();
     }
     
     @Test
      void testGetPendingTicketCount() {
         // Mock the repository to return the count
-        when(ticketRepository.countTicketsByPendingStatus()).thenReturn(3L);
+        when(ticketRepository.countTicketsByStatus()).thenReturn(statusCounts());
 
         // Call the service method
         long result = ticketService.getPendingTicketCount();
 
         // Verify the result
         assertEquals(3, result);
-        verify(ticketRepository, times(1)).countTicketsByPendingStatus();
+        verify(ticketRepository, times(1)).countTicketsByStatus();
+    }
+    
+    private static List<Object[]> statusCounts() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"OPEN", 10L});
+        rows.add(new Object[]{"CLOSED", 5L});
+        rows.add(new Object[]{"PENDING", 3L});
+        return rows;
     }
     
     @Test
@@ -807,18 +1316,17 @@ import com.example.demo.service.TicketService;
         employees.add(employee1);
         employees.add(employee2);
 
-        // Mock the employee repository to return the list of employees
-        when(employeeRepository.findByEmployeeDesignation("Employee")).thenReturn(employees);
-
-        // Mock the ticket repository to return ticket counts
-        when(ticketRepository.countByEmployeeId(1)).thenReturn(5);
-        when(ticketRepository.countByEmployeeId(2)).thenReturn(3);
+        // Mock the grouped workload query for the department
+        when(ticketRepository.findEmployeeWorkloadsByDept("TECHNICAL_SUPPORT")).thenReturn(List.of(
+                WorkloadRow.of(employee1.getEmployeeId(), employee1.getEmployeeDept(), 5, 0, 5),
+                WorkloadRow.of(employee2.getEmployeeId(), employee2.getEmployeeDept(), 3, 0, 3)));
 
         // Call the method
         ticketService.reassignTicketToEmployee(ticket);
 
         // Verify the result
         assertEquals(2, ticket.getEmployeeId());
+        verify(ticketRepository, times(0)).countByEmployeeId(anyInt());
     }
     @Test
     void testReassignTicketToEmployee_WithoutEligibleEmployees() {
@@ -947,5 +1455,57 @@ import com.example.demo.service.TicketService;
         // Verify the repository was called
         verify(ticketRepository, times(1)).deleteById(1);
     }
-   
-}
\ No newline at end of file
+
+    @Test
+    void bulkUpdateTickets_UpdatesChangedTicketsWithOneStatementAndNotifiesAfterwards() {
+        LocalDateTime raised = LocalDateTime.now().minusHours(2);
+        when(ticketBatchRepository.lockTickets(List.of(1, 2, 3, 4))).thenReturn(List.of(
+                new TicketBatchRepository.LockedTicket(new TicketState(1, 101, 5, "OUTAGE", "PENDING", "HIGH"),
+                        null, "a@example.com", raised, true),
+                new TicketBatchRepository.LockedTicket(new TicketState(2, 101, 6, "OUTAGE", "CLOSED", "HIGH"),
+                        "Fibre repaired", "b@example.com", raised, true),
+                new TicketBatchRepository.LockedTicket(new TicketState(3, 102, 5, "OUTAGE", "OPEN", "HIGH"),
+                        null, "a@example.com", raised, false)));
+
+        TicketBulkUpdateResult result = ticketService.bulkUpdateTickets(
+                new TicketBulkUpdate(List.of(1, 2, 3, 1, 4), "closed", null, "Fibre repaired"));
+
+        assertEquals(List.of(1, 3), result.updated());
+        assertEquals(List.of(2), result.unchanged());
+        assertEquals(List.of(4), result.notFound());
+        assertEquals(List.of(), result.rejected());
+        ArgumentCaptor<TicketBulkUpdate> applied = ArgumentCaptor.forClass(TicketBulkUpdate.class);
+        verify(ticketBatchRepository).bulkUpdate(eq(List.of(1, 3)), applied.capture(), any(LocalDateTime.class));
+        assertEquals(Constants.CLOSED, applied.getValue().ticketStatus());
+        verify(ticketNotifier).sendAfterCommit(List.of(
+                new TicketUpdateNotice("a@example.com", 1, "PENDING", "CLOSED", null, "HIGH", "Fibre repaired"),
+                new TicketUpdateNotice("a@example.com", 3, "OPEN", "CLOSED", null, "HIGH", "Fibre repaired")));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LatencySample>> latencies = ArgumentCaptor.forClass(List.class);
+        verify(latencyHistograms).recordAfterCommit(latencies.capture());
+        assertEquals(List.of("101:RESOLUTION", "102:RESPONSE", "102:RESOLUTION"), latencies.getValue().stream()
+                .map(sample -> sample.employeeId() + ":" + sample.kind())
+                .toList());
+        assertTrue(latencies.getValue().stream().allMatch(sample -> sample.seconds() >= 7200));
+    }
+
+    @Test
+    void bulkUpdateTickets_RejectsReactivatingClosedTicketsAndInvalidUpdates() {
+        when(ticketBatchRepository.lockTickets(List.of(7))).thenReturn(List.of(
+                new TicketBatchRepository.LockedTicket(new TicketState(7, 101, 5, "OUTAGE", "CLOSED", "HIGH"),
+                        null, "a@example.com", LocalDateTime.now(), true)));
+
+        TicketBulkUpdateResult result = ticketService.bulkUpdateTickets(
+                new TicketBulkUpdate(List.of(7), "PENDING", null, null));
+
+        assertEquals(List.of(7), result.rejected());
+        verify(ticketBatchRepository, never()).bulkUpdate(anyList(), any(), any());
+        verify(ticketNotifier, never()).sendAfterCommit(anyList());
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketService.bulkUpdateTickets(new TicketBulkUpdate(List.of(), "CLOSED", null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketService.bulkUpdateTickets(new TicketBulkUpdate(List.of(7), null, null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketService.bulkUpdateTickets(new TicketBulkUpdate(List.of(7), "RESOLVED", null, null)));
+    }
+}
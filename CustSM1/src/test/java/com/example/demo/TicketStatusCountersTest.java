@@ -0,0 +1,81 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.demo.config.TicketCounterProperties;
+import com.example.demo.model.TicketState;
+import com.example.demo.repo.TicketRepository;
+import com.example.demo.service.TicketStatusCounters;
+
+@ExtendWith(MockitoExtension.class)
+class TicketStatusCountersTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private TicketStatusCounters statusCounters;
+
+    @BeforeEach
+    void setUp() {
+        statusCounters = new TicketStatusCounters(ticketRepository, new TicketCounterProperties());
+    }
+
+    @Test
+    void counters_FollowCommittedTransitionsWhateverTheCase() {
+        when(ticketRepository.countTicketsByStatus()).thenReturn(rows("OPEN", 2L, "PENDING", 5L));
+        statusCounters.loadOnStartup();
+
+        statusCounters.onTicketCommitted(null, state(1, "Pending"));
+        statusCounters.onTicketCommitted(state(2, "PENDING"), state(2, "closed"));
+        statusCounters.onTicketCommitted(state(3, "Open"), null);
+        // Uncommitted and unchanged statuses are not counted
+        statusCounters.onTicketChange(null, state(4, "PENDING"));
+        statusCounters.onTicketCommitted(state(5, "pending"), state(5, "PENDING"));
+
+        assertEquals(1, statusCounters.getCount("Open"));
+        assertEquals(5, statusCounters.getCount("pending"));
+        assertEquals(1, statusCounters.getCount("CLOSED"));
+        // Loaded once; the counts are not read from the database again
+        verify(ticketRepository, times(1)).countTicketsByStatus();
+    }
+
+    @Test
+    void reconcile_CorrectsAndReportsDrift() {
+        when(ticketRepository.countTicketsByStatus()).thenReturn(rows("OPEN", 2L, "PENDING", 5L));
+        assertEquals(2, statusCounters.getCount("OPEN"));
+
+        // A ticket closed outside the application
+        when(ticketRepository.countTicketsByStatus()).thenReturn(rows("OPEN", 2L, "PENDING", 4L, "CLOSED", 1L));
+        Map<String, Long> drift = statusCounters.reconcile();
+
+        assertEquals(Map.of("PENDING", -1L, "CLOSED", 1L), drift);
+        assertEquals(Map.of("OPEN", 2L, "PENDING", 4L, "CLOSED", 1L), statusCounters.getCounts());
+        assertEquals(1L, statusCounters.getMetrics().get("driftsCorrected"));
+        assertEquals(Map.of(), statusCounters.reconcile());
+    }
+
+    private static List<Object[]> rows(Object... statusCounts) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int index = 0; index < statusCounts.length; index += 2) {
+            rows.add(new Object[]{statusCounts[index], statusCounts[index + 1]});
+        }
+        return rows;
+    }
+
+    private static TicketState state(int ticketId, String status) {
+        return new TicketState(ticketId, 101, 5, "OUTAGE", status, "HIGH");
+    }
+}
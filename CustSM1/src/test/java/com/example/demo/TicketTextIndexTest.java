@@ -0,0 +1,185 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.demo.config.TextIndexProperties;
+import com.example.demo.exceptions.TextIndexUnavailableException;
+import com.example.demo.model.TicketState;
+import com.example.demo.model.TicketTextHit;
+import com.example.demo.repo.TicketRepository;
+import com.example.demo.service.TicketTextIndex;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TicketTextIndexTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path indexDirectory;
+
+    // Stand-in for the TICKET table, keyed by ticket ID
+    private final Map<Integer, Object[]> rows = new HashMap<>();
+
+    private boolean databaseAvailable = true;
+
+    private TicketTextIndex textIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(ticketRepository.findTextIndexRows(anyCollection())).thenAnswer(invocation -> {
+            if (!databaseAvailable) {
+                throw new DataAccessResourceFailureException("Database is down");
+            }
+            Collection<Integer> ticketIds = invocation.getArgument(0);
+            List<Object[]> found = new ArrayList<>();
+            ticketIds.stream().filter(rows::containsKey).forEach(ticketId -> found.add(rows.get(ticketId)));
+            return found;
+        });
+        TextIndexProperties properties = new TextIndexProperties();
+        properties.setDirectory(indexDirectory.toString());
+        textIndex = new TicketTextIndex(ticketRepository, transactionManager, properties);
+        textIndex.open();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        textIndex.close();
+    }
+
+    @Test
+    void search_RanksDescriptionMatchesFirstAndHighlightsThem() throws InterruptedException {
+        write(row(1, "PENDING", "Router keeps rebooting every hour", null, null));
+        write(row(2, "CLOSED", "Slow internet", null, "Technician replaced the router quickly"));
+        write(row(3, "PENDING", "Bill charged twice", null, null));
+        textIndex.flush();
+
+        List<TicketTextHit> hits = textIndex.search("router", null, null, null);
+
+        assertEquals(List.of(1, 2), hits.stream().map(TicketTextHit::ticketId).toList());
+        assertEquals("<em>Router</em> keeps rebooting every hour", hits.get(0).highlights().get("ticketDescription"));
+        assertTrue(hits.get(1).highlights().get("customerFeedback").contains("<em>router</em>"));
+        // Stemming matches other forms of the word
+        assertEquals(List.of(1), textIndex.search("reboot", null, null, null).stream().map(TicketTextHit::ticketId).toList());
+    }
+
+    @Test
+    void search_FiltersByStatusAndFollowsUpdatesAndDeletes() throws InterruptedException {
+        write(row(1, "PENDING", "No power in the building", null, null));
+        write(row(2, "PENDING", "Power flickers at night", null, null));
+        textIndex.flush();
+
+        // Ticket 1 is closed with a comment, ticket 2 is deleted
+        write(row(1, "CLOSED", "No power in the building", "Transformer fuse replaced", null));
+        rows.remove(2);
+        textIndex.onTicketChange(state(2, "PENDING"), null);
+        textIndex.flush();
+
+        assertEquals(List.of(), textIndex.search("power", null, "pending", null));
+        List<TicketTextHit> closed = textIndex.search("transformer", null, "CLOSED", null);
+        assertEquals(1, closed.size());
+        assertEquals("<em>Transformer</em> fuse replaced", closed.get(0).highlights().get("employeeComment"));
+        assertEquals(1, textIndex.getStatus().get("documents"));
+    }
+
+    @Test
+    void rebuild_ReplacesIndexWithDatabaseContents() throws InterruptedException {
+        write(row(1, "PENDING", "Stale description", null, null));
+        textIndex.flush();
+        when(ticketRepository.streamTextIndexRows()).thenReturn(Stream.of(
+                row(1, "PENDING", "Modem lights are off", null, null),
+                row(2, "OPEN", "Modem overheating", null, null)));
+
+        assertTrue(textIndex.rebuild());
+        textIndex.flush();
+
+        assertEquals(0, textIndex.search("stale", null, null, null).size());
+        assertEquals(2, textIndex.search("modem", null, null, null).size());
+        assertEquals(2L, textIndex.getStatus().get("lastRebuildDocuments"));
+    }
+
+    @Test
+    void rebuild_KeepsQueuedUpdatesWhenItFails() throws InterruptedException {
+        databaseAvailable = false;
+        write(row(1, "PENDING", "Fibre cut on the main road", null, null));
+        textIndex.flush();
+        assertEquals(1, textIndex.getStatus().get("pendingUpdates"));
+        when(ticketRepository.streamTextIndexRows()).thenThrow(new DataAccessResourceFailureException("Database is down"));
+
+        assertTrue(textIndex.rebuild());
+        textIndex.flush();
+
+        assertEquals(1, textIndex.getStatus().get("pendingUpdates"));
+        // The queued ticket is applied with the next change
+        databaseAvailable = true;
+        write(row(2, "PENDING", "Fibre modem blinking red", null, null));
+        textIndex.flush();
+        assertEquals(2, textIndex.search("fibre", null, null, null).size());
+    }
+
+    @Test
+    void onTicketChange_QueuesNothingWhileIndexIsUnavailable() throws Exception {
+        TextIndexProperties properties = new TextIndexProperties();
+        // A regular file where the index directory should be, so the index cannot be opened
+        properties.setDirectory(Files.createFile(indexDirectory.resolve("not-a-directory")).toString());
+        TicketTextIndex unavailable = new TicketTextIndex(ticketRepository, transactionManager, properties);
+        unavailable.open();
+
+        unavailable.onTicketChange(null, state(1, "PENDING"));
+        unavailable.flush();
+
+        assertFalse((Boolean) unavailable.getStatus().get("available"));
+        assertEquals(0, unavailable.getStatus().get("pendingUpdates"));
+        assertThrows(TextIndexUnavailableException.class, unavailable::rebuild);
+        unavailable.close();
+    }
+
+    @Test
+    void search_RejectsInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () -> textIndex.search(" ", null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> textIndex.search("\"unbalanced", null, null, null));
+    }
+
+    private void write(Object[] row) {
+        rows.put((Integer) row[0], row);
+        textIndex.onTicketChange(null, state((Integer) row[0], (String) row[4]));
+    }
+
+    private static TicketState state(int ticketId, String status) {
+        return new TicketState(ticketId, 5, 9, "TECHNICAL_SUPPORT", status, "MEDIUM");
+    }
+
+    private static Object[] row(int ticketId, String status, String description, String comment, String feedback) {
+        return new Object[]{ticketId, 9, 5, "TECHNICAL_SUPPORT", status, description, comment, feedback};
+    }
+}
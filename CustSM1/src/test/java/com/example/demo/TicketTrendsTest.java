@@ -0,0 +1,94 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.demo.config.TicketTrendProperties;
+import com.example.demo.model.TicketState;
+import com.example.demo.model.TrendBucket;
+import com.example.demo.repo.TicketRepository;
+import com.example.demo.service.TicketTrends;
+
+@ExtendWith(MockitoExtension.class)
+class TicketTrendsTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TicketTrends ticketTrends;
+
+    @BeforeEach
+    void setUp() {
+        TicketTrendProperties trendProperties = new TicketTrendProperties();
+        trendProperties.setDays(7);
+        ticketTrends = new TicketTrends(ticketRepository, transactionManager, trendProperties);
+    }
+
+    @Test
+    void trends_CountCommittedRaisesClosesAndResponses() {
+        ticketTrends.onTicketCommitted(null, state(1, "OPEN"));
+        ticketTrends.onTicketCommitted(null, state(2, "OPEN"));
+        ticketTrends.onTicketCommitted(state(1, "OPEN"), state(1, "closed"));
+        // Uncommitted changes, deletions and updates of closed tickets are not counted
+        ticketTrends.onTicketChange(null, state(3, "OPEN"));
+        ticketTrends.onTicketCommitted(state(2, "OPEN"), null);
+        ticketTrends.onTicketCommitted(state(1, "CLOSED"), state(1, "CLOSED"));
+        ticketTrends.recordResponsesAfterCommit(3);
+
+        // The last two buckets, in case a minute ended during the test
+        List<TrendBucket> minutes = ticketTrends.getTrends("minute", 2);
+        assertEquals(2, minutes.size());
+        assertEquals(2, minutes.stream().mapToLong(TrendBucket::raised).sum());
+        assertEquals(3, minutes.stream().mapToLong(TrendBucket::responded).sum());
+        assertEquals(1, minutes.stream().mapToLong(TrendBucket::closed).sum());
+        assertEquals(180, ticketTrends.getTrends("MINUTE", null).size());
+        assertThrows(IllegalArgumentException.class, () -> ticketTrends.getTrends("week", null));
+        assertThrows(IllegalArgumentException.class, () -> ticketTrends.getTrends("hour", 73));
+    }
+
+    @Test
+    void loadOnStartup_SeedsBucketsInTheirWindowFromTicketTimestamps() {
+        LocalDateTime today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime twoDaysAgo = today.minusDays(2).plusHours(9);
+        when(ticketRepository.streamTrendRows(any(LocalDateTime.class))).thenReturn(Stream.of(
+                new Object[]{twoDaysAgo, twoDaysAgo.plusMinutes(5), twoDaysAgo.plusDays(1), "CLOSED"},
+                // Raised before the seven days kept, closed within them
+                new Object[]{today.minusDays(30), today.minusDays(29), today.minusDays(2), "CLOSED"},
+                // Reopened: its resolve time is from before the reopen
+                new Object[]{twoDaysAgo, null, twoDaysAgo.plusHours(1), "OPEN"}));
+
+        ticketTrends.loadOnStartup();
+
+        List<TrendBucket> days = ticketTrends.getTrends("day", null);
+        assertEquals(7, days.size());
+        assertEquals(today, days.get(6).start());
+        TrendBucket twoDays = days.get(4);
+        assertEquals(twoDaysAgo.truncatedTo(ChronoUnit.DAYS), twoDays.start());
+        assertEquals(2, twoDays.raised());
+        assertEquals(1, twoDays.responded());
+        assertEquals(1, twoDays.closed());
+        assertEquals(1, days.get(5).closed());
+        assertEquals(2, days.stream().mapToLong(TrendBucket::raised).sum());
+    }
+
+    private static TicketState state(int ticketId, String ticketStatus) {
+        return new TicketState(ticketId, 101, 5, "Network", ticketStatus, "HIGH");
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo;
+
+import com.example.demo.repo.EmployeeWorkloadProjection;
+
+/**
+ * Test stand-in for a row of the grouped workload queries in TicketRepository.
+ */
+record WorkloadRow(Integer employeeId, String employeeDept, long totalTickets, long openTickets,
+        long pendingTickets, long lowPriorityTickets, long mediumPriorityTickets, long highPriorityTickets)
+        implements EmployeeWorkloadProjection {
+
+    static WorkloadRow of(int employeeId, String employeeDept, long totalTickets, long openTickets, long pendingTickets) {
+        return new WorkloadRow(employeeId, employeeDept, totalTickets, openTickets, pendingTickets, 0, 0, 0);
+    }
+
+    @Override
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    @Override
+    public String getEmployeeDept() {
+        return employeeDept;
+    }
+
+    @Override
+    public Long getTotalTickets() {
+        return totalTickets;
+    }
+
+    @Override
+    public Long getOpenTickets() {
+        return openTickets;
+    }
+
+    @Override
+    public Long getPendingTickets() {
+        return pendingTickets;
+    }
+
+    @Override
+    public Long getLowPriorityTickets() {
+        return lowPriorityTickets;
+    }
+
+    @Override
+    public Long getMediumPriorityTickets() {
+        return mediumPriorityTickets;
+    }
+
+    @Override
+    public Long getHighPriorityTickets() {
+        return highPriorityTickets;
+    }
+}